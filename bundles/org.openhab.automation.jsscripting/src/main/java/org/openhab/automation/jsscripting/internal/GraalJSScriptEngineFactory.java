@@ -14,6 +14,7 @@ package org.openhab.automation.jsscripting.internal;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import javax.script.ScriptEngine;
@@ -23,6 +24,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.Constants;
@@ -38,6 +40,7 @@ import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Dan Cunningham - Script injections
+ * @author agent - Engine warm-up
  */
 @Component(service = ScriptEngineFactory.class, configurationPid = "org.openhab.jsscripting", property = Constants.SERVICE_PID
         + "=org.openhab.jsscripting")
@@ -46,6 +49,12 @@ import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String CFG_INJECTION_CACHING_ENABLED = "injectionCachingEnabled";
+    private static final String CFG_CONTEXT_POOL_SIZE = "contextPoolSize";
+    private static final String CFG_WARM_UP_ENABLED = "warmUpEnabled";
+    private static final int WARM_UP_ITERATIONS = 3;
+
+    /** The shared engine lives as long as the bundle, so it only needs to be warmed up once */
+    private static final AtomicBoolean warmedUp = new AtomicBoolean(false);
 
     private static final GraalJSEngineFactory factory = new GraalJSEngineFactory();
 
@@ -60,6 +69,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private boolean injectionEnabled = true;
     private boolean injectionCachingEnabled = true;
+    private int contextPoolSize = 1;
 
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
@@ -70,6 +80,12 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.jsDependencyTracker = jsDependencyTracker;
         this.jsScriptServiceUtil = jsScriptServiceUtil;
         modified(config);
+
+        if (ConfigParser.valueAsOrElse(config.get(CFG_WARM_UP_ENABLED), Boolean.class, true)
+                && warmedUp.compareAndSet(false, true)) {
+            ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON)
+                    .execute(() -> OpenhabGraalJSScriptEngine.warmUp(jsDependencyTracker, WARM_UP_ITERATIONS));
+        }
     }
 
     @Override
@@ -88,7 +104,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
             return null;
         }
         return new DebuggingGraalScriptEngine<>(new OpenhabGraalJSScriptEngine(injectionEnabled,
-                injectionCachingEnabled, jsScriptServiceUtil, jsDependencyTracker));
+                injectionCachingEnabled, contextPoolSize, jsScriptServiceUtil, jsDependencyTracker));
     }
 
     @Override
@@ -101,5 +117,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.injectionEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_ENABLED), Boolean.class, true);
         this.injectionCachingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_CACHING_ENABLED),
                 Boolean.class, true);
+        this.contextPoolSize = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(CFG_CONTEXT_POOL_SIZE), Integer.class, 1));
     }
 }
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.FileSystems;
@@ -30,14 +31,18 @@ import java.nio.file.attribute.FileAttribute;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.Nullable;
@@ -51,6 +56,7 @@ import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChanne
 import org.openhab.automation.jsscripting.internal.fs.ReadOnlySeekableByteArrayChannel;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocableAndCompilableAndAutoCloseable;
+import org.openhab.automation.jsscripting.internal.threading.ContextPool;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.QuantityType;
@@ -67,6 +73,7 @@ import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
  * @author Florian Hotze - Create lock object for multi-thread synchronization; Inject the {@link JSRuntimeFeatures}
  *         into the JS context; Fix memory leak caused by HostObject by making HostAccess reference static; Switch to
  *         {@link Lock} for multi-thread synchronization; globals and openhab-js injection code caching
+ * @author agent - Pooled contexts for concurrent rule execution; Engine warm-up
  */
 public class OpenhabGraalJSScriptEngine
         extends InvocationInterceptingScriptEngineWithInvocableAndCompilableAndAutoCloseable<GraalJSScriptEngine> {
@@ -95,6 +102,7 @@ public class OpenhabGraalJSScriptEngine
     private static final String OPENHAB_JS_INJECTION_CODE = "Object.assign(this, require('openhab'));";
 
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    private static final String RUNTIME_MODULE_PREFIX = "@runtime";
     /** Final CommonJS search path for our library */
     private static final Path NODE_DIR = Paths.get("node_modules");
     /** Shared Polyglot {@link Engine} across all instances of {@link OpenhabGraalJSScriptEngine} */
@@ -129,9 +137,21 @@ public class OpenhabGraalJSScriptEngine
                     v -> v.getMember("rawQtyType").as(QuantityType.class), HostAccess.TargetMappingPrecedence.LOW)
             .build();
 
+    /** Context attributes that are copied from the primary context to the pooled replicas */
+    private static final List<String> REPLICATED_ATTRIBUTES = List.of(CONTEXT_KEY_ENGINE_IDENTIFIER,
+            CONTEXT_KEY_EXTENSION_ACCESSOR, CONTEXT_KEY_DEPENDENCY_LISTENER, ScriptEngine.FILENAME);
+
     /** {@link Lock} synchronization of multi-thread access */
     private final Lock lock = new ReentrantLock();
     private final JSRuntimeFeatures jsRuntimeFeatures;
+    private final JSScriptServiceUtil jsScriptServiceUtil;
+    private final JSDependencyTracker jsDependencyTracker;
+
+    /** Pool of contexts evaluating the same script, a single-member pool if pooling is disabled */
+    private final ContextPool contextPool;
+    private final ContextPool.Member poolMember;
+    private final int contextPoolSize;
+    private final List<OpenhabGraalJSScriptEngine> replicas = new CopyOnWriteArrayList<>();
 
     // these fields start as null because they are populated on first use
     private @Nullable Consumer<String> scriptDependencyListener;
@@ -145,89 +165,89 @@ public class OpenhabGraalJSScriptEngine
      * Creates an implementation of ScriptEngine {@code (& Invocable)}, wrapping the contained engine,
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
      */
-    public OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled,
+    public OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled, int contextPoolSize,
             JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
+        this(injectionEnabled, injectionCachingEnabled, contextPoolSize, jsScriptServiceUtil, jsDependencyTracker,
+                new ContextPool());
+    }
+
+    private OpenhabGraalJSScriptEngine(boolean injectionEnabled, boolean injectionCachingEnabled, int contextPoolSize,
+            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker,
+            ContextPool contextPool) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
         this.injectionEnabled = injectionEnabled;
         this.injectionCachingEnabled = injectionCachingEnabled;
+        this.contextPoolSize = contextPoolSize;
+        this.jsScriptServiceUtil = jsScriptServiceUtil;
+        this.jsDependencyTracker = jsDependencyTracker;
+        this.contextPool = contextPool;
+        this.poolMember = contextPool.join(lock);
         this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
 
         LOGGER.debug("Initializing GraalJS script engine...");
 
-        delegate = GraalJSScriptEngine.create(ENGINE,
-                Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true)
-                        .allowHostAccess(HOST_ACCESS)
-                        .option("js.commonjs-require-cwd", jsDependencyTracker.getLibraryPath().toString())
-                        .option("js.nashorn-compat", "true") // Enable Nashorn compat mode as openhab-js relies on
-                                                             // accessors, see
-                                                             // https://github.com/oracle/graaljs/blob/master/docs/user/NashornMigrationGuide.md#accessors
-                        .option("js.ecmascript-version", "2022") // If Nashorn compat is enabled, it will enforce ES5
-                                                                 // compatibility, we want ECMA2022
-                        .option("js.commonjs-require", "true") // Enable CommonJS module support
-                        .hostClassLoader(getClass().getClassLoader())
-                        .fileSystem(new DelegatingFileSystem(FileSystems.getDefault().provider()) {
-                            @Override
-                            public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
-                                    FileAttribute<?>... attrs) throws IOException {
-                                Consumer<String> localScriptDependencyListener = scriptDependencyListener;
-                                if (localScriptDependencyListener != null) {
-                                    localScriptDependencyListener.accept(path.toString());
-                                }
-
-                                if (path.toString().endsWith(".js")) {
-                                    SeekableByteChannel sbc = null;
-                                    if (isRootNodePath(path)) {
-                                        InputStream is = getClass().getResourceAsStream(nodeFileToResource(path));
-                                        if (is == null) {
-                                            throw new IOException("Could not read " + path.toString());
-                                        }
-                                        sbc = new ReadOnlySeekableByteArrayChannel(is.readAllBytes());
-                                    } else {
-                                        sbc = super.newByteChannel(path, options, attrs);
-                                    }
-                                    return new PrefixedSeekableByteChannel(
-                                            ("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes(), sbc);
-                                } else {
-                                    return super.newByteChannel(path, options, attrs);
-                                }
-                            }
-
-                            @Override
-                            public void checkAccess(Path path, Set<? extends AccessMode> modes,
-                                    LinkOption... linkOptions) throws IOException {
-                                if (isRootNodePath(path)) {
-                                    if (getClass().getResource(nodeFileToResource(path)) == null) {
-                                        throw new NoSuchFileException(path.toString());
-                                    }
-                                } else {
-                                    super.checkAccess(path, modes, linkOptions);
-                                }
-                            }
-
-                            @Override
-                            public Map<String, Object> readAttributes(Path path, String attributes,
-                                    LinkOption... options) throws IOException {
-                                if (isRootNodePath(path)) {
-                                    return Map.of("isRegularFile", true);
-                                }
-                                return super.readAttributes(path, attributes, options);
-                            }
-
-                            @Override
-                            public Path toRealPath(Path path, LinkOption... linkOptions) throws IOException {
-                                if (isRootNodePath(path)) {
-                                    return path;
-                                }
-                                return super.toRealPath(path, linkOptions);
-                            }
-                        }));
+        delegate = GraalJSScriptEngine.create(ENGINE, newContextBuilder(jsDependencyTracker)
+                .fileSystem(new OpenhabFileSystem(() -> scriptDependencyListener)));
+    }
+
+    /**
+     * Creates a {@link Context.Builder} with the options shared by all contexts. Contexts must use the same options to
+     * share the code cached in the {@link #ENGINE}.
+     *
+     * @param jsDependencyTracker the dependency tracker providing the library path
+     * @return the context builder
+     */
+    private static Context.Builder newContextBuilder(JSDependencyTracker jsDependencyTracker) {
+        return Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true).allowHostAccess(HOST_ACCESS)
+                .option("js.commonjs-require-cwd", jsDependencyTracker.getLibraryPath().toString())
+                .option("js.nashorn-compat", "true") // Enable Nashorn compat mode as openhab-js relies on accessors,
+                                                     // see
+                                                     // https://github.com/oracle/graaljs/blob/master/docs/user/NashornMigrationGuide.md#accessors
+                .option("js.ecmascript-version", "2022") // If Nashorn compat is enabled, it will enforce ES5
+                                                         // compatibility, we want ECMA2022
+                .option("js.commonjs-require", "true") // Enable CommonJS module support
+                .hostClassLoader(OpenhabGraalJSScriptEngine.class.getClassLoader());
+    }
+
+    /**
+     * Warms up the shared {@link #ENGINE} by parsing and running the cached global script and openhab-js injection in
+     * a throwaway context. As both sources are cached, the parsed and (partially) compiled code is reused by the
+     * contexts of the script engines created later, which therefore initialize faster.
+     * <p>
+     * The throwaway context uses the same file system and <code>require</code> wrapper as the script engines, but as
+     * there is no script to provide presets for, the <code>@runtime</code> modules resolve to empty objects.
+     *
+     * @param jsDependencyTracker the dependency tracker providing the library path
+     * @param iterations how often the sources are evaluated, more iterations allow Truffle to compile more code
+     */
+    public static void warmUp(JSDependencyTracker jsDependencyTracker, int iterations) {
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < iterations; i++) {
+            try (Context context = newContextBuilder(jsDependencyTracker).fileSystem(new OpenhabFileSystem(() -> null))
+                    .engine(ENGINE).build()) {
+                Value emptyModule = context.eval("js", "({})");
+                Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn;
+                wrapRequireFn = requireFn -> moduleName -> moduleName.startsWith(RUNTIME_MODULE_PREFIX) ? emptyModule
+                        : requireFn.apply(new Object[] { moduleName });
+                Value bindings = context.getBindings("js");
+                bindings.putMember(REQUIRE_WRAPPER_NAME, wrapRequireFn);
+                bindings.putMember("require", wrapRequireFn.apply(bindings.getMember("require").as(Function.class)));
+
+                context.eval(GLOBAL_SOURCE);
+                context.eval(OPENHAB_JS_SOURCE);
+            } catch (RuntimeException e) {
+                LOGGER.debug("Failed to warm up GraalJS engine: {}", e.getMessage());
+                return;
+            }
+        }
+        LOGGER.debug("Warmed up GraalJS engine in {} ms.", System.currentTimeMillis() - start);
     }
 
     @Override
     protected void beforeInvocation() {
         super.beforeInvocation();
 
-        lock.lock();
+        poolMember.lock();
 
         if (initialized) {
             return;
@@ -244,6 +264,9 @@ public class OpenhabGraalJSScriptEngine
             throw new IllegalStateException("Failed to retrieve engine identifier from engine bindings");
         }
         this.engineIdentifier = localEngineIdentifier;
+        if (poolMember.isPrimary()) {
+            contextPool.setIdentifier(localEngineIdentifier);
+        }
 
         ScriptExtensionAccessor scriptExtensionAccessor = (ScriptExtensionAccessor) ctx
                 .getAttribute(CONTEXT_KEY_EXTENSION_ACCESSOR);
@@ -260,7 +283,7 @@ public class OpenhabGraalJSScriptEngine
         scriptDependencyListener = localScriptDependencyListener;
 
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
-                scriptExtensionAccessor, lock);
+                scriptExtensionAccessor, poolMember);
 
         // Wrap the "require" function to also allow loading modules from the ScriptExtensionModuleProvider
         Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> scriptExtensionModuleProvider
@@ -307,8 +330,67 @@ public class OpenhabGraalJSScriptEngine
         return super.afterThrowsInvocation(e);
     }
 
+    /**
+     * Evaluates a script file. If context pooling is enabled, the script is additionally evaluated in each pooled
+     * replica context once it has been evaluated in the primary context.
+     */
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        if (!poolMember.isPrimary() || contextPoolSize <= 1) {
+            return super.eval(reader);
+        }
+
+        StringWriter script = new StringWriter();
+        try {
+            reader.transferTo(script);
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+        Object result = super.eval(script.toString());
+        createReplicas(script.toString());
+        return result;
+    }
+
+    private void createReplicas(String script) {
+        ScriptContext ctx = delegate.getContext();
+        for (int i = 1; i < contextPoolSize; i++) {
+            OpenhabGraalJSScriptEngine replica = new OpenhabGraalJSScriptEngine(injectionEnabled,
+                    injectionCachingEnabled, 1, jsScriptServiceUtil, jsDependencyTracker, contextPool);
+            ScriptContext replicaCtx = replica.delegate.getContext();
+            for (String key : REPLICATED_ATTRIBUTES) {
+                Object value = ctx.getAttribute(key);
+                if (value != null) {
+                    replicaCtx.setAttribute(key, value, ScriptContext.ENGINE_SCOPE);
+                }
+            }
+
+            try {
+                replica.eval(script);
+                replica.poolMember.seal();
+                replicas.add(replica);
+            } catch (ScriptException | RuntimeException e) {
+                LOGGER.warn("Failed to initialize pooled context {} of '{}': {}", i, engineIdentifier,
+                        e.getMessage());
+                replica.close();
+            }
+        }
+        LOGGER.debug("Initialized {} pooled contexts for '{}'.", replicas.size(), engineIdentifier);
+    }
+
     @Override
     public void close() {
+        if (poolMember.isPrimary()) {
+            replicas.forEach(OpenhabGraalJSScriptEngine::close);
+            replicas.clear();
+            contextPool.logStatistics();
+        } else {
+            contextPool.leave(poolMember);
+            try {
+                delegate.close();
+            } catch (Exception e) {
+                LOGGER.debug("Failed to close pooled context of '{}': {}", engineIdentifier, e.getMessage());
+            }
+        }
         jsRuntimeFeatures.close();
     }
 
@@ -346,4 +428,72 @@ public class OpenhabGraalJSScriptEngine
 
         return new InputStreamReader(ioStream);
     }
+
+    /**
+     * File system of all contexts, loading the bundled node modules from the class path and wrapping the
+     * <code>require</code> function of every loaded module.
+     */
+    private static class OpenhabFileSystem extends DelegatingFileSystem {
+        private final Supplier<@Nullable Consumer<String>> scriptDependencyListener;
+
+        OpenhabFileSystem(Supplier<@Nullable Consumer<String>> scriptDependencyListener) {
+            super(FileSystems.getDefault().provider());
+            this.scriptDependencyListener = scriptDependencyListener;
+        }
+
+        @Override
+        public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
+                FileAttribute<?>... attrs) throws IOException {
+            Consumer<String> localScriptDependencyListener = scriptDependencyListener.get();
+            if (localScriptDependencyListener != null) {
+                localScriptDependencyListener.accept(path.toString());
+            }
+
+            if (path.toString().endsWith(".js")) {
+                SeekableByteChannel sbc = null;
+                if (isRootNodePath(path)) {
+                    InputStream is = getClass().getResourceAsStream(nodeFileToResource(path));
+                    if (is == null) {
+                        throw new IOException("Could not read " + path.toString());
+                    }
+                    sbc = new ReadOnlySeekableByteArrayChannel(is.readAllBytes());
+                } else {
+                    sbc = super.newByteChannel(path, options, attrs);
+                }
+                return new PrefixedSeekableByteChannel(("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes(),
+                        sbc);
+            } else {
+                return super.newByteChannel(path, options, attrs);
+            }
+        }
+
+        @Override
+        public void checkAccess(Path path, Set<? extends AccessMode> modes, LinkOption... linkOptions)
+                throws IOException {
+            if (isRootNodePath(path)) {
+                if (getClass().getResource(nodeFileToResource(path)) == null) {
+                    throw new NoSuchFileException(path.toString());
+                }
+            } else {
+                super.checkAccess(path, modes, linkOptions);
+            }
+        }
+
+        @Override
+        public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options)
+                throws IOException {
+            if (isRootNodePath(path)) {
+                return Map.of("isRegularFile", true);
+            }
+            return super.readAttributes(path, attributes, options);
+        }
+
+        @Override
+        public Path toRealPath(Path path, LinkOption... linkOptions) throws IOException {
+            if (isRootNodePath(path)) {
+                return path;
+            }
+            return super.toRealPath(path, linkOptions);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
+import org.openhab.automation.jsscripting.internal.threading.ContextPool;
 import org.openhab.automation.jsscripting.internal.threading.ThreadsafeWrappingScriptedAutomationManagerDelegate;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
@@ -32,6 +33,7 @@ import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAuto
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
  *         synchronization
+ * @author agent - Pass in {@link ContextPool.Member} for pooled contexts
  */
 
 @NonNullByDefault
@@ -39,13 +41,14 @@ public class ScriptExtensionModuleProvider {
 
     private static final String RUNTIME_MODULE_PREFIX = "@runtime";
     private static final String DEFAULT_MODULE_NAME = "Defaults";
-    private final Lock lock;
+    private final ContextPool.Member poolMember;
 
     private final ScriptExtensionAccessor scriptExtensionAccessor;
 
-    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor, Lock lock) {
+    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor,
+            ContextPool.Member poolMember) {
         this.scriptExtensionAccessor = scriptExtensionAccessor;
-        this.lock = lock;
+        this.poolMember = poolMember;
     }
 
     public ModuleLocator locatorFor(Context ctx, String engineIdentifier) {
@@ -104,7 +107,7 @@ public class ScriptExtensionModuleProvider {
         for (Map.Entry<String, Object> entry : rv.entrySet()) {
             if (entry.getValue() instanceof ScriptedAutomationManager) {
                 entry.setValue(new ThreadsafeWrappingScriptedAutomationManagerDelegate(
-                        (ScriptedAutomationManager) entry.getValue(), lock));
+                        (ScriptedAutomationManager) entry.getValue(), poolMember));
             }
         }
 
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.automation.Action;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of GraalJS contexts that evaluated the same script file. Each context ({@link Member}) is guarded by its own
+ * {@link Lock}, the first member is the primary context, which is the only one registering rules, handlers and types
+ * with openHAB. All other members are replicas, which keep their rules (in the same order as the primary) so that a
+ * rule execution can be dispatched to any context that is currently not busy.
+ * <p>
+ * Without pooling, the pool only consists of the primary member and rule executions are serialized on its lock.
+ * <p>
+ * The pool also keeps statistics about the time spent waiting for a context lock and the execution time per rule.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ContextPool {
+    private static final Duration LOCK_WAIT_WARN_THRESHOLD = Duration.ofSeconds(5);
+
+    private final Logger logger = LoggerFactory.getLogger(ContextPool.class);
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextMember = new AtomicInteger();
+    private final ExecutionStatistics lockWaitStatistics = new ExecutionStatistics();
+    private final Map<String, ExecutionStatistics> ruleStatistics = new ConcurrentHashMap<>();
+    private String identifier = "javascript";
+
+    /**
+     * A single context of the pool.
+     */
+    public class Member {
+        private final Lock lock;
+        private final boolean primary;
+        private final List<SimpleRule> rules = new CopyOnWriteArrayList<>();
+        private volatile boolean sealed = false;
+
+        private Member(Lock lock, boolean primary) {
+            this.lock = lock;
+            this.primary = primary;
+        }
+
+        public Lock getLock() {
+            return lock;
+        }
+
+        public ContextPool getPool() {
+            return ContextPool.this;
+        }
+
+        /**
+         * @return whether this is the primary context, i.e. the context that registers rules etc. with openHAB
+         */
+        public boolean isPrimary() {
+            return primary;
+        }
+
+        /**
+         * Acquires the lock of this context and records the time spent waiting for it.
+         */
+        public void lock() {
+            long start = System.nanoTime();
+            lock.lock();
+            recordLockWait(System.nanoTime() - start);
+        }
+
+        public void unlock() {
+            lock.unlock();
+        }
+
+        /**
+         * Stops accepting further rules. Replicas are sealed after the script file has been evaluated, so that rules
+         * created at runtime do not mess up the rule order.
+         */
+        public void seal() {
+            sealed = true;
+        }
+
+        /**
+         * Adds a rule created by this context.
+         *
+         * @param rule the rule
+         * @return the index of the rule, or -1 if the context does not accept rules anymore
+         */
+        public int addRule(SimpleRule rule) {
+            if (sealed) {
+                return -1;
+            }
+            rules.add(rule);
+            return rules.size() - 1;
+        }
+    }
+
+    /**
+     * Simple count/total/max statistics of durations.
+     */
+    public static class ExecutionStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public Duration getTotal() {
+            return Duration.ofNanos(totalNanos.sum());
+        }
+
+        public Duration getMax() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            long count = getCount();
+            long avgMillis = count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count);
+            return "count=" + count + ", avg=" + avgMillis + "ms, max=" + getMax().toMillis() + "ms";
+        }
+    }
+
+    /**
+     * Set the identifier used for logging.
+     *
+     * @param identifier identifier to use
+     */
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Adds a new context to the pool. The first context added becomes the primary context.
+     *
+     * @param lock the lock guarding the context
+     * @return the new member
+     */
+    public synchronized Member join(Lock lock) {
+        Member member = new Member(lock, members.isEmpty());
+        members.add(member);
+        return member;
+    }
+
+    /**
+     * Removes a context from the pool.
+     *
+     * @param member the member to remove
+     */
+    public void leave(Member member) {
+        members.remove(member);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public ExecutionStatistics getLockWaitStatistics() {
+        return lockWaitStatistics;
+    }
+
+    public Map<String, ExecutionStatistics> getRuleStatistics() {
+        return Map.copyOf(ruleStatistics);
+    }
+
+    /**
+     * Executes the rule with the given index on a context that is not busy, falling back to waiting for one of the
+     * contexts (in round-robin order) if all contexts are busy.
+     *
+     * @param ruleIndex the index of the rule as returned by {@link Member#addRule(SimpleRule)} of the primary
+     * @param ruleUID the UID of the rule, used for statistics
+     * @param module the action module
+     * @param inputs the inputs of the action
+     * @return the result of the rule execution
+     * @throws IllegalStateException if no context of the pool provides the rule, e.g. because all have left the pool
+     */
+    Object execute(int ruleIndex, String ruleUID, Action module, Map<String, ?> inputs) {
+        Member[] snapshot = members.toArray(new Member[0]);
+        int size = snapshot.length;
+        int start = Math.floorMod(nextMember.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Member member = snapshot[(start + i) % size];
+            if (member.rules.size() > ruleIndex && member.lock.tryLock()) {
+                recordLockWait(0);
+                return executeLocked(member, ruleIndex, ruleUID, module, inputs);
+            }
+        }
+
+        // all contexts are busy, wait for the next one in round-robin order that knows the rule
+        for (int i = 0; i < size; i++) {
+            Member member = snapshot[(start + i) % size];
+            if (member.rules.size() > ruleIndex) {
+                member.lock();
+                return executeLocked(member, ruleIndex, ruleUID, module, inputs);
+            }
+        }
+        throw new IllegalStateException(
+                "No context of '" + identifier + "' provides rule '" + ruleUID + "' (" + size + " contexts)");
+    }
+
+    private Object executeLocked(Member member, int ruleIndex, String ruleUID, Action module, Map<String, ?> inputs) {
+        long start = System.nanoTime();
+        try {
+            return member.rules.get(ruleIndex).execute(module, inputs);
+        } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
+            member.lock.unlock();
+            ruleStatistics.computeIfAbsent(ruleUID, uid -> new ExecutionStatistics())
+                    .record(System.nanoTime() - start);
+        }
+    }
+
+    private void recordLockWait(long nanos) {
+        lockWaitStatistics.record(nanos);
+        if (nanos > LOCK_WAIT_WARN_THRESHOLD.toNanos()) {
+            logger.warn("Waited {} ms for the context lock of '{}'. A long-running rule or timer is blocking the "
+                    + "other rules of this script.", TimeUnit.NANOSECONDS.toMillis(nanos), identifier);
+        }
+    }
+
+    /**
+     * Logs the collected statistics.
+     */
+    public void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Context pool of '{}' ({} contexts): lock wait {}", identifier, members.size(),
+                    lockWaitStatistics);
+            ruleStatistics.forEach((uid, statistics) -> logger.debug("Context pool of '{}': rule '{}' execution {}",
+                    identifier, uid, statistics));
+        }
+    }
+}
@@ -15,7 +15,6 @@ package org.openhab.automation.jsscripting.internal.threading;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,35 +32,37 @@ import org.openhab.core.config.core.Configuration;
 /**
  * A version of {@link SimpleRule} which controls multithreaded execution access to this specific rule. This is useful
  * for rules which wrap GraalJS Contexts, which are not multithreaded.
+ * <p>
+ * Executions are dispatched through the {@link ContextPool} of the script, which runs the rule on a context that is
+ * currently not busy.
  *
  * @author Jonathan Gilbert - Initial contribution
+ * @author agent - Dispatch executions through the {@link ContextPool}
  */
 @NonNullByDefault
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
-    private final Lock lock;
+    private final ContextPool contextPool;
+    private final int ruleIndex;
     private final SimpleRule delegate;
 
     /**
-     * Constructor requires a lock object and delegate to forward invocations to.
+     * Constructor requires a context pool and delegate to forward invocations to.
      *
-     * @param lock rule executions will synchronize on this object
+     * @param contextPool rule executions will be dispatched to a free context of this pool
+     * @param ruleIndex the index of the rule in the contexts of the pool
      * @param delegate the delegate to forward invocations to
      */
-    ThreadsafeSimpleRuleDelegate(Lock lock, SimpleRule delegate) {
-        this.lock = lock;
+    ThreadsafeSimpleRuleDelegate(ContextPool contextPool, int ruleIndex, SimpleRule delegate) {
+        this.contextPool = contextPool;
+        this.ruleIndex = ruleIndex;
         this.delegate = delegate;
     }
 
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
-        lock.lock();
-        try {
-            return delegate.execute(module, inputs);
-        } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
-            lock.unlock();
-        }
+        return contextPool.execute(ruleIndex, delegate.getUID(), module, inputs);
     }
 
     @Override
@@ -25,57 +25,92 @@ import org.openhab.core.automation.module.script.rulesupport.shared.simple.Simpl
 import org.openhab.core.automation.type.ActionType;
 import org.openhab.core.automation.type.ConditionType;
 import org.openhab.core.automation.type.TriggerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A replacement for {@link ScriptedAutomationManager} which wraps all rule registrations in a
  * {@link ThreadsafeSimpleRuleDelegate}. This means that all rules registered via this class with be run in serial per
  * instance of this class that they are registered with.
+ * <p>
+ * If the script uses a pool of contexts, only the primary context registers with the {@link ScriptedAutomationManager},
+ * replicas only record their rules in the {@link ContextPool} so that executions can be dispatched to them.
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
  *         synchronization
+ * @author agent - Context pool support
  */
 @NonNullByDefault
 public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
 
+    private final Logger logger = LoggerFactory.getLogger(ThreadsafeWrappingScriptedAutomationManagerDelegate.class);
+
     private ScriptedAutomationManager delegate;
-    private final Lock lock;
+    private final ContextPool.Member poolMember;
 
-    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock) {
+    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate,
+            ContextPool.Member poolMember) {
         this.delegate = delegate;
-        this.lock = lock;
+        this.poolMember = poolMember;
     }
 
     public void removeModuleType(String UID) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.removeModuleType(UID);
     }
 
     public void removeHandler(String typeUID) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.removeHandler(typeUID);
     }
 
     public void removePrivateHandler(String privId) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.removePrivateHandler(privId);
     }
 
     public void removeAll() {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.removeAll();
     }
 
     public Rule addRule(Rule element) {
+        if (!poolMember.isPrimary()) {
+            // replicas only provide their rules to the pool, the primary context registers them
+            if (element instanceof SimpleRule rule && poolMember.addRule(rule) < 0) {
+                logger.debug("Ignoring rule '{}' created at runtime in a pooled context.", rule.getName());
+            }
+            return element;
+        }
+
         // wrap in a threadsafe version, safe per context
         if (element instanceof SimpleRule rule) {
-            element = new ThreadsafeSimpleRuleDelegate(lock, rule);
+            element = new ThreadsafeSimpleRuleDelegate(poolMember.getPool(), poolMember.addRule(rule), rule);
         }
 
         return delegate.addRule(element);
     }
 
     public void addConditionType(ConditionType condititonType) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addConditionType(condititonType);
     }
 
     public void addConditionHandler(String uid, ScriptedHandler conditionHandler) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addConditionHandler(uid, conditionHandler);
     }
 
@@ -84,10 +119,16 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
     }
 
     public void addActionType(ActionType actionType) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addActionType(actionType);
     }
 
     public void addActionHandler(String uid, ScriptedHandler actionHandler) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addActionHandler(uid, actionHandler);
     }
 
@@ -96,10 +137,16 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
     }
 
     public void addTriggerType(TriggerType triggerType) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addTriggerType(triggerType);
     }
 
     public void addTriggerHandler(String uid, ScriptedHandler triggerHandler) {
+        if (!poolMember.isPrimary()) {
+            return;
+        }
         delegate.addTriggerHandler(uid, triggerHandler);
     }
 
@@ -61,6 +61,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    // Coalesces the scan records of the devices known to this bridge
+    private final BluetoothAdvertisementProcessor advertisementProcessor = new BluetoothAdvertisementProcessor();
+
     /**
      * Constructor
      *
@@ -92,6 +95,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
+
+        advertisementProcessor.start(scheduler, config.advertisementWindow, config.rssiChangeThreshold);
     }
 
     @Override
@@ -102,6 +107,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         }
         this.inactiveRemovalJob = null;
 
+        advertisementProcessor.stop();
+
         synchronized (devices) {
             for (BD device : devices.values()) {
                 removeDevice(device);
@@ -127,6 +134,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     protected void removeDevice(BD device) {
         device.dispose();
+        device.setAdvertisementProcessor(null);
+        advertisementProcessor.remove(device.getAddress());
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
@@ -187,7 +196,11 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public BD getDevice(BluetoothAddress address) {
         synchronized (devices) {
-            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
+            return Objects.requireNonNull(devices.computeIfAbsent(address, addr -> {
+                BD device = createDevice(addr);
+                device.setAdvertisementProcessor(advertisementProcessor);
+                return device;
+            }));
         }
     }
 
@@ -26,6 +26,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,6 +91,11 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
 
     private volatile boolean servicesDiscovered = false;
 
+    /**
+     * The processor of the bridge that coalesces the scan records, if any
+     */
+    private volatile @Nullable BluetoothAdvertisementProcessor advertisementProcessor;
+
     /**
      * Construct a Bluetooth device taking the Bluetooth address
      *
@@ -307,6 +313,19 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
         return true;
     }
 
+    void setAdvertisementProcessor(@Nullable BluetoothAdvertisementProcessor advertisementProcessor) {
+        this.advertisementProcessor = advertisementProcessor;
+    }
+
+    /**
+     * Passes a scan record that went through the {@link BluetoothAdvertisementProcessor} on to the listeners.
+     *
+     * @param scanNotification the coalesced scan record
+     */
+    void deliverScanRecord(BluetoothScanNotification scanNotification) {
+        super.notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
+    }
+
     @Override
     protected void notifyListeners(BluetoothEventType event, Object... args) {
         switch (event) {
@@ -340,6 +359,11 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
             default:
                 break;
         }
+        BluetoothAdvertisementProcessor processor = advertisementProcessor;
+        if (event == BluetoothEventType.SCAN_RECORD && processor != null && hasListeners()
+                && processor.submit(this, (BluetoothScanNotification) args[0])) {
+            return;
+        }
         super.notifyListeners(event, args);
     }
 
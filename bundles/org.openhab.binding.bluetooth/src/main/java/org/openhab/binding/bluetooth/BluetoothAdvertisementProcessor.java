@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BluetoothAdvertisementProcessor} coalesces the scan records of the devices of a bridge before they are
+ * passed to the device listeners. All scan records a device sends within the configured window are merged:
+ * <ul>
+ * <li>the RSSI values are smoothed with an exponential moving average and only passed on once the smoothed value
+ * differs from the last one passed on by at least the configured threshold</li>
+ * <li>scan records carrying the same manufacturer data, service data and name as one already passed on are dropped,
+ * unless the last one is older than {@link #REPEAT_INTERVAL_NANOS}, so that handlers watching for a heartbeat still
+ * see the device</li>
+ * </ul>
+ * Scan records with different data are never merged into each other, so no sensor reading or button event gets lost.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class BluetoothAdvertisementProcessor {
+
+    // Weight of a new RSSI value in the moving average.
+    private static final double RSSI_SMOOTHING_FACTOR = 0.3;
+    private static final long REPEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final Logger logger = LoggerFactory.getLogger(BluetoothAdvertisementProcessor.class);
+
+    private final Map<BluetoothAddress, DeviceState> states = new ConcurrentHashMap<>();
+    private final Queue<DeviceState> pendingStates = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean enabled = false;
+    private volatile int rssiChangeThreshold = 0;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * Starts coalescing the scan records.
+     *
+     * @param scheduler the scheduler to pass on the scan records with
+     * @param window the window in milliseconds, 0 or less to pass on each scan record straight away
+     * @param rssiChangeThreshold the minimum change of the smoothed RSSI in dBm before it is passed on
+     */
+    synchronized void start(ScheduledExecutorService scheduler, int window, int rssiChangeThreshold) {
+        stop();
+        if (window <= 0) {
+            return;
+        }
+        logger.debug("Coalescing scan records over {} ms with an RSSI threshold of {} dBm", window,
+                rssiChangeThreshold);
+        this.rssiChangeThreshold = rssiChangeThreshold;
+        enabled = true;
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        enabled = false;
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+        }
+        this.flushJob = null;
+        states.clear();
+        pendingStates.clear();
+    }
+
+    /**
+     * Queues a scan record of a device.
+     *
+     * @param device the device that received the scan record
+     * @param notification the scan record, must not be modified afterwards
+     * @return <code>false</code> if the scan record has to be passed on straight away
+     */
+    boolean submit(BaseBluetoothDevice device, BluetoothScanNotification notification) {
+        if (!enabled) {
+            return false;
+        }
+        DeviceState state = states.computeIfAbsent(device.getAddress(), address -> new DeviceState(device));
+        if (state.add(notification)) {
+            pendingStates.add(state);
+        }
+        return true;
+    }
+
+    void remove(BluetoothAddress address) {
+        states.remove(address);
+    }
+
+    /**
+     * Passes on the scan records merged since the last call.
+     */
+    void flush() {
+        long now = System.nanoTime();
+        DeviceState state;
+        while ((state = pendingStates.poll()) != null) {
+            List<BluetoothScanNotification> notifications = state.drain(now, rssiChangeThreshold);
+            for (BluetoothScanNotification notification : notifications) {
+                state.device.deliverScanRecord(notification);
+            }
+        }
+    }
+
+    private static @Nullable String payloadKey(BluetoothScanNotification notification) {
+        StringBuilder key = new StringBuilder();
+        byte[] manufacturerData = notification.getManufacturerData();
+        if (manufacturerData.length >= 2) {
+            // devices may send the data of several manufacturers, the first two bytes are the company identifier
+            key.append('m').append((manufacturerData[0] & 0xFF) | (manufacturerData[1] & 0xFF) << 8);
+        } else if (manufacturerData.length > 0) {
+            key.append('m');
+        }
+        if (!notification.getServiceData().isEmpty()) {
+            key.append('s');
+        }
+        if (!notification.getDeviceName().isEmpty()) {
+            key.append('n');
+        }
+        return key.isEmpty() ? null : key.toString();
+    }
+
+    private static boolean samePayload(BluetoothScanNotification first, BluetoothScanNotification second) {
+        if (first.getBeaconType() != second.getBeaconType()
+                || !Arrays.equals(first.getManufacturerData(), second.getManufacturerData())
+                || !first.getDeviceName().equals(second.getDeviceName())) {
+            return false;
+        }
+        Map<String, byte[]> firstServiceData = first.getServiceData();
+        Map<String, byte[]> secondServiceData = second.getServiceData();
+        if (firstServiceData.size() != secondServiceData.size()) {
+            return false;
+        }
+        for (Map.Entry<String, byte[]> entry : firstServiceData.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), secondServiceData.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class DeviceState {
+        private final BaseBluetoothDevice device;
+        private final List<BluetoothScanNotification> pending = new ArrayList<>();
+        private final Map<String, Delivered> delivered = new HashMap<>();
+        private double smoothedRssi = Double.NaN;
+        private int reportedRssi = Integer.MIN_VALUE;
+        private boolean queued = false;
+
+        private DeviceState(BaseBluetoothDevice device) {
+            this.device = device;
+        }
+
+        /**
+         * @return <code>true</code> if the state has to be queued for the next flush
+         */
+        private synchronized boolean add(BluetoothScanNotification notification) {
+            int rssi = notification.getRssi();
+            if (rssi != Integer.MIN_VALUE && rssi != 0) {
+                smoothedRssi = Double.isNaN(smoothedRssi) ? rssi
+                        : smoothedRssi + RSSI_SMOOTHING_FACTOR * (rssi - smoothedRssi);
+            }
+            if (payloadKey(notification) != null
+                    && pending.stream().noneMatch(other -> samePayload(other, notification))) {
+                pending.add(notification);
+            }
+            if (queued) {
+                return false;
+            }
+            queued = true;
+            return true;
+        }
+
+        private synchronized List<BluetoothScanNotification> drain(long now, int rssiChangeThreshold) {
+            queued = false;
+            List<BluetoothScanNotification> notifications = new ArrayList<>();
+            for (BluetoothScanNotification notification : pending) {
+                String key = Objects.requireNonNull(payloadKey(notification));
+                Delivered last = delivered.get(key);
+                if (last != null && samePayload(last.notification, notification)
+                        && now - last.time < REPEAT_INTERVAL_NANOS) {
+                    continue;
+                }
+                delivered.put(key, new Delivered(notification, now));
+                notification.setRssi(Integer.MIN_VALUE);
+                notifications.add(notification);
+            }
+            pending.clear();
+
+            if (!Double.isNaN(smoothedRssi)) {
+                int rssi = (int) Math.round(smoothedRssi);
+                if (reportedRssi == Integer.MIN_VALUE
+                        || (rssi != reportedRssi && Math.abs(rssi - reportedRssi) >= rssiChangeThreshold)) {
+                    reportedRssi = rssi;
+                    if (notifications.isEmpty()) {
+                        notifications.add(new BluetoothScanNotification());
+                    }
+                    notifications.get(0).setRssi(rssi);
+                }
+            }
+            return notifications;
+        }
+    }
+
+    private record Delivered(BluetoothScanNotification notification, long time) {
+    }
+}
@@ -62,6 +62,9 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
     private final Collection<BluetoothDiscoveryParticipant> participants;
     private final Set<BluetoothAdapter> adapters;
 
+    private final List<BluetoothDiscoveryParticipant> connectionParticipants = new ArrayList<>();
+    private volatile boolean connectionEstablished = false;
+
     public BluetoothDiscoveryProcess(BluetoothDeviceSnapshot device,
             Collection<BluetoothDiscoveryParticipant> participants, Set<BluetoothAdapter> adapters) {
         this.participants = participants;
@@ -71,11 +74,22 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
 
     @Override
     public DiscoveryResult get() {
+        DiscoveryResult result = findConnectionlessResult();
+        return result != null ? result : findConnectionResult();
+    }
+
+    /**
+     * Asks the participants that don't require a connection for a result.
+     *
+     * @return the result, the default result if no participant requires a connection or <code>null</code> if
+     *         {@link #findConnectionResult()} has to be called
+     */
+    public @Nullable DiscoveryResult findConnectionlessResult() {
         List<BluetoothDiscoveryParticipant> sortedParticipants = new ArrayList<>(participants);
         sortedParticipants.sort(Comparator.comparing(BluetoothDiscoveryParticipant::order));
 
         // first see if any of the participants that don't require a connection recognize this device
-        List<BluetoothDiscoveryParticipant> connectionParticipants = new ArrayList<>();
+        connectionParticipants.clear();
         for (BluetoothDiscoveryParticipant participant : sortedParticipants) {
             if (participant.requiresConnection(device)) {
                 connectionParticipants.add(participant);
@@ -90,7 +104,16 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
                 logger.warn("Participant '{}' threw an exception", participant.getClass().getName(), e);
             }
         }
+        return connectionParticipants.isEmpty() ? createDefaultResult() : null;
+    }
 
+    /**
+     * Connects to the device and asks the participants that require a connection for a result. Must be called after
+     * {@link #findConnectionlessResult()}.
+     *
+     * @return the result or the default result if no participant recognized the device
+     */
+    public DiscoveryResult findConnectionResult() {
         // Since we couldn't find a result, lets try the connection based participants
         DiscoveryResult result = null;
         BluetoothAddress address = device.getAddress();
@@ -114,6 +137,13 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
         return result;
     }
 
+    /**
+     * @return <code>true</code> if {@link #findConnectionResult()} was able to connect to the device
+     */
+    public boolean isConnectionEstablished() {
+        return connectionEstablished;
+    }
+
     private boolean isAddressAvailable(BluetoothAddress address) {
         // if a device with this address has a handler on any of the adapters, we abandon discovery
         return adapters.stream().noneMatch(adapter -> adapter.hasHandlerForDevice(address));
@@ -174,6 +204,7 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
                     readDeviceInformationIfMissing();
                     logger.debug("Device information fetched from the device: {}", device);
                 }
+                connectionEstablished = true;
 
                 try {
                     DiscoveryResult result = participant.createResult(device);
@@ -13,8 +13,10 @@
 package org.openhab.binding.bluetooth.discovery.internal;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -22,6 +24,9 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,6 +38,7 @@ import org.openhab.binding.bluetooth.BluetoothDevice;
 import org.openhab.binding.bluetooth.BluetoothDiscoveryListener;
 import org.openhab.binding.bluetooth.discovery.BluetoothDiscoveryParticipant;
 import org.openhab.core.cache.ExpiringCache;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -63,6 +69,9 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     private final Logger logger = LoggerFactory.getLogger(BluetoothDiscoveryService.class);
 
     private static final int SEARCH_TIME = 15;
+    private static final String CONFIG_MAX_CONNECTIONS = "maxConnectionsPerAdapter";
+    private static final int DEFAULT_MAX_CONNECTIONS = 2;
+    private static final int MAX_CACHED_CONNECTION_RESULTS = 256;
 
     private final Set<BluetoothAdapter> adapters = new CopyOnWriteArraySet<>();
     private final Set<BluetoothDiscoveryParticipant> participants = new CopyOnWriteArraySet<>();
@@ -71,6 +80,23 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
     private final Set<ThingTypeUID> supportedThingTypes = new CopyOnWriteArraySet<>();
 
+    // Connection based discoveries are run on a small pool per adapter, so that each adapter only has a limited
+    // number of connections open while the adapters work in parallel.
+    private final Map<BluetoothAdapter, ThreadPoolExecutor> connectionExecutors = new ConcurrentHashMap<>();
+    private volatile int maxConnectionsPerAdapter = DEFAULT_MAX_CONNECTIONS;
+
+    // Results of connection based discoveries, so that a device advertising the same data again is not connected to
+    private final Map<AdvertisementFingerprint, DiscoveryResult> connectionResults = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.@Nullable Entry<AdvertisementFingerprint, DiscoveryResult> eldest) {
+                    return size() > MAX_CACHED_CONNECTION_RESULTS;
+                }
+            });
+
     public BluetoothDiscoveryService() {
         super(SEARCH_TIME);
         supportedThingTypes.add(BluetoothBindingConstants.THING_TYPE_BEACON);
@@ -81,18 +107,61 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     protected void activate(@Nullable Map<String, Object> configProperties) {
         logger.debug("Activating Bluetooth discovery service");
         super.activate(configProperties);
+        applyConfig(configProperties);
     }
 
     @Override
     @Modified
     protected void modified(@Nullable Map<String, Object> configProperties) {
         super.modified(configProperties);
+        applyConfig(configProperties);
     }
 
     @Override
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating Bluetooth discovery service");
+        connectionExecutors.values().forEach(ThreadPoolExecutor::shutdown);
+        connectionExecutors.clear();
+    }
+
+    private void applyConfig(@Nullable Map<String, Object> configProperties) {
+        Object value = configProperties == null ? null : configProperties.get(CONFIG_MAX_CONNECTIONS);
+        int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        if (value != null) {
+            try {
+                maxConnections = Math.max(1, Integer.parseInt(value.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using {}", value, CONFIG_MAX_CONNECTIONS,
+                        DEFAULT_MAX_CONNECTIONS);
+            }
+        }
+        maxConnectionsPerAdapter = maxConnections;
+        for (ThreadPoolExecutor executor : connectionExecutors.values()) {
+            resize(executor, maxConnections);
+        }
+    }
+
+    private static void resize(ThreadPoolExecutor executor, int size) {
+        // the order matters, the core pool size must never exceed the maximum pool size
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+
+    private ThreadPoolExecutor getConnectionExecutor(BluetoothAdapter adapter) {
+        return connectionExecutors.computeIfAbsent(adapter, a -> {
+            int size = maxConnectionsPerAdapter;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory("bluetooth-discovery-" + a.getUID().getId(), true));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -104,17 +173,24 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     protected void removeBluetoothAdapter(BluetoothAdapter adapter) {
         this.adapters.remove(adapter);
         adapter.removeDiscoveryListener(this);
+        ThreadPoolExecutor executor = connectionExecutors.remove(adapter);
+        if (executor != null) {
+            executor.shutdown();
+        }
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     protected void addBluetoothDiscoveryParticipant(BluetoothDiscoveryParticipant participant) {
         this.participants.add(participant);
         supportedThingTypes.addAll(participant.getSupportedThingTypeUIDs());
+        // a new participant might recognize devices that have been discovered before
+        connectionResults.clear();
     }
 
     protected void removeBluetoothDiscoveryParticipant(BluetoothDiscoveryParticipant participant) {
         supportedThingTypes.removeAll(participant.getSupportedThingTypeUIDs());
         this.participants.remove(participant);
+        connectionResults.clear();
     }
 
     @Override
@@ -221,6 +297,8 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             CompletableFuture<DiscoveryResult> future = null;
 
             BluetoothDeviceSnapshot snapshot = new BluetoothDeviceSnapshot(device);
+            AdvertisementFingerprint fingerprint = new AdvertisementFingerprint(device.getAddress(),
+                    device.getManufacturerId(), device.getName(), device.getTxPower());
             BluetoothDeviceSnapshot latestSnapshot = this.latestSnapshot.getValue();
             if (latestSnapshot != null) {
                 snapshot.merge(latestSnapshot);
@@ -253,7 +331,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             if (future == null) {
                 // we pass in the snapshot since it acts as a delegate for the device. It will also retain any new
                 // fields added to the device as part of the discovery process.
-                future = startDiscoveryProcess(snapshot);
+                future = startDiscoveryProcess(snapshot, fingerprint);
             }
 
             if (discoveryFutures.containsKey(adapter)) {
@@ -320,12 +398,36 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             }
         }
 
-        private CompletableFuture<DiscoveryResult> startDiscoveryProcess(BluetoothDeviceSnapshot device) {
-            return CompletableFuture.supplyAsync(new BluetoothDiscoveryProcess(device, participants, adapters),
-                    scheduler);
+        private CompletableFuture<DiscoveryResult> startDiscoveryProcess(BluetoothDeviceSnapshot device,
+                AdvertisementFingerprint fingerprint) {
+            DiscoveryResult cachedResult = connectionResults.get(fingerprint);
+            if (cachedResult != null) {
+                logger.debug("Reusing the result of an earlier connection to device {}", device.getAddress());
+                return CompletableFuture.completedFuture(cachedResult);
+            }
+            BluetoothDiscoveryProcess process = new BluetoothDiscoveryProcess(device, participants, adapters);
+            return CompletableFuture.supplyAsync(process::findConnectionlessResult, scheduler).thenCompose(result -> {
+                if (result != null) {
+                    return CompletableFuture.completedFuture(result);
+                }
+                return CompletableFuture.supplyAsync(process::findConnectionResult,
+                        getConnectionExecutor(device.getAdapter())).thenApply(connectionResult -> {
+                            if (process.isConnectionEstablished()) {
+                                connectionResults.put(fingerprint, connectionResult);
+                            }
+                            return connectionResult;
+                        });
+            });
         }
     }
 
+    /**
+     * The fields of a device that are known from its advertisements, without connecting to it.
+     */
+    private record AdvertisementFingerprint(BluetoothAddress address, @Nullable Integer manufacturer,
+            @Nullable String name, @Nullable Integer txPower) {
+    }
+
     private static class SnapshotFuture {
         public final BluetoothDeviceSnapshot snapshot;
         public final CompletableFuture<DiscoveryResult> future;
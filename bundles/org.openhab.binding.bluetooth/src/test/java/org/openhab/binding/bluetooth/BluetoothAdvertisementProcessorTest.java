@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.bluetooth.BluetoothDevice.BluetoothEventType;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link BluetoothAdvertisementProcessor}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothAdvertisementProcessorTest {
+
+    private @NonNullByDefault({}) BluetoothAdvertisementProcessor processor;
+    private @NonNullByDefault({}) MockBluetoothDevice device;
+    private @NonNullByDefault({}) BluetoothDeviceListener listener;
+
+    @BeforeEach
+    public void setup() {
+        processor = new BluetoothAdvertisementProcessor();
+        processor.start(mock(ScheduledExecutorService.class), 1000, 2);
+        device = new MockBluetoothDevice(new MockBluetoothAdapter(), TestUtils.randomAddress());
+        device.setAdvertisementProcessor(processor);
+        listener = mock(BluetoothDeviceListener.class);
+        device.addListener(listener);
+    }
+
+    @Test
+    public void testIdenticalManufacturerDataIsDropped() {
+        for (int i = 0; i < 3; i++) {
+            receive(-60, new byte[] { 0x4C, 0x00, 0x01 });
+        }
+        verify(listener, never()).onScanRecordReceived(any());
+        processor.flush();
+
+        receive(-60, new byte[] { 0x4C, 0x00, 0x01 });
+        processor.flush();
+
+        List<BluetoothScanNotification> notifications = captureScanRecords(1);
+        assertArrayEquals(new byte[] { 0x4C, 0x00, 0x01 }, notifications.get(0).getManufacturerData());
+        assertEquals(-60, notifications.get(0).getRssi());
+    }
+
+    @Test
+    public void testDifferentManufacturerDataIsKept() {
+        receive(-60, new byte[] { 0x4C, 0x00, 0x01 });
+        receive(-60, new byte[] { 0x4C, 0x00, 0x02 });
+        processor.flush();
+
+        List<BluetoothScanNotification> notifications = captureScanRecords(2);
+        assertArrayEquals(new byte[] { 0x4C, 0x00, 0x01 }, notifications.get(0).getManufacturerData());
+        assertArrayEquals(new byte[] { 0x4C, 0x00, 0x02 }, notifications.get(1).getManufacturerData());
+        // the RSSI is only passed on once
+        assertEquals(Integer.MIN_VALUE, notifications.get(1).getRssi());
+    }
+
+    @Test
+    public void testRssiIsSmoothed() {
+        receive(-60, new byte[0]);
+        processor.flush();
+        receive(-61, new byte[0]);
+        processor.flush();
+        receive(-70, new byte[0]);
+        processor.flush();
+
+        List<BluetoothScanNotification> notifications = captureScanRecords(2);
+        assertEquals(-60, notifications.get(0).getRssi());
+        assertEquals(-63, notifications.get(1).getRssi());
+    }
+
+    @Test
+    public void testDisabledProcessorPassesOnScanRecords() {
+        processor.stop();
+        receive(-60, new byte[0]);
+        receive(-60, new byte[0]);
+
+        captureScanRecords(2);
+    }
+
+    private void receive(int rssi, byte[] manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        notification.setManufacturerData(manufacturerData);
+        device.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+    }
+
+    private List<BluetoothScanNotification> captureScanRecords(int count) {
+        ArgumentCaptor<BluetoothScanNotification> captor = ArgumentCaptor.forClass(BluetoothScanNotification.class);
+        verify(listener, times(count)).onScanRecordReceived(captor.capture());
+        return captor.getAllValues();
+    }
+}
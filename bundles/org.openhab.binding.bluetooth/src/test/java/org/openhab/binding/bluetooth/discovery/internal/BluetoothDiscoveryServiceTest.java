@@ -214,6 +214,33 @@ public class BluetoothDiscoveryServiceTest {
                         && arg.getThingUID().getId().equals(deviceName)));
     }
 
+    @Test
+    public void cachedConnectionResultTest() {
+        Mockito.doReturn(true).when(participant1).requiresConnection(ArgumentMatchers.any());
+        BluetoothAddress address = TestUtils.randomAddress();
+
+        MockBluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
+        MockBluetoothDevice mockDevice = mockAdapter1.getDevice(address);
+        String deviceName = StringUtils.getRandomAlphanumeric(10);
+        mockDevice.setDeviceName(deviceName);
+
+        BluetoothDevice device = Mockito.spy(mockDevice);
+
+        discoveryService.deviceDiscovered(device);
+        Mockito.verify(mockDiscoveryListener, Mockito.timeout(TIMEOUT).times(1)).thingDiscovered(
+                ArgumentMatchers.same(discoveryService),
+                ArgumentMatchers.argThat(arg -> arg.getThingUID().getId().equals(deviceName)));
+
+        // the end of a scan forgets the latest snapshot, but the device advertises the same data again
+        discoveryService.stopScan();
+        discoveryService.deviceDiscovered(device);
+
+        Mockito.verify(mockDiscoveryListener, Mockito.timeout(TIMEOUT).times(2)).thingDiscovered(
+                ArgumentMatchers.same(discoveryService),
+                ArgumentMatchers.argThat(arg -> arg.getThingUID().getId().equals(deviceName)));
+        Mockito.verify(device, Mockito.times(1)).connect();
+    }
+
     @Test
     public void multiDiscoverySingleConnectionTest() {
         Mockito.doReturn(true).when(participant1).requiresConnection(ArgumentMatchers.any());
@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DecimalType;
 
 /**
@@ -66,4 +68,21 @@ class CosemDecimal extends CosemValueDescriptor<DecimalType> {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as integer", 0);
         }
     }
+
+    @Override
+    protected DecimalType getStateValue(byte[] data, int offset, int length) throws ParseException {
+        int valueLength = length;
+
+        if (expectUnit) {
+            for (int i = 1; i < length; i++) {
+                if (data[offset + i] == '*') {
+                    valueLength = i;
+                    break;
+                }
+            }
+        }
+        final @Nullable BigDecimal value = parseDecimal(data, offset, valueLength);
+
+        return value == null ? super.getStateValue(data, offset, length) : new DecimalType(value);
+    }
 }
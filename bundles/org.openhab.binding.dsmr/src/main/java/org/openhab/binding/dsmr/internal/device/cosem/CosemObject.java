@@ -12,12 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.types.State;
@@ -32,11 +31,6 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class CosemObject {
 
-    /**
-     * Regular expression for finding CosemValues
-     */
-    private static final Pattern COSEM_VALUES_PATTERN = Pattern.compile("(\\(([^\\(\\)]*)\\))");
-
     private final Logger logger = LoggerFactory.getLogger(CosemObject.class);
 
     /**
@@ -113,18 +107,44 @@ public class CosemObject {
      * @throws ParseException if parsing fails
      */
     public void parseCosemValues(String cosemValueString) throws ParseException {
-        logger.trace("Parsing CosemValue string {}", cosemValueString);
+        final byte[] data = cosemValueString.getBytes(StandardCharsets.ISO_8859_1);
 
-        Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+        parseCosemValues(data, 0, data.length);
+    }
+
+    /**
+     * Parses the List of COSEM values, each enclosed in parentheses, directly from the received bytes.
+     * <p>
+     * When the parser has problems it throws a {@link ParseException}. The
+     * already parsed values will still be available. It is up to the caller how
+     * to handle a partially parsed message.
+     *
+     * @param data buffer containing the COSEM values
+     * @param offset start of the COSEM values in the buffer
+     * @param length length of the COSEM values
+     * @throws ParseException if parsing fails
+     */
+    public void parseCosemValues(byte[] data, int offset, int length) throws ParseException {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Parsing CosemValue string {}", new String(data, offset, length, StandardCharsets.ISO_8859_1));
+        }
+        final int end = offset + length;
+        int nrOfCosemValues = 0;
+        int start = nextValueStart(data, offset, end);
 
+        while (start < end) {
+            nrOfCosemValues++;
+            start = nextValueStart(data, valueEnd(data, start, end) + 1, end);
+        }
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
             int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
+            start = nextValueStart(data, offset, end);
+            while (start < end) {
+                final int valueEnd = valueEnd(data, start, end);
                 final Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                final State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
+                final State cosemValue = valueDescriptorEntry.getValue().getStateValue(data, start, valueEnd - start);
 
                 if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
                     cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
@@ -133,20 +153,41 @@ public class CosemObject {
                             cosemValue);
                 }
                 cosemValueItr++;
+                start = nextValueStart(data, valueEnd + 1, end);
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
 
-    private int countCosemValues(Matcher cosemValueMatcher) {
-        int nrOfCosemValues = 0;
+    /**
+     * Finds the start of the next value, that is the first character after a '(' that is closed by a ')' without any
+     * other parenthesis in between.
+     *
+     * @return start of the next value or end if there are no more values
+     */
+    private static int nextValueStart(byte[] data, int from, int end) {
+        int start = -1;
+
+        for (int i = from; i < end; i++) {
+            if (data[i] == '(') {
+                start = i + 1;
+            } else if (data[i] == ')' && start >= 0) {
+                return start;
+            }
+        }
+        return end;
+    }
 
-        while (cosemValueMatcher.find()) {
-            nrOfCosemValues++;
+    /**
+     * @return the position of the ')' closing the value starting at start
+     */
+    private static int valueEnd(byte[] data, int start, int end) {
+        int i = start;
+
+        while (i < end && data[i] != ')') {
+            i++;
         }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
-        return nrOfCosemValues;
+        return i;
     }
 }
@@ -12,8 +12,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,16 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Number of buckets of the OBIS identifier cache, must be a power of 2
+     */
+    private static final int OBIS_LOOKUP_CACHE_BUCKETS = 64;
+
+    /**
+     * Maximum number of OBIS identifiers kept in the cache
+     */
+    private static final int MAX_CACHED_OBIS_IDS = 512;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
@@ -42,6 +54,12 @@ public class CosemObjectFactory {
      */
     private final Map<OBISIdentifier, List<CosemObjectType>> obisLookupTableMultipleFixed = new HashMap<>();
 
+    /**
+     * Cache of the OBIS identifiers received, keyed by the bytes as received. Only used from the parser thread.
+     */
+    private final @Nullable ObisLookup[] obisLookupCache = new ObisLookup[OBIS_LOOKUP_CACHE_BUCKETS];
+    private int obisLookupCacheSize;
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -79,6 +97,79 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
+        final byte[] obisId = obisIdString.getBytes(StandardCharsets.ISO_8859_1);
+        final byte[] values = cosemStringValues.getBytes(StandardCharsets.ISO_8859_1);
+
+        return getCosemObject(obisId, 0, obisId.length, values, 0, values.length);
+    }
+
+    /**
+     * Return Cosem Object from the received bytes or null if the bytes couldn't be
+     * parsed correctly or no corresponding Cosem Object was found.
+     *
+     * The OBIS identifier is looked up in a cache of the identifiers already received, so it is only parsed the first
+     * time it is received.
+     *
+     * @param obisIdData buffer containing the OBIS message identifier
+     * @param obisIdOffset start of the OBIS message identifier in the buffer
+     * @param obisIdLength length of the OBIS message identifier
+     * @param valuesData buffer containing the Cosem values
+     * @param valuesOffset start of the Cosem values in the buffer
+     * @param valuesLength length of the Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public @Nullable CosemObject getCosemObject(byte[] obisIdData, int obisIdOffset, int obisIdLength,
+            byte[] valuesData, int valuesOffset, int valuesLength) {
+        final ObisLookup lookup = lookup(obisIdData, obisIdOffset, obisIdLength);
+        final @Nullable OBISIdentifier obisId = lookup.obisId;
+
+        if (obisId == null) {
+            logger.debug("Received invalid OBIS identifier: {}", lookup.obisIdString());
+            return null;
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received obisIdString {}, obisId: {}, values: {}", lookup.obisIdString(), obisId,
+                    new String(valuesData, valuesOffset, valuesLength, StandardCharsets.ISO_8859_1));
+        }
+        for (CosemObjectType cosemObjectType : lookup.objectTypes) {
+            CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, obisId, valuesData, valuesOffset,
+                    valuesLength);
+            if (cosemObject != null || lookup.single) {
+                return cosemObject;
+            }
+        }
+        if (lookup.objectTypes.isEmpty()) {
+            logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached lookup result of the OBIS identifier, or resolves and caches it when it is received for the
+     * first time.
+     */
+    private ObisLookup lookup(byte[] data, int offset, int length) {
+        final int hash = hash(data, offset, length);
+        final int bucket = hash & (obisLookupCache.length - 1);
+
+        for (ObisLookup lookup = obisLookupCache[bucket]; lookup != null; lookup = lookup.next) {
+            if (lookup.hash == hash && lookup.matches(data, offset, length)) {
+                return lookup;
+            }
+        }
+        final ObisLookup lookup = resolve(Arrays.copyOfRange(data, offset, offset + length), hash);
+
+        if (obisLookupCacheSize < MAX_CACHED_OBIS_IDS) {
+            // Bounded, so garbage received in lenient mode can't fill up the cache.
+            lookup.next = obisLookupCache[bucket];
+            obisLookupCache[bucket] = lookup;
+            obisLookupCacheSize++;
+        }
+        return lookup;
+    }
+
+    private ObisLookup resolve(byte[] obisIdBytes, int hash) {
+        final String obisIdString = new String(obisIdBytes, StandardCharsets.ISO_8859_1);
         OBISIdentifier obisId;
         OBISIdentifier reducedObisId;
         OBISIdentifier reducedObisIdGroupE;
@@ -88,37 +179,33 @@ public class CosemObjectFactory {
             reducedObisId = obisId.getReducedOBISIdentifier();
             reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
         } catch (final ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
-            return null;
+            return new ObisLookup(obisIdBytes, hash, null, List.of(), false);
         }
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
-
         CosemObjectType objectType = obisLookupTableFixed.get(reducedObisId);
         if (objectType != null) {
             logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+            return new ObisLookup(obisIdBytes, hash, obisId, List.of(objectType), true);
         }
 
-        List<CosemObjectType> objectTypeList = obisLookupTableMultipleFixed.get(reducedObisId);
-        if (objectTypeList != null) {
-            for (CosemObjectType cosemObjectType : objectTypeList) {
-                CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
-                if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-                    return cosemObject;
-                }
-            }
-        }
+        // Types sharing the same id are tried in order, if none can parse the values the group E lookup is tried
+        final List<CosemObjectType> objectTypes = new ArrayList<>(
+                obisLookupTableMultipleFixed.getOrDefault(reducedObisId, List.of()));
 
         objectType = obisLookupTableFixed.get(reducedObisIdGroupE);
         if (objectType != null) {
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+            objectTypes.add(objectType);
         }
+        return new ObisLookup(obisIdBytes, hash, obisId, objectTypes, false);
+    }
 
-        logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+    private static int hash(byte[] data, int offset, int length) {
+        int hash = 1;
 
-        return null;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + data[i];
+        }
+        return hash ^ (hash >>> 16);
     }
 
     /**
@@ -126,23 +213,57 @@ public class CosemObjectFactory {
      *
      * @param cosemObjectType the type of the CosemObject
      * @param obisIdentifier the actual OBISIdentifier how this cosemObjectType is identified
-     * @param cosemStringValues the values of the CosemObject
+     * @param data buffer containing the values of the CosemObject
+     * @param offset start of the values in the buffer
+     * @param length length of the values
      *
      * @return a CosemObject or null if parsing failed
      */
     private @Nullable CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
-            String cosemStringValues) {
+            byte[] data, int offset, int length) {
         CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
 
         try {
             logger.trace("Parse values for Cosem Object type: {}", cosemObjectType);
-            obj.parseCosemValues(cosemStringValues);
+            obj.parseCosemValues(data, offset, length);
 
             return obj;
         } catch (ParseException pe) {
-            logger.trace("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType, cosemStringValues,
-                    pe);
+            logger.trace("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType,
+                    new String(data, offset, length, StandardCharsets.ISO_8859_1), pe);
         }
         return null;
     }
+
+    /**
+     * Cached result of looking up an OBIS identifier as received from the meter.
+     */
+    private static class ObisLookup {
+        private final byte[] obisIdBytes;
+        private final int hash;
+        private final @Nullable OBISIdentifier obisId;
+        private final List<CosemObjectType> objectTypes;
+        /**
+         * If true the single type found is the only candidate, even if it fails to parse the values.
+         */
+        private final boolean single;
+        private @Nullable ObisLookup next;
+
+        ObisLookup(byte[] obisIdBytes, int hash, @Nullable OBISIdentifier obisId, List<CosemObjectType> objectTypes,
+                boolean single) {
+            this.obisIdBytes = obisIdBytes;
+            this.hash = hash;
+            this.obisId = obisId;
+            this.objectTypes = objectTypes;
+            this.single = single;
+        }
+
+        boolean matches(byte[] data, int offset, int length) {
+            return Arrays.equals(obisIdBytes, 0, obisIdBytes.length, data, offset, offset + length);
+        }
+
+        String obisIdString() {
+            return new String(obisIdBytes, StandardCharsets.ISO_8859_1);
+        }
+    }
 }
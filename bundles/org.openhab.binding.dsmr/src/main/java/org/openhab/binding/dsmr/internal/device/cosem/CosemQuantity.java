@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +74,12 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
      */
     private final Unit<Q> unit;
 
+    /**
+     * The unit text last seen in a value together with the unit it was parsed to. Meters always send the same unit
+     * text, so this saves parsing the unit for every value.
+     */
+    private volatile @Nullable ParsedUnit<Q> parsedUnit;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -100,19 +109,66 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
      */
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
-        try {
-            final QuantityType<Q> it = new QuantityType<>(prepare(cosemValue));
-            final @Nullable QuantityType<Q> qt = it.toUnit(unit);
+        return toUnit(parse(cosemValue), cosemValue);
+    }
 
-            if (qt == null) {
-                throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
-            }
-            return qt;
+    private QuantityType<Q> parse(String cosemValue) throws ParseException {
+        try {
+            return new QuantityType<>(prepare(cosemValue));
         } catch (final IllegalArgumentException nfe) {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
         }
     }
 
+    private QuantityType<Q> toUnit(QuantityType<Q> it, String cosemValue) throws ParseException {
+        final @Nullable QuantityType<Q> qt = it.toUnit(unit);
+
+        if (qt == null) {
+            throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
+        }
+        return qt;
+    }
+
+    /**
+     * Parses the raw bytes of a value with a unit. The number is parsed directly from the bytes when the unit text is
+     * the same as that of a previous value, otherwise the value is parsed as string and the unit text is remembered.
+     */
+    @Override
+    protected QuantityType<Q> getStateValue(byte[] data, int offset, int length) throws ParseException {
+        final int end = offset + length;
+        int numberEnd = offset;
+
+        while (numberEnd < end && ((data[numberEnd] >= '0' && data[numberEnd] <= '9') || data[numberEnd] == '.')) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd;
+
+        if (unitStart < end && (data[unitStart] == '*' || data[unitStart] == '_')) {
+            unitStart++;
+        }
+        if (numberEnd == offset || unitStart == end || !Character.isLetter(data[unitStart] & 0xFF)) {
+            // Not a plain number followed by a unit, leave the quirks to the string parser
+            return super.getStateValue(data, offset, length);
+        }
+        final @Nullable BigDecimal value = parseDecimal(data, offset, numberEnd - offset);
+        final @Nullable ParsedUnit<Q> parsedUnit = this.parsedUnit;
+
+        if (value != null && parsedUnit != null && parsedUnit.matches(data, unitStart, end)) {
+            final @Nullable QuantityType<Q> qt = new QuantityType<>(value, parsedUnit.unit).toUnit(unit);
+
+            if (qt != null) {
+                return qt;
+            }
+        }
+        final String cosemValue = new String(data, offset, length, StandardCharsets.ISO_8859_1);
+        final QuantityType<Q> it = parse(cosemValue);
+
+        if (value != null) {
+            this.parsedUnit = new ParsedUnit<>(Arrays.copyOfRange(data, unitStart, end), it.getUnit());
+        }
+        return toUnit(it, cosemValue);
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
@@ -137,4 +193,10 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
             return matcher.group(1) + ' ' + matcher.group(2);
         }
     }
+
+    private record ParsedUnit<Q extends @Nullable Quantity<Q>>(byte[] text, Unit<Q> unit) {
+        boolean matches(byte[] data, int from, int to) {
+            return Arrays.equals(text, 0, text.length, data, from, to);
+        }
+    }
 }
@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.types.State;
 
 /**
@@ -25,6 +28,11 @@ import org.openhab.core.types.State;
 @NonNullByDefault
 abstract class CosemValueDescriptor<S extends State> {
 
+    /**
+     * Maximum number of digits that fit in the unscaled long value of a parsed decimal.
+     */
+    private static final int MAX_DECIMAL_DIGITS = 18;
+
     /**
      * String describing the channel on which this value descriptor is available.
      */
@@ -55,6 +63,53 @@ abstract class CosemValueDescriptor<S extends State> {
      */
     protected abstract S getStateValue(String cosemValue) throws ParseException;
 
+    /**
+     * Parses the raw bytes of a value to the {@link State} value. Descriptors of numeric values override this to parse
+     * the bytes directly, others parse the value as string.
+     *
+     * @param data buffer containing the Cosem value
+     * @param offset start of the Cosem value in the buffer
+     * @param length length of the Cosem value
+     * @return S the {@link State} object instance of the Cosem value
+     * @throws ParseException if parsing failed
+     */
+    protected S getStateValue(byte[] data, int offset, int length) throws ParseException {
+        return getStateValue(new String(data, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Parses a plain decimal number (digits with an optional decimal point) without creating intermediate strings.
+     *
+     * @param data buffer containing the number
+     * @param offset start of the number in the buffer
+     * @param length length of the number
+     * @return the number or null if it isn't a plain decimal number
+     */
+    protected static @Nullable BigDecimal parseDecimal(byte[] data, int offset, int length) {
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+
+        for (int i = offset; i < offset + length; i++) {
+            final byte b = data[i];
+
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_DECIMAL_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        return digits == 0 ? null : BigDecimal.valueOf(unscaled, Math.max(scale, 0));
+    }
+
     /**
      * Returns the channel id for this {@link CosemValueDescriptor}
      *
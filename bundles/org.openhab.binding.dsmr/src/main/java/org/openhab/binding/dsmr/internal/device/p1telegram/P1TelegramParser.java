@@ -15,11 +15,11 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRErrorStatus;
@@ -61,33 +61,53 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal characters of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the buffers, they grow when a telegram doesn't fit
+     */
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+
+    /**
+     * Number of ints per cosem object in {@link #cosemObjects}: data offset, OBIS id length and values length
+     */
+    private static final int COSEM_ENTRY_SIZE = 3;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /* internal state variables */
 
     /**
-     * current obisId buffer.
+     * Bytes of the OBIS ids and values of the cosem objects of the current telegram. Each cosem object is stored as the
+     * OBIS id directly followed by the values.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] cosemData = new byte[INITIAL_BUFFER_SIZE];
+    private int cosemDataLength;
 
     /**
-     * Current cosem object values buffer.
+     * Start of the current cosem object in {@link #cosemData}.
      */
-    private final StringBuilder obisValue = new StringBuilder();
+    private int obisStart;
+
+    /**
+     * Length of the OBIS id of the current cosem object, set once the values start.
+     */
+    private int obisIdLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
      */
-    private final StringBuilder rawData = new StringBuilder();
+    private byte[] rawData = new byte[0];
+    private int rawDataLength;
 
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+    private int crcValueLength;
+    private boolean crcValueValid = true;
 
     /**
      * CRC calculation helper
@@ -115,9 +135,10 @@ public class P1TelegramParser implements TelegramParser {
     private final CosemObjectFactory factory;
 
     /**
-     * Received Cosem Objects in the P1Telegram that is currently received
+     * Received Cosem Objects in the P1Telegram that is currently received, as positions in {@link #cosemData}
      */
-    private final List<Entry<String, String>> cosemObjects = new ArrayList<>();
+    private int[] cosemObjects = new int[COSEM_ENTRY_SIZE * 64];
+    private int cosemObjectsCount;
 
     /**
      * List of Cosem Object values that are not known to this binding.
@@ -161,15 +182,14 @@ public class P1TelegramParser implements TelegramParser {
      */
     @Override
     public void parse(final byte[] data, final int length) {
-        if (lenientMode || logger.isTraceEnabled()) {
-            final String rawBlock = new String(data, 0, length, StandardCharsets.UTF_8);
-
-            if (lenientMode) {
-                rawData.append(rawBlock);
-            }
-            if (logger.isTraceEnabled()) {
-                logger.trace("Raw data: {}, Parser state entering parseData: {}", rawBlock, state);
-            }
+        if (lenientMode) {
+            rawData = ensureCapacity(rawData, rawDataLength + length);
+            System.arraycopy(data, 0, rawData, rawDataLength, length);
+            rawDataLength += length;
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Raw data: {}, Parser state entering parseData: {}",
+                    new String(data, 0, length, StandardCharsets.UTF_8), state);
         }
         for (int i = 0; i < length; i++) {
             final char c = (char) data[i];
@@ -253,10 +273,13 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    String.format("%04X", crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
 
-                        if (telegramState.isEmpty() && crcValue.length() > 0) {
+                        if (telegramState.isEmpty() && crcValueLength > 0) {
                             telegramState = checkCRC();
                         }
                         processTelegram();
@@ -280,18 +303,18 @@ public class P1TelegramParser implements TelegramParser {
     private Optional<DSMRErrorStatus> checkCRC() {
         final Optional<DSMRErrorStatus> telegramState;
 
-        if (Pattern.matches(CRC_PATTERN, crcValue)) {
-            final int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+        if (crcValueValid && crcValueLength == CRC_LENGTH) {
+            final int crcP1Telegram = crcValue;
             final int calculatedCRC = crc.getCurrentCRCCode();
 
-            if (logger.isDebugEnabled()) {
-                logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
+            if (logger.isTraceEnabled()) {
+                logger.trace("received CRC value: {}, calculated CRC value: 0x{}", String.format("%04X", crcP1Telegram),
                         String.format("%04X", calculatedCRC));
             }
             if (crcP1Telegram != calculatedCRC) {
                 if (test) {
                     throw new IllegalArgumentException(
-                            String.format("Invalid CRC. Read: %s, expected: %04X", crcValue, calculatedCRC));
+                            String.format("Invalid CRC. Read: %04X, expected: %04X", crcP1Telegram, calculatedCRC));
                 }
                 logger.trace("CRC value does not match, p1 Telegram failed");
 
@@ -311,25 +334,30 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     private P1Telegram constructTelegram() {
-        final List<CosemObject> cosemObjectsCopy = new ArrayList<>();
+        final List<CosemObject> cosemObjectsCopy = new ArrayList<>(cosemObjectsCount);
 
-        cosemObjects.stream().forEach(e -> addCosemObject(cosemObjectsCopy, e));
+        for (int i = 0; i < cosemObjectsCount * COSEM_ENTRY_SIZE; i += COSEM_ENTRY_SIZE) {
+            addCosemObject(cosemObjectsCopy, cosemObjects[i], cosemObjects[i + 1], cosemObjects[i + 2]);
+        }
         if (lenientMode) {
-            return new P1Telegram(cosemObjectsCopy, rawData.toString(),
+            return new P1Telegram(cosemObjectsCopy, new String(rawData, 0, rawDataLength, StandardCharsets.UTF_8),
                     unknownCosemObjects.isEmpty() ? Collections.emptyList() : new ArrayList<>(unknownCosemObjects));
         } else {
             return new P1Telegram(cosemObjectsCopy);
         }
     }
 
-    private void addCosemObject(final List<CosemObject> objects, final Entry<String, String> cosemEntry) {
-        final String obisIdString = cosemEntry.getKey();
-        final String obisValueString = cosemEntry.getValue();
-        final CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
+    private void addCosemObject(final List<CosemObject> objects, final int offset, final int idLength,
+            final int valuesLength) {
+        final int valuesOffset = offset + idLength;
+        final CosemObject cosemObject = factory.getCosemObject(cosemData, offset, idLength, cosemData, valuesOffset,
+                valuesLength);
 
         if (cosemObject == null) {
             if (lenientMode) {
-                unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                unknownCosemObjects.add(new SimpleEntry<>(
+                        new String(cosemData, offset, idLength, StandardCharsets.ISO_8859_1),
+                        new String(cosemData, valuesOffset, valuesLength, StandardCharsets.ISO_8859_1)));
             }
         } else {
             logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -371,22 +399,19 @@ public class P1TelegramParser implements TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE:
-                obisValue.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE_END:
-                obisValue.append(c);
+                if (cosemDataLength == cosemData.length) {
+                    cosemData = ensureCapacity(cosemData, cosemDataLength + 1);
+                }
+                cosemData[cosemDataLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -395,16 +420,35 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Adds a character of the CRC value. The CRC value consists of uppercase hexadecimal characters.
+     *
+     * @param c the character to add
+     */
+    private void appendCrcCharacter(final char c) {
+        if (c >= '0' && c <= '9') {
+            crcValue = (crcValue << 4) | (c - '0');
+        } else if (c >= 'A' && c <= 'F') {
+            crcValue = (crcValue << 4) | (c - 'A' + 10);
+        } else {
+            crcValueValid = false;
+        }
+        crcValueLength++;
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
-        rawData.setLength(0);
-        crcValue.setLength(0);
+        cosemDataLength = 0;
+        obisStart = 0;
+        obisIdLength = 0;
+        rawDataLength = 0;
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueValid = true;
         crc.initialize();
-        cosemObjects.clear();
+        cosemObjectsCount = 0;
         unknownCosemObjects.clear();
     }
 
@@ -414,20 +458,34 @@ public class P1TelegramParser implements TelegramParser {
      * - current OBIS value
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
+        cosemDataLength = obisStart;
+        obisIdLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        final String obisIdString = obisId.toString();
+        if (obisIdLength > 0) {
+            final int index = cosemObjectsCount * COSEM_ENTRY_SIZE;
 
-        if (!obisIdString.isEmpty()) {
-            cosemObjects.add(new SimpleEntry<>(obisIdString, obisValue.toString()));
+            if (index == cosemObjects.length) {
+                cosemObjects = Arrays.copyOf(cosemObjects, cosemObjects.length * 2);
+            }
+            cosemObjects[index] = obisStart;
+            cosemObjects[index + 1] = obisIdLength;
+            cosemObjects[index + 2] = cosemDataLength - obisStart - obisIdLength;
+            cosemObjectsCount++;
+            obisStart = cosemDataLength;
+            obisIdLength = 0;
+        } else {
+            clearObisData();
         }
-        clearObisData();
+    }
+
+    private static byte[] ensureCapacity(final byte[] buffer, final int capacity) {
+        return capacity <= buffer.length ? buffer
+                : Arrays.copyOf(buffer, Math.max(capacity, Math.max(buffer.length * 2, INITIAL_BUFFER_SIZE)));
     }
 
     /**
@@ -451,6 +509,12 @@ public class P1TelegramParser implements TelegramParser {
                         storeCurrentCosemObject();
                     }
                     break;
+                case DATA_OBIS_VALUE:
+                    // The OBIS id ends where the first value starts
+                    if (state == State.DATA_OBIS_ID) {
+                        obisIdLength = cosemDataLength - obisStart;
+                    }
+                    break;
                 case CRC_VALUE:
                     storeCurrentCosemObject();
                     break;
@@ -13,7 +13,9 @@
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -21,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.connector.DSMRErrorStatus;
 
 /**
  * Test class for {@link P1TelegramParser}.
@@ -30,6 +33,8 @@ import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
 @NonNullByDefault
 public class P1TelegramParserTest {
 
+    private static final int REPLAY_ROUNDS = 50;
+
     // @formatter:off
     public static List<Object[]> data() {
         return Arrays.asList(new Object[][] {
@@ -61,4 +66,47 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    /**
+     * Replays a recorded telegram many times through the same parser, in blocks of different sizes as received from a
+     * serial port, and checks each telegram gives the same result as parsing it once.
+     */
+    @ParameterizedTest
+    @MethodSource("data")
+    public void testReplayParsing(final String telegramName, final int numberOfCosemObjects,
+            final int unknownObjects) {
+        final byte[] data = TelegramReaderUtil.readRawTelegram(telegramName);
+        final List<List<Object>> expected = cosemValues(TelegramReaderUtil.readTelegram(telegramName));
+        final List<P1Telegram> telegrams = new ArrayList<>();
+        final P1TelegramParser parser = new P1TelegramParser(new P1TelegramListener() {
+            @Override
+            public void telegramReceived(final P1Telegram telegram) {
+                telegrams.add(telegram);
+            }
+
+            @Override
+            public void onError(final DSMRErrorStatus state, final String error) {
+                fail("Unexpected error " + state + " replaying " + telegramName);
+            }
+        }, true);
+
+        parser.setLenientMode(true);
+        for (int round = 1; round <= REPLAY_ROUNDS; round++) {
+            for (int offset = 0; offset < data.length; offset += round) {
+                final byte[] block = Arrays.copyOfRange(data, offset, Math.min(offset + round, data.length));
+
+                parser.parse(block, block.length);
+            }
+        }
+        assertEquals(REPLAY_ROUNDS, telegrams.size(), "Expected number of telegrams");
+        for (final P1Telegram telegram : telegrams) {
+            assertEquals(expected, cosemValues(telegram));
+            assertEquals(unknownObjects, telegram.getUnknownCosemObjects().size());
+        }
+    }
+
+    private static List<List<Object>> cosemValues(final P1Telegram telegram) {
+        return telegram.getCosemObjects().stream()
+                .map(co -> List.<Object> of(co.getType(), co.getObisIdentifier(), co.getCosemValues())).toList();
+    }
 }
@@ -13,9 +13,15 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -35,6 +41,10 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
  * the request creation
+ * <p>
+ * Each host has its own token bucket, which is refilled with one token per delay and holds up to burst tokens, and
+ * optionally a limit of concurrent requests. Queued requests are created as soon as a token is available, priority
+ * requests first, all other requests taking turns between the different URLs.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -45,12 +55,11 @@ public class RateLimitedHttpClient {
 
     private HttpClient httpClient;
     private int delay = 0; // in ms
+    private int burst = 1;
+    private int concurrency = 0; // 0 = unlimited
     private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
-    private final LinkedBlockingQueue<RequestQueueEntry> priorityRequestQueue = new LinkedBlockingQueue<>(
-            MAX_QUEUE_SIZE);
-
-    private @Nullable ScheduledFuture<?> processJob;
+    private final Map<String, HostQueue> hostQueues = new HashMap<>();
+    private int queueSize = 0;
 
     public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
         this.httpClient = httpClient;
@@ -61,8 +70,13 @@ public class RateLimitedHttpClient {
      * Stop processing the queue and clear it
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(RequestQueueEntry::cancel);
+        List<RequestQueueEntry> cancelled = new ArrayList<>();
+        synchronized (this) {
+            hostQueues.values().forEach(hostQueue -> hostQueue.clear(cancelled));
+            hostQueues.clear();
+            queueSize = 0;
+        }
+        cancelled.forEach(RequestQueueEntry::cancel);
     }
 
     /**
@@ -75,10 +89,33 @@ public class RateLimitedHttpClient {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+        dispatchAll();
+    }
+
+    /**
+     * Set the number of requests to a host that can be sent without delay after the host was idle
+     *
+     * @param burst number of requests (at least 1)
+     */
+    public void setBurst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst needs to be larger than zero");
+        }
+        this.burst = burst;
+        dispatchAll();
+    }
+
+    /**
+     * Set the maximum number of concurrent requests to a host
+     *
+     * @param concurrency number of requests, 0 for no limit
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Concurrency needs to be larger or equal to zero");
         }
+        this.concurrency = concurrency;
+        dispatchAll();
     }
 
     /**
@@ -100,7 +137,7 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, requestQueue);
+        return queueRequest(finalUrl, method, content, contentType, false);
     }
 
     /**
@@ -113,22 +150,30 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newPriorityRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, priorityRequestQueue);
+        return queueRequest(finalUrl, method, content, contentType, true);
     }
 
     private CompletableFuture<Request> queueRequest(URI finalUrl, HttpMethod method, String content,
-            @Nullable String contentType, LinkedBlockingQueue<RequestQueueEntry> queue) {
-        // if no delay is set, return a completed CompletableFuture
+            @Nullable String contentType, boolean priority) {
         CompletableFuture<Request> future = new CompletableFuture<>();
         RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, contentType, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
-        } else {
-            if (!queue.offer(queueEntry)) {
+        // if no limit is set, return a completed CompletableFuture
+        if (delay == 0 && concurrency == 0) {
+            queueEntry.completeFuture(httpClient, null);
+            return future;
+        }
+        HostQueue hostQueue;
+        synchronized (this) {
+            if (queueSize >= MAX_QUEUE_SIZE) {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+                return future;
             }
-
+            String host = finalUrl.getHost() + ":" + finalUrl.getPort();
+            hostQueue = hostQueues.computeIfAbsent(host, HostQueue::new);
+            hostQueue.add(queueEntry, priority);
+            queueSize++;
         }
+        dispatch(hostQueue);
         return future;
     }
 
@@ -160,29 +205,131 @@ public class RateLimitedHttpClient {
         }
     }
 
-    private void stopProcessJob() {
-        ScheduledFuture<?> processJob = this.processJob;
-        if (processJob != null) {
-            processJob.cancel(false);
-            this.processJob = null;
+    private void dispatchAll() {
+        List<HostQueue> queues;
+        synchronized (this) {
+            queues = new ArrayList<>(hostQueues.values());
         }
+        queues.forEach(this::dispatch);
     }
 
     /**
-     * Gets a request from either the priority queue or tge regular queue and creates the request
+     * Creates the requests of a host as long as tokens are available and the concurrency limit is not reached.
+     * If requests are left, a new dispatch is scheduled for the time the next token is available.
      */
-    private void processQueue() {
-        RequestQueueEntry queueEntry = priorityRequestQueue.poll();
-        if (queueEntry == null) {
-            // no entry in priorityRequestQueue, try the regular queue
-            queueEntry = requestQueue.poll();
+    private void dispatch(HostQueue hostQueue) {
+        List<RequestQueueEntry> ready = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            hostQueue.refill(now);
+            while (hostQueue.hasQueued() && (concurrency == 0 || hostQueue.inFlight < concurrency)) {
+                if (delay > 0 && hostQueue.tokens < 1) {
+                    long waitNanos = (long) ((1 - hostQueue.tokens) * TimeUnit.MILLISECONDS.toNanos(delay));
+                    hostQueue.scheduleDispatch(waitNanos);
+                    break;
+                }
+                ready.add(hostQueue.poll());
+                queueSize--;
+                if (delay > 0) {
+                    hostQueue.tokens--;
+                }
+                if (concurrency > 0) {
+                    hostQueue.inFlight++;
+                }
+            }
+        }
+        boolean limitConcurrency = concurrency > 0;
+        for (RequestQueueEntry queueEntry : ready) {
+            queueEntry.completeFuture(httpClient, limitConcurrency ? hostQueue : null);
         }
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
+    }
+
+    private void requestCompleted(HostQueue hostQueue) {
+        synchronized (this) {
+            hostQueue.inFlight = Math.max(0, hostQueue.inFlight - 1);
         }
+        dispatch(hostQueue);
     }
 
-    private static class RequestQueueEntry {
+    /**
+     * The queues and the token bucket of a single host
+     */
+    private class HostQueue {
+        private final String host;
+        private final Deque<RequestQueueEntry> priorityQueue = new ArrayDeque<>();
+        // one queue per URL, the URL taking its turn is always the first one
+        private final Map<String, Deque<RequestQueueEntry>> urlQueues = new LinkedHashMap<>();
+        private double tokens = burst;
+        private long lastRefill = System.nanoTime();
+        private int inFlight = 0;
+        private @Nullable ScheduledFuture<?> dispatchJob;
+
+        public HostQueue(String host) {
+            this.host = host;
+        }
+
+        public void add(RequestQueueEntry queueEntry, boolean priority) {
+            if (priority) {
+                priorityQueue.add(queueEntry);
+            } else {
+                urlQueues.computeIfAbsent(queueEntry.finalUrl.toString(), url -> new ArrayDeque<>()).add(queueEntry);
+            }
+        }
+
+        public boolean hasQueued() {
+            return !priorityQueue.isEmpty() || !urlQueues.isEmpty();
+        }
+
+        public RequestQueueEntry poll() {
+            RequestQueueEntry queueEntry = priorityQueue.poll();
+            if (queueEntry != null) {
+                return queueEntry;
+            }
+            // take the first request of the first URL and move the URL to the end of the line
+            Map.Entry<String, Deque<RequestQueueEntry>> urlQueue = urlQueues.entrySet().iterator().next();
+            urlQueues.remove(urlQueue.getKey());
+            queueEntry = urlQueue.getValue().remove();
+            if (!urlQueue.getValue().isEmpty()) {
+                urlQueues.put(urlQueue.getKey(), urlQueue.getValue());
+            }
+            return queueEntry;
+        }
+
+        public void refill(long now) {
+            if (delay > 0) {
+                tokens = Math.min(burst, tokens + (double) (now - lastRefill) / TimeUnit.MILLISECONDS.toNanos(delay));
+            } else {
+                tokens = burst;
+            }
+            lastRefill = now;
+        }
+
+        public void scheduleDispatch(long waitNanos) {
+            if (dispatchJob == null) {
+                logger.trace("Delaying requests to '{}' for {} ms", host, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                dispatchJob = scheduler.schedule(() -> {
+                    synchronized (RateLimitedHttpClient.this) {
+                        dispatchJob = null;
+                    }
+                    dispatch(this);
+                }, waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void clear(List<RequestQueueEntry> cancelled) {
+            ScheduledFuture<?> dispatchJob = this.dispatchJob;
+            if (dispatchJob != null) {
+                dispatchJob.cancel(false);
+                this.dispatchJob = null;
+            }
+            cancelled.addAll(priorityQueue);
+            urlQueues.values().forEach(cancelled::addAll);
+            priorityQueue.clear();
+            urlQueues.clear();
+        }
+    }
+
+    private class RequestQueueEntry {
         private final URI finalUrl;
         private final HttpMethod method;
         private final String content;
@@ -202,9 +349,13 @@ public class RateLimitedHttpClient {
          * complete the future with a request
          *
          * @param httpClient the client to create the request
+         * @param hostQueue the queue to notify when the request is completed, null if concurrency is not limited
          */
-        public void completeFuture(HttpClient httpClient) {
+        public void completeFuture(HttpClient httpClient, @Nullable HostQueue hostQueue) {
             Request request = httpClient.newRequest(finalUrl).method(method);
+            if (hostQueue != null) {
+                request.onComplete(result -> requestCompleted(hostQueue));
+            }
             if ((method == HttpMethod.POST || method == HttpMethod.PUT) && !content.isEmpty()) {
                 if (contentType == null) {
                     request.content(new StringContentProvider(content));
@@ -212,7 +363,10 @@ public class RateLimitedHttpClient {
                     request.content(new StringContentProvider(content), contentType);
                 }
             }
-            future.complete(request);
+            if (!future.complete(request) && hostQueue != null) {
+                // the request was cancelled and will never be sent
+                requestCompleted(hostQueue);
+            }
         }
 
         /**
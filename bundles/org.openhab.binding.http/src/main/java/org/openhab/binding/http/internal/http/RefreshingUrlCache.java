@@ -15,8 +15,11 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -25,11 +28,17 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
@@ -58,9 +67,75 @@ public class RefreshingUrlCache {
     private final String httpContent;
     private final @Nullable String httpContentType;
     private final HttpStatusListener httpStatusListener;
+    private final boolean skipUnchanged;
+    private final Statistics statistics = new Statistics();
 
     private @Nullable ScheduledFuture<?> future;
     private @Nullable ChannelHandlerContent lastContent;
+    private volatile @Nullable String eTag;
+    private volatile @Nullable String lastModified;
+
+    /**
+     * Request statistics of a single URL.
+     */
+    public static class Statistics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder unchanged = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder receivedBytes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, int bytes) {
+            requests.increment();
+            receivedBytes.add(bytes);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        /**
+         * @return the number of requests answered with 304 (Not Modified)
+         */
+        public long getNotModified() {
+            return notModified.sum();
+        }
+
+        /**
+         * @return the number of responses with the same content as the previous response
+         */
+        public long getUnchanged() {
+            return unchanged.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getReceivedBytes() {
+            return receivedBytes.sum();
+        }
+
+        public Duration getMaxDuration() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        public Duration getAverageDuration() {
+            long count = getRequests();
+            return Duration.ofNanos(count == 0 ? 0 : totalNanos.sum() / count);
+        }
+
+        @Override
+        public String toString() {
+            return "requests=" + getRequests() + ", notModified=" + getNotModified() + ", unchanged="
+                    + getUnchanged() + ", failed=" + getFailed() + ", bytes=" + getReceivedBytes() + ", avg="
+                    + getAverageDuration().toMillis() + "ms, max=" + getMaxDuration().toMillis() + "ms";
+        }
+    }
 
     public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
             String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
@@ -74,6 +149,7 @@ public class RefreshingUrlCache {
         this.httpContent = httpContent;
         this.httpContentType = httpContentType;
         this.httpStatusListener = httpStatusListener;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         fallbackEncoding = thingConfig.encoding;
     }
 
@@ -93,6 +169,7 @@ public class RefreshingUrlCache {
         if (future != null) {
             future.cancel(true);
             logger.trace("Stopped refresh task for URL '{}'", url);
+            logger.debug("Statistics for URL '{}': {}", url, statistics);
         }
     }
 
@@ -114,9 +191,21 @@ public class RefreshingUrlCache {
             httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
                 headers.forEach(request::header);
+                if (skipUnchanged && httpMethod == HttpMethod.GET) {
+                    addConditionalHeaders(request);
+                }
 
+                long start = System.nanoTime();
                 CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                responseContentFuture.exceptionally(t -> {
+                responseContentFuture.whenComplete((content, t) -> {
+                    long nanos = System.nanoTime() - start;
+                    if (t instanceof HttpNotModifiedException) {
+                        statistics.record(nanos, 0);
+                        statistics.notModified.increment();
+                        logger.trace("Content of '{}' not modified ({} ms)", uri, nanos / 1000000);
+                        return;
+                    }
+                    statistics.record(nanos, content != null ? content.getRawContent().length : 0);
                     if (t instanceof HttpAuthException) {
                         if (isRetry || !httpClient.reAuth(uri)) {
                             logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
@@ -125,8 +214,8 @@ public class RefreshingUrlCache {
                             refresh(true);
                         }
                     }
-                    return null;
-                }).thenAccept(this::processResult);
+                    processResult(t == null ? content : null);
+                });
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
@@ -147,6 +236,33 @@ public class RefreshingUrlCache {
         }
     }
 
+    /**
+     * Turns the request into a conditional request, if the last response had an ETag or Last-Modified header and
+     * its content is still cached.
+     */
+    private void addConditionalHeaders(Request request) {
+        String eTag = this.eTag;
+        String lastModified = this.lastModified;
+        if (lastContent != null) {
+            if (eTag != null) {
+                request.header(HttpHeader.IF_NONE_MATCH, eTag);
+            }
+            if (lastModified != null) {
+                request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+        request.onResponseHeaders(response -> {
+            if (response.getStatus() != HttpStatus.NOT_MODIFIED_304) {
+                storeValidators(response.getHeaders());
+            }
+        });
+    }
+
+    private void storeValidators(HttpFields responseHeaders) {
+        eTag = responseHeaders.get(HttpHeader.ETAG);
+        lastModified = responseHeaders.get(HttpHeader.LAST_MODIFIED);
+    }
+
     public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
         consumers.add(consumer);
     }
@@ -155,7 +271,19 @@ public class RefreshingUrlCache {
         return Optional.ofNullable(lastContent);
     }
 
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
     private void processResult(@Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (content == null) {
+            statistics.failed.increment();
+        } else if (skipUnchanged && lastContent != null && isSameContent(lastContent, content)) {
+            // nothing changed, the channels already have the values of this content
+            statistics.unchanged.increment();
+            return;
+        }
         if (content != null || strictErrorHandling) {
             for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
                 try {
@@ -165,6 +293,11 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+        this.lastContent = content;
+    }
+
+    private boolean isSameContent(ChannelHandlerContent lastContent, ChannelHandlerContent content) {
+        return Arrays.equals(lastContent.getRawContent(), content.getRawContent())
+                && Objects.equals(lastContent.getMediaType(), content.getMediaType());
     }
 }
@@ -99,11 +99,30 @@ public class RateLimitedHttpClientTest extends AbstractWireMockTest {
         assertThat((int) msBetween, allOf(greaterThanOrEqualTo(1000), lessThan(1100)));
     }
 
+    @Test
+    public void testWithLimitAndBurst() {
+        doLimitTest(500, 2, List.of(false, false, false));
+        assertEquals(0, responses.get(0).seqNumber);
+        assertEquals(1, responses.get(1).seqNumber);
+        assertEquals(2, responses.get(2).seqNumber);
+
+        // we expect the first two requests without delay and at least 500ms delay before the third request
+        long msBetween = responses.get(1).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(0), lessThan(100)));
+        msBetween = responses.get(2).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(400), lessThan(600)));
+    }
+
     private void doLimitTest(int setDelay, List<Boolean> config) {
+        doLimitTest(setDelay, 1, config);
+    }
+
+    private void doLimitTest(int setDelay, int setBurst, List<Boolean> config) {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
 
         RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         rateLimitedHttpClient.setDelay(setDelay);
+        rateLimitedHttpClient.setBurst(setBurst);
 
         URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
         int seqNumber = 0;
@@ -13,7 +13,9 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -111,6 +113,46 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
                 .allMatch(TEST_CONTENT::equals));
     }
 
+    @Test
+    public void testUnchangedContentIsSkipped() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.skipUnchanged = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait until we got at least three responses
+        verify(statusListener, timeout(4000).atLeast(3)).onHttpSuccess();
+        urlCache.stop();
+
+        // assert the consumer was only called for the first response
+        assertEquals(1, contentWrappers.size());
+        assertEquals(TEST_CONTENT, Objects.requireNonNull(contentWrappers.get(0)).getAsString());
+        assertTrue(urlCache.getStatistics().getUnchanged() >= 2);
+    }
+
+    @Test
+    public void testConditionalRequestWithETag() {
+        String eTag = "\"v1\"";
+        stubFor(get(urlEqualTo(TEST_LOCATION)).atPriority(2)
+                .willReturn(aResponse().withHeader("ETag", eTag).withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).atPriority(1).withHeader("If-None-Match", equalTo(eTag))
+                .willReturn(aResponse().withStatus(304)));
+        thingConfig.skipUnchanged = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait until we got at least three responses
+        verify(statusListener, timeout(4000).atLeast(3)).onHttpSuccess();
+        urlCache.stop();
+
+        // assert the content was only requested once and the consumer was only called once
+        wireMockServer.verify(getRequestedFor(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo(eTag)));
+        verify(statusListener, never()).onHttpError(any());
+        assertEquals(1, contentWrappers.size());
+        assertTrue(urlCache.getStatistics().getNotModified() >= 2);
+        assertTrue(urlCache.get().isPresent());
+    }
+
     @Test
     public void testNoUpdateOn404ErrorInNormalMode() {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withStatus(404)));
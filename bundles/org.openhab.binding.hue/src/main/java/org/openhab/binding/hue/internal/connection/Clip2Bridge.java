@@ -25,6 +25,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -91,8 +92,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -905,13 +908,17 @@ public class Clip2Bridge implements Closeable {
             LOGGER.debug("onEventData() invalid data '{}'", data, e);
             return;
         }
-        if (!(jsonElement instanceof JsonArray)) {
+        if (!(jsonElement instanceof JsonArray jsonArray)) {
             LOGGER.debug("onEventData() data is not a JsonArray {}", data);
             return;
         }
+        int skipped = removeUnsubscribedResources(jsonArray);
+        if (skipped > 0) {
+            LOGGER.debug("onEventData() skipped {} resources of unsubscribed types", skipped);
+        }
         List<Event> events;
         try {
-            events = jsonParser.fromJson(jsonElement, Event.EVENT_LIST_TYPE);
+            events = jsonParser.fromJson(jsonArray, Event.EVENT_LIST_TYPE);
         } catch (JsonParseException e) {
             LOGGER.debug("onEventData() parsing error json:{}", data, e);
             return;
@@ -933,6 +940,31 @@ public class Clip2Bridge implements Closeable {
         bridgeHandler.onResourcesEvent(resources);
     }
 
+    /**
+     * Remove the resources of types that neither the bridge handler nor any of its thing handlers consume from the
+     * 'data' arrays of the events, before the events are deserialized.
+     *
+     * @param events the JSON array of events.
+     * @return the number of resources removed.
+     */
+    int removeUnsubscribedResources(JsonArray events) {
+        int removed = 0;
+        for (JsonElement event : events) {
+            if (event instanceof JsonObject eventObject && eventObject.get("data") instanceof JsonArray resources) {
+                Iterator<JsonElement> iterator = resources.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next() instanceof JsonObject resource
+                            && resource.get("type") instanceof JsonPrimitive type && type.isString()
+                            && !bridgeHandler.isSubscribedType(type.getAsString())) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
     /**
      * Open the HTTP 2 session and the event stream.
      *
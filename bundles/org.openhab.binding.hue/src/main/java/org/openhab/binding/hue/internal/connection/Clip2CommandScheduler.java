@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.api.serialization.InstantDeserializer;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.binding.hue.internal.exceptions.AssetNotLoadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * The {@link Clip2CommandScheduler} queues the resources to be PUT on a Hue bridge, and sends them one after the other.
+ * <p>
+ * Commands that arrive within {@link #COALESCE_WINDOW_MILLISECS} of each other, or while earlier commands are still
+ * being sent, are handled as a batch:
+ * <ul>
+ * <li>A command is dropped if a later command for the same resource sets at least the same fields; the caller of the
+ * dropped command receives the result of the later one.</li>
+ * <li>If the batch switches or dims every light of a room or zone to the same value, and does nothing else with those
+ * lights, the light commands are replaced by a single command to the 'grouped_light' resource of the room or zone.
+ * </li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2CommandScheduler {
+
+    /**
+     * Sends a resource to the bridge.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        Resources putResource(Resource resource) throws ApiException, AssetNotLoadedException, InterruptedException;
+    }
+
+    private static final int COALESCE_WINDOW_MILLISECS = 50;
+
+    // the fields of a light command that a grouped light command can take over
+    private static final Set<String> GROUPED_LIGHT_FIELDS = Set.of("on", "dimming");
+    private static final Set<String> NON_PAYLOAD_FIELDS = Set.of("id", "type");
+    private static final Set<ResourceType> GROUP_TYPES = Set.of(ResourceType.ROOM, ResourceType.ZONE,
+            ResourceType.BRIDGE_HOME);
+
+    private final Logger logger = LoggerFactory.getLogger(Clip2CommandScheduler.class);
+
+    private final Gson jsonParser = new GsonBuilder().registerTypeAdapter(Instant.class, new InstantDeserializer())
+            .create();
+    private final ScheduledExecutorService scheduler;
+    private final Sender sender;
+
+    private final List<Command> queue = new ArrayList<>();
+    private final Map<String, Command> queuedByResource = new HashMap<>();
+    private boolean drainScheduled = false;
+    private boolean disposed = false;
+
+    private final Map<ResourceType, List<Resource>> groupResources = new HashMap<>();
+    private List<Group> groups = List.of();
+
+    // statistics
+    private int maxQueueDepth;
+    private long commandCount;
+    private long coalescedCount;
+    private long groupedCount;
+    private long putCount;
+    private long completedCount;
+    private long totalLatencyMillis;
+    private long maxLatencyMillis;
+
+    /**
+     * A resource to be sent, and the callers waiting for its result.
+     */
+    private static class Command {
+        private Resource resource;
+        private JsonObject payload;
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        private Command(Resource resource, JsonObject payload) {
+            this.resource = resource;
+            this.payload = payload;
+        }
+    }
+
+    private record Waiter(CompletableFuture<Resources> future, Instant submitted) {
+    }
+
+    /**
+     * A room or zone, with the id of its grouped light and the ids of all its lights.
+     */
+    private record Group(String groupedLightId, Set<String> lightIds) {
+    }
+
+    public Clip2CommandScheduler(ScheduledExecutorService scheduler, Sender sender) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+    }
+
+    /**
+     * Queue a resource to be sent to the bridge, and wait until it has been sent.
+     *
+     * @param resource the resource to put.
+     * @return the resource, which may contain errors.
+     * @throws ApiException if a communication error occurred.
+     * @throws AssetNotLoadedException if one of the assets is not loaded.
+     * @throws InterruptedException
+     */
+    public Resources putResource(Resource resource) throws ApiException, AssetNotLoadedException, InterruptedException {
+        CompletableFuture<Resources> future = submit(resource);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException apiException) {
+                throw apiException;
+            } else if (cause instanceof AssetNotLoadedException assetNotLoadedException) {
+                throw assetNotLoadedException;
+            } else if (cause instanceof InterruptedException interruptedException) {
+                throw interruptedException;
+            }
+            throw new ApiException("Error sending PUT request", cause);
+        }
+    }
+
+    private synchronized CompletableFuture<Resources> submit(Resource resource) {
+        CompletableFuture<Resources> future = new CompletableFuture<>();
+        if (disposed) {
+            future.completeExceptionally(new AssetNotLoadedException("Command scheduler disposed"));
+            return future;
+        }
+        commandCount++;
+        Waiter waiter = new Waiter(future, Instant.now());
+        String key = resource.getType().name() + "/" + resource.getId();
+        JsonObject payload = getPayload(resource);
+        Command queued = queuedByResource.get(key);
+        if (Objects.nonNull(queued) && payload.keySet().containsAll(queued.payload.keySet())) {
+            logger.debug("submit() {} supersedes {}", resource, queued.resource);
+            queued.resource = resource;
+            queued.payload = payload;
+            queued.waiters.add(waiter);
+            coalescedCount++;
+        } else {
+            Command command = new Command(resource, payload);
+            command.waiters.add(waiter);
+            queue.add(command);
+            queuedByResource.put(key, command);
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        }
+        if (!drainScheduled) {
+            drainScheduled = true;
+            scheduler.schedule(this::drain, COALESCE_WINDOW_MILLISECS, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Send all queued commands, including those queued while sending.
+     */
+    private void drain() {
+        while (true) {
+            List<Command> batch;
+            synchronized (this) {
+                if (queue.isEmpty() || disposed) {
+                    drainScheduled = false;
+                    return;
+                }
+                batch = groupLightCommands(new ArrayList<>(queue));
+                queue.clear();
+                queuedByResource.clear();
+            }
+            for (Command command : batch) {
+                send(command);
+            }
+        }
+    }
+
+    private void send(Command command) {
+        Resources result = null;
+        Exception exception = null;
+        try {
+            result = sender.putResource(command.resource);
+        } catch (ApiException | AssetNotLoadedException | RuntimeException e) {
+            exception = e;
+        } catch (InterruptedException e) {
+            exception = e;
+            Thread.currentThread().interrupt();
+        }
+        Instant now = Instant.now();
+        synchronized (this) {
+            putCount++;
+            completedCount += command.waiters.size();
+            for (Waiter waiter : command.waiters) {
+                long latency = Duration.between(waiter.submitted, now).toMillis();
+                totalLatencyMillis += latency;
+                maxLatencyMillis = Math.max(maxLatencyMillis, latency);
+            }
+        }
+        for (Waiter waiter : command.waiters) {
+            if (Objects.nonNull(result)) {
+                waiter.future.complete(result);
+            } else {
+                waiter.future.completeExceptionally(Objects.requireNonNull(exception));
+            }
+        }
+    }
+
+    /**
+     * Replace the commands to all lights of a room or zone by a single grouped light command, if all those commands
+     * have the same on/dimming payload.
+     *
+     * @param batch the queued commands.
+     * @return the commands to send.
+     */
+    private List<Command> groupLightCommands(List<Command> batch) {
+        if (groups.isEmpty()) {
+            return batch;
+        }
+        Map<String, Command> lightCommands = new HashMap<>();
+        Set<String> otherLightIds = new HashSet<>();
+        for (Command command : batch) {
+            if (ResourceType.LIGHT == command.resource.getType()) {
+                Set<String> fields = command.payload.keySet();
+                String lightId = command.resource.getId();
+                // a light with several commands in the batch keeps them, so that they are sent in order
+                if (fields.isEmpty() || !GROUPED_LIGHT_FIELDS.containsAll(fields)
+                        || Objects.nonNull(lightCommands.put(lightId, command))) {
+                    otherLightIds.add(lightId);
+                }
+            }
+        }
+        otherLightIds.forEach(lightCommands::remove);
+        Map<Command, Command> replacements = new HashMap<>();
+        for (Group group : groups) {
+            List<Command> members = new ArrayList<>();
+            for (String lightId : group.lightIds) {
+                Command member = lightCommands.get(lightId);
+                if (Objects.isNull(member) || replacements.containsKey(member)
+                        || (!members.isEmpty() && !members.get(0).payload.equals(member.payload))) {
+                    break;
+                }
+                members.add(member);
+            }
+            if (members.size() != group.lightIds.size()) {
+                continue;
+            }
+            Resource light = members.get(0).resource;
+            Resource groupedLight = new Resource(ResourceType.GROUPED_LIGHT).setId(group.groupedLightId)
+                    .setOnState(light.getOnState()).setDimming(light.getDimming());
+            Command grouped = new Command(groupedLight, getPayload(groupedLight));
+            members.forEach(member -> {
+                grouped.waiters.addAll(member.waiters);
+                replacements.put(member, grouped);
+            });
+            groupedCount += members.size();
+            logger.debug("groupLightCommands() {} light commands replaced by {}", members.size(), groupedLight);
+        }
+        if (replacements.isEmpty()) {
+            return batch;
+        }
+        // the grouped light command takes the place of the first of its light commands
+        Set<Command> result = new LinkedHashSet<>();
+        batch.forEach(command -> result.add(replacements.getOrDefault(command, command)));
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Update the room, zone or device resources from which the lights of the rooms and zones are determined.
+     *
+     * @param resourceType the type of the resources.
+     * @param resources the full list of resources of that type, the zones may include the 'All Lights' zone.
+     */
+    public synchronized void setGroupResources(ResourceType resourceType, List<Resource> resources) {
+        groupResources.put(resourceType, List.copyOf(resources));
+
+        Map<String, Resource> resourceIndex = new HashMap<>();
+        groupResources.values().forEach(list -> list.forEach(r -> resourceIndex.put(r.getId(), r)));
+        List<Group> groups = new ArrayList<>();
+        for (Resource group : resourceIndex.values()) {
+            if (!GROUP_TYPES.contains(group.getType())) {
+                continue;
+            }
+            String groupedLightId = group.getServiceReferences().stream()
+                    .filter(s -> ResourceType.GROUPED_LIGHT == s.getType()).map(ResourceReference::getId)
+                    .filter(Objects::nonNull).findFirst().orElse(null);
+            Set<String> lightIds = getLightIds(group, resourceIndex, 0);
+            if (Objects.nonNull(groupedLightId) && Objects.nonNull(lightIds) && !lightIds.isEmpty()) {
+                groups.add(new Group(groupedLightId, lightIds));
+            }
+        }
+        // prefer the largest group if a batch covers several overlapping groups
+        groups.sort(Comparator.comparingInt((Group g) -> g.lightIds.size()).reversed());
+        this.groups = List.copyOf(groups);
+    }
+
+    /**
+     * Stop replacing light commands by grouped light commands, until the groups are updated again. Called when the
+     * lights of a room or zone may have changed.
+     */
+    public synchronized void clearGroupResources() {
+        groupResources.clear();
+        groups = List.of();
+    }
+
+    /**
+     * Get the lights of a room, zone, or device.
+     *
+     * @return the ids of the lights, or null if the lights can not be determined.
+     */
+    private @Nullable Set<String> getLightIds(Resource resource, Map<String, Resource> resourceIndex, int depth) {
+        if (depth > 2) {
+            return null;
+        }
+        Set<String> lightIds = new HashSet<>();
+        if (ResourceType.DEVICE == resource.getType()) {
+            resource.getServiceReferences().stream().filter(s -> ResourceType.LIGHT == s.getType())
+                    .map(ResourceReference::getId).filter(Objects::nonNull).forEach(lightIds::add);
+            return lightIds;
+        }
+        for (ResourceReference child : resource.getChildren()) {
+            String childId = child.getId();
+            if (Objects.isNull(childId)) {
+                return null;
+            }
+            if (ResourceType.LIGHT == child.getType()) {
+                lightIds.add(childId);
+                continue;
+            }
+            Resource childResource = resourceIndex.get(childId);
+            Set<String> childLightIds = Objects.nonNull(childResource)
+                    ? getLightIds(childResource, resourceIndex, depth + 1)
+                    : null;
+            if (Objects.isNull(childLightIds)) {
+                return null;
+            }
+            lightIds.addAll(childLightIds);
+        }
+        return lightIds;
+    }
+
+    /**
+     * Get the JSON fields that a resource sets.
+     */
+    private JsonObject getPayload(Resource resource) {
+        JsonObject payload = jsonParser.toJsonTree(resource).getAsJsonObject();
+        NON_PAYLOAD_FIELDS.forEach(payload::remove);
+        return payload;
+    }
+
+    /**
+     * Fail all queued commands, and reject further commands.
+     */
+    public void dispose() {
+        List<Command> commands;
+        synchronized (this) {
+            disposed = true;
+            commands = new ArrayList<>(queue);
+            queue.clear();
+            queuedByResource.clear();
+        }
+        AssetNotLoadedException exception = new AssetNotLoadedException("Command scheduler disposed");
+        commands.forEach(command -> command.waiters.forEach(waiter -> waiter.future.completeExceptionally(exception)));
+    }
+
+    /**
+     * Get the statistics of the scheduler, for display on the console.
+     *
+     * @return the statistics as name/value pairs.
+     */
+    public synchronized Map<String, String> getStatistics() {
+        Map<String, String> statistics = new LinkedHashMap<>();
+        statistics.put("Queue depth", Integer.toString(queue.size()));
+        statistics.put("Maximum queue depth", Integer.toString(maxQueueDepth));
+        statistics.put("Commands", Long.toString(commandCount));
+        statistics.put("Superseded commands", Long.toString(coalescedCount));
+        statistics.put("Light commands sent as grouped light", Long.toString(groupedCount));
+        statistics.put("PUT requests", Long.toString(putCount));
+        statistics.put("Average latency (ms)",
+                Long.toString(completedCount > 0 ? totalLatencyMillis / completedCount : 0));
+        statistics.put("Maximum latency (ms)", Long.toString(maxLatencyMillis));
+        statistics.put("Rooms and zones", Integer.toString(groups.size()));
+        return statistics;
+    }
+}
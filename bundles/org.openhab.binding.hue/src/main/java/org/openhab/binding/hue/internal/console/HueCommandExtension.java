@@ -64,16 +64,18 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
     private static final String FMT_COMMENT = "    // %s things";
     private static final String FMT_APPKEY = "  - Application key: %s";
     private static final String FMT_SCENE = "  %s '%s'";
+    private static final String FMT_STATISTIC = "  - %s: %s";
 
     private static final String USER_NAME = "username";
     private static final String SCENES = "scenes";
     private static final String APPLICATION_KEY = "applicationkey";
     private static final String THINGS = "things";
+    private static final String COMMANDS = "commands";
 
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(USER_NAME, SCENES), false);
 
     private static final StringsCompleter SUBCMD_COMPLETER_2 = new StringsCompleter(
-            List.of(APPLICATION_KEY, THINGS, SCENES), false);
+            List.of(APPLICATION_KEY, THINGS, SCENES, COMMANDS), false);
 
     private static final StringsCompleter SCENES_COMPLETER = new StringsCompleter(List.of(SCENES), false);
 
@@ -139,6 +141,15 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                             console.println(String.format(FMT_APPKEY, applicationKey));
                             return;
 
+                        case COMMANDS:
+                            try {
+                                clip2BridgeHandler.getCommandStatistics().forEach(
+                                        (name, value) -> console.println(String.format(FMT_STATISTIC, name, value)));
+                            } catch (AssetNotLoadedException e) {
+                                console.println(String.format("%s: '%s'", e.getClass().getName(), e.getMessage()));
+                            }
+                            return;
+
                         case SCENES:
                             console.println(String.format(FMT_BRIDGE, thing.getUID(), ipAddress, applicationKey));
                             try {
@@ -231,6 +242,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                 buildCommandUsage("<bridgeUID> " + APPLICATION_KEY, "show the API v2 application key"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
                 buildCommandUsage("<bridgeUID> " + THINGS, "list all the API v2 device/room/zone things with their id"),
+                buildCommandUsage("<bridgeUID> " + COMMANDS, "show the queue depth and latency of the API v2 commands"),
                 buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
     }
 
@@ -15,8 +15,11 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,10 +42,12 @@ import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
 import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.Archetype;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.CategoryType;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ContentType;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
 import org.openhab.binding.hue.internal.api.dto.clip2.helper.Setters;
 import org.openhab.binding.hue.internal.config.Clip2BridgeConfig;
 import org.openhab.binding.hue.internal.connection.Clip2Bridge;
+import org.openhab.binding.hue.internal.connection.Clip2CommandScheduler;
 import org.openhab.binding.hue.internal.connection.HueTlsTrustManagerProvider;
 import org.openhab.binding.hue.internal.discovery.Clip2ThingDiscoveryService;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
@@ -112,6 +117,14 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
      */
     private static final List<ResourceReference> MASS_DOWNLOAD_RESOURCE_REFERENCES = List.of(SCENE, DEVICE, ROOM, ZONE);
 
+    /**
+     * Resource types that are always passed on by the event stream: behavior instances are consumed by the bridge
+     * handler itself, new scenes are routed to the thing handler of their group, and changes of the rooms and zones
+     * update the groups of the command scheduler.
+     */
+    private static final Set<ResourceType> ALWAYS_SUBSCRIBED_TYPES = Set.of(ResourceType.BEHAVIOR_INSTANCE,
+            ResourceType.SCENE, ResourceType.SMART_SCENE, ResourceType.ROOM, ResourceType.ZONE);
+
     private final Logger logger = LoggerFactory.getLogger(Clip2BridgeHandler.class);
 
     private final HttpClientFactory httpClientFactory;
@@ -124,6 +137,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private final ChannelGroupUID automationChannelGroupUID;
 
     private @Nullable Clip2Bridge clip2Bridge;
+    private @Nullable Clip2CommandScheduler commandScheduler;
     private @Nullable ServiceRegistration<?> trustManagerRegistration;
     private @Nullable Clip2ThingDiscoveryService discoveryService;
 
@@ -133,6 +147,11 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private @Nullable ScheduledFuture<?> scheduledUpdateTask;
     private Map<Integer, Future<?>> resourcesEventTasks = new ConcurrentHashMap<>();
 
+    // the resources each child thing handler consumes, and the child thing handlers consuming each resource
+    private final Map<Clip2ThingHandler, Map<String, ResourceType>> handlerRoutes = new HashMap<>();
+    private final Map<String, Set<Clip2ThingHandler>> resourceRoutes = new ConcurrentHashMap<>();
+    private volatile Set<String> subscribedTypes = typeNames(ALWAYS_SUBSCRIBED_TYPES);
+
     private boolean assetsLoaded;
     private int applKeyRetriesRemaining;
     private int connectRetriesRemaining;
@@ -267,6 +286,14 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof Clip2ThingHandler clip2ThingHandler) {
+            setResourceRoutes(clip2ThingHandler, Map.of());
+        }
+        super.childHandlerDisposed(childHandler, childThing);
+    }
+
     @Override
     public void dispose() {
         if (assetsLoaded) {
@@ -299,6 +326,11 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
                 registration.unregister();
                 trustManagerRegistration = null;
             }
+            Clip2CommandScheduler commandScheduler = this.commandScheduler;
+            if (Objects.nonNull(commandScheduler)) {
+                commandScheduler.dispose();
+                this.commandScheduler = null;
+            }
             Clip2Bridge bridge = clip2Bridge;
             if (Objects.nonNull(bridge)) {
                 bridge.close();
@@ -335,6 +367,30 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         throw new AssetNotLoadedException("Clip2Bridge is null");
     }
 
+    /**
+     * Get the command scheduler and throw an exception if it is null.
+     *
+     * @return the command scheduler.
+     * @throws AssetNotLoadedException if the command scheduler is null.
+     */
+    private Clip2CommandScheduler getCommandScheduler() throws AssetNotLoadedException {
+        Clip2CommandScheduler commandScheduler = this.commandScheduler;
+        if (Objects.nonNull(commandScheduler)) {
+            return commandScheduler;
+        }
+        throw new AssetNotLoadedException("Clip2CommandScheduler is null");
+    }
+
+    /**
+     * Get the statistics of the command scheduler for the console app.
+     *
+     * @return the statistics as name/value pairs.
+     * @throws AssetNotLoadedException if the command scheduler is null.
+     */
+    public Map<String, String> getCommandStatistics() throws AssetNotLoadedException {
+        return getCommandScheduler().getStatistics();
+    }
+
     /**
      * Return the IP address for the console app.
      *
@@ -511,6 +567,8 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
 
             try {
                 clip2Bridge = new Clip2Bridge(httpClientFactory, this, ipAddress, applicationKey);
+                commandScheduler = new Clip2CommandScheduler(scheduler,
+                        resource -> getClip2Bridge().putResource(resource));
             } catch (ApiException e) {
                 logger.trace("initializeAssets() communication error on '{}'", ipAddress, e);
                 setStatusOfflineWithCommunicationError(e);
@@ -543,8 +601,8 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. Each resource received is passed on to
+     * the child thing handlers that consume it.
      *
      * @param resources a list of incoming resource objects.
      */
@@ -570,15 +628,94 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         if (onResources(resources)) {
             updateAutomationChannelsNow();
         }
-        getThing().getThings().forEach(thing -> {
-            if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
+        if (resources.stream().anyMatch(this::isGroupChange)) {
+            // the lights of a room or zone may have changed
+            Clip2CommandScheduler commandScheduler = this.commandScheduler;
+            if (Objects.nonNull(commandScheduler)) {
+                commandScheduler.clearGroupResources();
+            }
+            updateThingsScheduled(5000);
+        }
+        Map<Clip2ThingHandler, List<Resource>> handlerResources = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            addRoutedResource(handlerResources, resource.getId(), resource);
+            if (ContentType.ADD == resource.getContentType()) {
+                // a new scene is consumed by the thing handler of its group
+                ResourceReference group = resource.getGroup();
+                String groupId = Objects.nonNull(group) ? group.getId() : null;
+                if (Objects.nonNull(groupId)) {
+                    addRoutedResource(handlerResources, groupId, resource);
+                }
+            }
+        }
+        handlerResources.forEach((handler, handlerResourceList) -> handler.onResources(handlerResourceList));
+    }
+
+    private boolean isGroupChange(Resource resource) {
+        return (ResourceType.ROOM == resource.getType() || ResourceType.ZONE == resource.getType())
+                && (ContentType.UPDATE != resource.getContentType() || !resource.getChildren().isEmpty());
+    }
+
+    private void addRoutedResource(Map<Clip2ThingHandler, List<Resource>> handlerResources, String resourceId,
+            Resource resource) {
+        for (Clip2ThingHandler handler : resourceRoutes.getOrDefault(resourceId, Set.of())) {
+            List<Resource> handlerResourceList = handlerResources.computeIfAbsent(handler, h -> new ArrayList<>());
+            if (handlerResourceList.isEmpty() || handlerResourceList.get(handlerResourceList.size() - 1) != resource) {
+                handlerResourceList.add(resource);
+            }
+        }
+    }
+
+    /**
+     * Set the resources whose events shall be passed on to a child thing handler. Replaces the resources set before.
+     *
+     * @param handler the child thing handler.
+     * @param routes the ids of the resources, and their types.
+     */
+    public void setResourceRoutes(Clip2ThingHandler handler, Map<String, ResourceType> routes) {
+        synchronized (handlerRoutes) {
+            Map<String, ResourceType> oldRoutes = routes.isEmpty() ? handlerRoutes.remove(handler)
+                    : handlerRoutes.put(handler, Map.copyOf(routes));
+            if (Objects.nonNull(oldRoutes)) {
+                oldRoutes.keySet().stream().filter(id -> !routes.containsKey(id)).forEach(id -> {
+                    Set<Clip2ThingHandler> handlers = new HashSet<>(resourceRoutes.getOrDefault(id, Set.of()));
+                    handlers.remove(handler);
+                    if (handlers.isEmpty()) {
+                        resourceRoutes.remove(id);
+                    } else {
+                        resourceRoutes.put(id, Set.copyOf(handlers));
+                    }
+                });
             }
-        });
+            routes.keySet().stream().filter(id -> Objects.isNull(oldRoutes) || !oldRoutes.containsKey(id))
+                    .forEach(id -> {
+                        Set<Clip2ThingHandler> handlers = new HashSet<>(resourceRoutes.getOrDefault(id, Set.of()));
+                        handlers.add(handler);
+                        resourceRoutes.put(id, Set.copyOf(handlers));
+                    });
+            Set<ResourceType> types = new HashSet<>(ALWAYS_SUBSCRIBED_TYPES);
+            handlerRoutes.values().forEach(handlerRoute -> types.addAll(handlerRoute.values()));
+            subscribedTypes = typeNames(types);
+        }
     }
 
     /**
-     * Execute an HTTP PUT to send a Resource object to the server.
+     * Check if the resources of the given type are consumed by the bridge handler or any of its child thing handlers.
+     *
+     * @param type the type as sent by the bridge, e.g. 'grouped_light'.
+     * @return true if resources of that type shall be passed on.
+     */
+    public boolean isSubscribedType(String type) {
+        return subscribedTypes.contains(type);
+    }
+
+    private static Set<String> typeNames(Collection<ResourceType> types) {
+        return types.stream().map(type -> type.name().toLowerCase()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Execute an HTTP PUT to send a Resource object to the server. The resource is queued in the command scheduler,
+     * which may merge it with other commands.
      *
      * @param resource the resource to put.
      * @return the resource, which may contain errors.
@@ -589,7 +726,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     public Resources putResource(Resource resource) throws ApiException, AssetNotLoadedException, InterruptedException {
         logger.debug("putResource() {}", resource);
         checkAssetsLoaded();
-        return getClip2Bridge().putResource(resource);
+        return getCommandScheduler().putResource(resource);
     }
 
     /**
@@ -784,6 +921,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
                     default:
                         break;
                 }
+                switch (resourceType) {
+                    case DEVICE:
+                    case ROOM:
+                    case ZONE:
+                        getCommandScheduler().setGroupResources(resourceType, resourceList);
+                        break;
+
+                    default:
+                        break;
+                }
                 getThing().getThings().forEach(thing -> {
                     ThingHandler handler = thing.getHandler();
                     if (handler instanceof Clip2ThingHandler) {
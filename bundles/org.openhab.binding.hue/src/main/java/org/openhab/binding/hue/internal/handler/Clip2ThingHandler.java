@@ -633,6 +633,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
         if (Objects.nonNull(bridge)) {
             BridgeHandler bridgeHandler = bridge.getHandler();
             if (bridgeHandler instanceof Clip2BridgeHandler) {
+                updateResourceRoutes();
                 ((Clip2BridgeHandler) bridgeHandler).childInitialized();
             }
         }
@@ -726,6 +727,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                     sceneContributorsCache.put(sceneResource.getId(), sceneResource);
                     sceneResourceEntries.put(sceneResource.getName(), sceneResource);
                     updateSceneChannelStateDescription();
+                    updateResourceRoutes();
                     return FLAG_SCENE_ADD;
                 }
                 break;
@@ -734,6 +736,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 if (Objects.nonNull(deletedScene)) {
                     sceneResourceEntries.remove(deletedScene.getName());
                     updateSceneChannelStateDescription();
+                    updateResourceRoutes();
                     return FLAG_SCENE_DELETE;
                 }
             default:
@@ -1156,6 +1159,26 @@ public class Clip2ThingHandler extends BaseThingHandler {
             commandResourceIds.clear();
             commandResourceIds.putAll(services.stream() // use a 'mergeFunction' to prevent duplicates
                     .collect(Collectors.toMap(ResourceReference::getType, ResourceReference::getId, (r1, r2) -> r1)));
+
+            updateResourceRoutes();
+        }
+    }
+
+    /**
+     * Tell the bridge handler which resources contribute to the thing state, so that it only passes on the events of
+     * those resources.
+     */
+    private void updateResourceRoutes() {
+        if (!disposing) {
+            Map<String, ResourceType> routes = new HashMap<>();
+            serviceContributorsCache.forEach((id, resource) -> routes.put(id, resource.getType()));
+            sceneContributorsCache.forEach((id, resource) -> routes.put(id, resource.getType()));
+            routes.put(resourceId, thisResource.getType());
+            try {
+                getBridgeHandler().setResourceRoutes(this, routes);
+            } catch (AssetNotLoadedException e) {
+                logger.debug("{} -> updateResourceRoutes() {}", resourceId, e.getMessage());
+            }
         }
     }
 
@@ -1306,6 +1329,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 logger.debug("{} -> updateSceneContributors() found {} normal resp. smart scenes", resourceId,
                         scenes.size());
             }
+            updateResourceRoutes();
             updateSceneContributorsDone = true;
         }
         return updateSceneContributorsDone;
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.clip2;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.hue.internal.api.dto.clip2.Dimming;
+import org.openhab.binding.hue.internal.api.dto.clip2.OnState;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.api.serialization.InstantDeserializer;
+import org.openhab.binding.hue.internal.connection.Clip2CommandScheduler;
+import org.openhab.binding.hue.internal.exceptions.DTOPresentButEmptyException;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests for {@link Clip2CommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Clip2CommandSchedulerTest {
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(Instant.class, new InstantDeserializer())
+            .create();
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) Clip2CommandScheduler commandScheduler;
+    private final List<Resource> sentResources = new ArrayList<>();
+    private final List<CompletableFuture<Resources>> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        commandScheduler = new Clip2CommandScheduler(scheduler, resource -> {
+            sentResources.add(resource);
+            return new Resources();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void supersededCommandIsDropped() throws DTOPresentButEmptyException {
+        submit(light("1").setDimming(new Dimming().setBrightness(10)));
+        submit(light("1").setDimming(new Dimming().setBrightness(20)));
+        submit(light("1").setOnState(new OnState().setOn(true)));
+        drain();
+
+        assertThat(sentResources.size(), is(2));
+        assertThat(Objects.requireNonNull(sentResources.get(0).getDimming()).getBrightness(), is(20.0));
+        assertThat(sentResources.get(1).getOnState(), is(notNullValue()));
+        assertThat(results.stream().allMatch(CompletableFuture::isDone), is(true));
+    }
+
+    @Test
+    void commandsToAllLightsOfRoomAreGrouped() {
+        commandScheduler.setGroupResources(ResourceType.ROOM, List.of(group("room", "device1", "device2")));
+        commandScheduler.setGroupResources(ResourceType.DEVICE,
+                List.of(device("device1", "light1"), device("device2", "light2")));
+
+        submit(light("light1").setDimming(new Dimming().setBrightness(50)));
+        submit(light("light2").setDimming(new Dimming().setBrightness(50)));
+        drain();
+
+        assertThat(sentResources.size(), is(1));
+        assertThat(sentResources.get(0).getType(), is(ResourceType.GROUPED_LIGHT));
+        assertThat(sentResources.get(0).getId(), is("room-grouped"));
+        assertThat(results.stream().allMatch(CompletableFuture::isDone), is(true));
+    }
+
+    @Test
+    void commandsToSomeLightsOfRoomAreNotGrouped() {
+        commandScheduler.setGroupResources(ResourceType.ROOM, List.of(group("room", "device1", "device2")));
+        commandScheduler.setGroupResources(ResourceType.DEVICE,
+                List.of(device("device1", "light1"), device("device2", "light2")));
+
+        submit(light("light1").setDimming(new Dimming().setBrightness(50)));
+        submit(light("light2").setDimming(new Dimming().setBrightness(60)));
+        drain();
+
+        assertThat(sentResources.size(), is(2));
+        assertThat(sentResources.get(0).getId(), is("light1"));
+        assertThat(sentResources.get(1).getId(), is("light2"));
+    }
+
+    private static Resource light(String id) {
+        return new Resource(ResourceType.LIGHT).setId(id);
+    }
+
+    private static Resource group(String id, String... deviceIds) {
+        StringBuilder children = new StringBuilder();
+        for (String deviceId : deviceIds) {
+            children.append(children.isEmpty() ? "" : ",")
+                    .append(String.format("{\"rid\":\"%s\",\"rtype\":\"device\"}", deviceId));
+        }
+        String services = String.format("{\"rid\":\"%s-grouped\",\"rtype\":\"grouped_light\"}", id);
+        return Objects.requireNonNull(GSON.fromJson(
+                String.format("{\"id\":\"%s\",\"type\":\"room\",\"children\":[%s],\"services\":[%s]}", id,
+                        children, services),
+                Resource.class));
+    }
+
+    private static Resource device(String id, String lightId) {
+        return Objects.requireNonNull(GSON.fromJson(
+                String.format("{\"id\":\"%s\",\"type\":\"device\",\"services\":[{\"rid\":\"%s\",\"rtype\":\"light\"}]}",
+                        id, lightId),
+                Resource.class));
+    }
+
+    /**
+     * Submit a command on another thread, as the caller blocks until it has been sent.
+     */
+    private void submit(Resource resource) {
+        int count = results.size() + 1;
+        results.add(CompletableFuture.supplyAsync(() -> {
+            try {
+                return commandScheduler.putResource(resource);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, callers));
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!Integer.toString(count).equals(commandScheduler.getStatistics().get("Commands"))
+                && System.currentTimeMillis() < timeout) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void drain() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(captor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+        results.forEach(CompletableFuture::join);
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.binding.hue.internal.handler.Clip2BridgeHandler;
+import org.openhab.binding.hue.internal.handler.Clip2ThingHandler;
+import org.openhab.core.i18n.LocaleProvider;
+import org.openhab.core.i18n.TranslationProvider;
+import org.openhab.core.io.net.http.HttpClientFactory;
+import org.openhab.core.thing.Bridge;
+import org.openhab.core.thing.ThingRegistry;
+import org.openhab.core.thing.ThingUID;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for the filtering of the event stream of {@link Clip2Bridge} by the resource types that the
+ * {@link Clip2BridgeHandler} and its thing handlers subscribe to.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Clip2BridgeTest {
+
+    private static final String ROOM_ID = "a1b2c3d4-0000-4000-8000-000000000001";
+    private static final String ROOM_GROUPED_LIGHT_ID = "a1b2c3d4-0000-4000-8000-000000000002";
+    private static final String ZONE_ID = "a1b2c3d4-0000-4000-8000-000000000003";
+    private static final String ZONE_GROUPED_LIGHT_ID = "a1b2c3d4-0000-4000-8000-000000000004";
+    private static final String DEVICE_ID = "a1b2c3d4-0000-4000-8000-000000000005";
+    private static final String LIGHT_ID = "a1b2c3d4-0000-4000-8000-000000000006";
+
+    private final Clip2ThingHandler roomHandler = mock(Clip2ThingHandler.class);
+    private final Clip2ThingHandler zoneHandler = mock(Clip2ThingHandler.class);
+    private final Clip2ThingHandler deviceHandler = mock(Clip2ThingHandler.class);
+
+    private @NonNullByDefault({}) Clip2BridgeHandler bridgeHandler;
+    private @NonNullByDefault({}) Clip2Bridge clip2Bridge;
+
+    @BeforeEach
+    void setUp() throws ApiException {
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("hue:clip2:test"));
+        HttpClientFactory httpClientFactory = mock(HttpClientFactory.class);
+        when(httpClientFactory.getCommonHttpClient()).thenReturn(mock(HttpClient.class));
+        when(httpClientFactory.createHttp2Client(anyString(), any())).thenReturn(mock(HTTP2Client.class));
+
+        bridgeHandler = new Clip2BridgeHandler(bridge, httpClientFactory, mock(ThingRegistry.class),
+                mock(LocaleProvider.class), mock(TranslationProvider.class));
+        clip2Bridge = new Clip2Bridge(httpClientFactory, bridgeHandler, "192.0.2.1", "applicationKey");
+    }
+
+    private static JsonArray events(String... types) {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < types.length; i++) {
+            data.append(i == 0 ? "" : ",").append("{\"id\":\"").append(i).append("\",\"type\":\"").append(types[i])
+                    .append("\"}");
+        }
+        return JsonParser.parseString("[{\"type\":\"update\",\"data\":[" + data + "]}]").getAsJsonArray();
+    }
+
+    private static List<String> remainingTypes(JsonArray events) {
+        List<String> types = new ArrayList<>();
+        for (JsonElement event : events) {
+            event.getAsJsonObject().getAsJsonArray("data")
+                    .forEach(resource -> types.add(resource.getAsJsonObject().get("type").getAsString()));
+        }
+        return types;
+    }
+
+    @Test
+    void typesConsumedByBridgeAreAlwaysSubscribed() {
+        assertTrue(bridgeHandler.isSubscribedType("behavior_instance"));
+        assertTrue(bridgeHandler.isSubscribedType("scene"));
+        assertTrue(bridgeHandler.isSubscribedType("smart_scene"));
+        assertTrue(bridgeHandler.isSubscribedType("room"));
+        assertTrue(bridgeHandler.isSubscribedType("zone"));
+        assertFalse(bridgeHandler.isSubscribedType("grouped_light"));
+        assertFalse(bridgeHandler.isSubscribedType("light"));
+    }
+
+    @Test
+    void groupedLightSubscribedWhileRoomOrZoneRouted() {
+        bridgeHandler.setResourceRoutes(roomHandler,
+                Map.of(ROOM_ID, ResourceType.ROOM, ROOM_GROUPED_LIGHT_ID, ResourceType.GROUPED_LIGHT));
+        bridgeHandler.setResourceRoutes(zoneHandler,
+                Map.of(ZONE_ID, ResourceType.ZONE, ZONE_GROUPED_LIGHT_ID, ResourceType.GROUPED_LIGHT));
+        assertTrue(bridgeHandler.isSubscribedType("grouped_light"));
+        assertFalse(bridgeHandler.isSubscribedType("light"));
+
+        // the zone still consumes grouped lights when the room goes away
+        bridgeHandler.setResourceRoutes(roomHandler, Map.of());
+        assertTrue(bridgeHandler.isSubscribedType("grouped_light"));
+
+        bridgeHandler.setResourceRoutes(zoneHandler, Map.of());
+        assertFalse(bridgeHandler.isSubscribedType("grouped_light"));
+        assertTrue(bridgeHandler.isSubscribedType("room"));
+    }
+
+    @Test
+    void replacedRoutesUnsubscribeDroppedTypes() {
+        bridgeHandler.setResourceRoutes(deviceHandler,
+                Map.of(DEVICE_ID, ResourceType.DEVICE, LIGHT_ID, ResourceType.LIGHT));
+        assertTrue(bridgeHandler.isSubscribedType("light"));
+
+        bridgeHandler.setResourceRoutes(deviceHandler, Map.of(DEVICE_ID, ResourceType.DEVICE));
+        assertFalse(bridgeHandler.isSubscribedType("light"));
+        assertTrue(bridgeHandler.isSubscribedType("device"));
+    }
+
+    @Test
+    void unsubscribedResourcesRemovedBeforeDeserialization() {
+        bridgeHandler.setResourceRoutes(roomHandler,
+                Map.of(ROOM_ID, ResourceType.ROOM, ROOM_GROUPED_LIGHT_ID, ResourceType.GROUPED_LIGHT));
+        JsonArray events = events("light", "grouped_light", "motion", "room", "scene", "zone", "behavior_instance",
+                "light");
+
+        assertEquals(3, clip2Bridge.removeUnsubscribedResources(events));
+        assertEquals(List.of("grouped_light", "room", "scene", "zone", "behavior_instance"), remainingTypes(events));
+    }
+
+    @Test
+    void groupedLightRemovedWithoutRoomOrZone() {
+        bridgeHandler.setResourceRoutes(deviceHandler,
+                Map.of(DEVICE_ID, ResourceType.DEVICE, LIGHT_ID, ResourceType.LIGHT));
+        JsonArray events = events("light", "grouped_light", "grouped_light");
+
+        assertEquals(2, clip2Bridge.removeUnsubscribedResources(events));
+        assertEquals(List.of("light"), remainingTypes(events));
+    }
+
+    @Test
+    void resourcesWithoutTypeKept() {
+        JsonArray events = JsonParser
+                .parseString("[{\"type\":\"update\",\"data\":[{\"id\":\"1\"},{\"id\":\"2\",\"type\":\"light\"}]},"
+                        + "{\"type\":\"update\"}]")
+                .getAsJsonArray();
+
+        assertEquals(1, clip2Bridge.removeUnsubscribedResources(events));
+        assertEquals(1, events.get(0).getAsJsonObject().getAsJsonArray("data").size());
+    }
+}
@@ -47,8 +47,11 @@ public class CameraConfig {
     private String mjpegOptions = "";
     private String snapshotOptions = "";
     private String motionOptions = "";
+    private boolean snapshotMotionDetection;
+    private String motionZones = "";
     private boolean ptzContinuous;
     private int gifPreroll;
+    private int gifPrerollBufferSize = 8;
 
     public int getOnvifMediaProfile() {
         return onvifMediaProfile;
@@ -70,6 +73,14 @@ public class CameraConfig {
         return motionOptions;
     }
 
+    public boolean getSnapshotMotionDetection() {
+        return snapshotMotionDetection;
+    }
+
+    public String getMotionZones() {
+        return motionZones;
+    }
+
     public String getMp4OutOptions() {
         return mp4OutOptions;
     }
@@ -166,6 +177,10 @@ public class CameraConfig {
         return gifPreroll;
     }
 
+    public int getGifPrerollBufferSize() {
+        return gifPrerollBufferSize;
+    }
+
     public int getPort() {
         return port;
     }
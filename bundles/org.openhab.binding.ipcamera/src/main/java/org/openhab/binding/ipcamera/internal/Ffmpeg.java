@@ -18,6 +18,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -54,6 +55,9 @@ public class Ffmpeg {
     private int keepAlive = 8;
     private String password;
     private Boolean notFrozen = true;
+    private @Nullable SnapshotRing inputSnapshots = null;
+    private long inputFrom;
+    private long inputTo;
 
     public Ffmpeg(IpCameraHandler handle, FFmpegFormat format, String ffmpegLocation, String inputArguments,
             String input, String outArguments, String output, String username, String password) {
@@ -78,6 +82,15 @@ public class Ffmpeg {
         commandArrayList.add(0, ffmpegLocation);
     }
 
+    /**
+     * Feeds the snapshots that are currently held by the ring to FFmpeg's stdin, use "-" as the input.
+     */
+    public void setInputSnapshots(SnapshotRing snapshotRing) {
+        inputSnapshots = snapshotRing;
+        inputFrom = snapshotRing.getTail();
+        inputTo = snapshotRing.getHead();
+    }
+
     public void setKeepAlive(int numberOfEightSeconds) {
         // We poll every 8 seconds due to mjpeg stream requirement.
         if (keepAlive == -1 && numberOfEightSeconds > 1) {
@@ -113,6 +126,15 @@ public class Ffmpeg {
                     new DecimalType(++ipCameraHandler.gifHistoryLength));
         }
 
+        private void writeInputSnapshots(Process process, SnapshotRing snapshotRing) {
+            try (OutputStream stdin = process.getOutputStream()) {
+                int count = snapshotRing.writeTo(stdin, inputFrom, inputTo);
+                logger.debug("Piped {} snapshots to FFmpeg", count);
+            } catch (IOException e) {
+                logger.warn("An IO error occurred trying to pipe the snapshots to FFmpeg: {}", e.getMessage());
+            }
+        }
+
         private void mp4Created() {
             ipCameraHandler.setChannelState(CHANNEL_RECORDING_MP4, DecimalType.ZERO);
             ipCameraHandler.setChannelState(CHANNEL_MP4_HISTORY_LENGTH,
@@ -122,9 +144,16 @@ public class Ffmpeg {
         @Override
         public void run() {
             try {
-                process = Runtime.getRuntime().exec(commandArrayList.toArray(new String[commandArrayList.size()]));
+                Process localProcess = Runtime.getRuntime()
+                        .exec(commandArrayList.toArray(new String[commandArrayList.size()]));
+                process = localProcess;
+                SnapshotRing localSnapshots = inputSnapshots;
+                if (localSnapshots != null) {
+                    // Written from another thread, as FFmpeg could block on its error stream until that is read.
+                    threadPool.execute(() -> writeInputSnapshots(localProcess, localSnapshots));
+                }
 
-                InputStream errorStream = process.getErrorStream();
+                InputStream errorStream = localProcess.getErrorStream();
                 InputStreamReader errorStreamReader = new InputStreamReader(errorStream);
                 BufferedReader bufferedReader = new BufferedReader(errorStreamReader);
                 String line = null;
@@ -47,6 +47,10 @@ public class IpCameraBindingConstants {
 
     public static final BigDecimal BIG_DECIMAL_SCALE_MOTION = new BigDecimal(5000);
     public static final long HLS_STARTUP_DELAY_MS = 4500;
+    // Most snapshots the GIF preroll buffer keeps, which is the preroll plus the seconds to record.
+    public static final int MAX_GIF_SNAPSHOTS = 120;
+    // same as the maximum of the gifPrerollBufferSize parameter, in MB
+    public static final int MAX_GIF_PREROLL_BUFFER_SIZE = 256;
     @SuppressWarnings("null")
     public static final int SERVLET_PORT = Integer.getInteger("org.osgi.service.http.port", 8080);
 
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.CHANNEL_FFMPEG_MOTION_ALARM;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SnapshotMotionDetector} detects motion by comparing the snapshots of a camera without the need of
+ * FFmpeg. Each jpg is decoded with subsampling into a small grid of average luminance values which is compared
+ * with the grid of the previous snapshot. The percentage of grid cells inside the configured zones that changed is
+ * compared against the value of the ffmpegMotionControl channel and the result is reported to the
+ * ffmpegMotionAlarm channel.
+ * <p>
+ * All cameras share the binding.ipcamera-motion thread pool. A snapshot that arrives while the previous snapshot of
+ * the same camera is still being analysed is skipped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotMotionDetector {
+    static final int GRID_WIDTH = 32;
+    static final int GRID_HEIGHT = 24;
+    // Number of pixels per grid cell (in each direction) that are decoded.
+    private static final int SAMPLES_PER_CELL = 4;
+    // Change in luminance (0-255) before a grid cell is counted as changed.
+    private static final int CELL_THRESHOLD = 12;
+    // Number of snapshots without motion before the alarm goes OFF.
+    private static final int QUIET_SNAPSHOTS = 3;
+    private static final String THREAD_POOL_NAME = "binding.ipcamera-motion";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final IpCameraHandler ipCameraHandler;
+    private final boolean[] zoneMask;
+    private final int zoneCells;
+    private final ExecutorService workers = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+    private final AtomicBoolean busy = new AtomicBoolean();
+    // guarded by this, as reset() is called from the handler while a worker analyses a snapshot
+    private int @Nullable [] lastGrid;
+    private boolean motionActive = false;
+    private int quietSnapshots = 0;
+
+    public SnapshotMotionDetector(IpCameraHandler ipCameraHandler, String motionZones) {
+        this.ipCameraHandler = ipCameraHandler;
+        zoneMask = parseZones(motionZones);
+        int cells = 0;
+        for (boolean inZone : zoneMask) {
+            if (inZone) {
+                cells++;
+            }
+        }
+        zoneCells = cells;
+    }
+
+    /**
+     * Parses a list of zones in the format <code>x,y,width,height;x,y,width,height</code> with all values given in
+     * percent of the picture. A grid cell is inside a zone when its center is.
+     *
+     * @param motionZones the zones, an empty String selects the whole picture
+     * @return a mask with one entry per grid cell
+     */
+    static boolean[] parseZones(String motionZones) {
+        boolean[] mask = new boolean[GRID_WIDTH * GRID_HEIGHT];
+        if (motionZones.isBlank()) {
+            Arrays.fill(mask, true);
+            return mask;
+        }
+        for (String zone : motionZones.split(";")) {
+            if (zone.isBlank()) {
+                continue;
+            }
+            String[] values = zone.split(",");
+            if (values.length != 4) {
+                throw new IllegalArgumentException("Motion zone '" + zone.trim() + "' is not in the format x,y,w,h");
+            }
+            double x = Double.parseDouble(values[0].trim());
+            double y = Double.parseDouble(values[1].trim());
+            double width = Double.parseDouble(values[2].trim());
+            double height = Double.parseDouble(values[3].trim());
+            for (int row = 0; row < GRID_HEIGHT; row++) {
+                double centerY = (row + 0.5) * 100 / GRID_HEIGHT;
+                if (centerY < y || centerY > y + height) {
+                    continue;
+                }
+                for (int column = 0; column < GRID_WIDTH; column++) {
+                    double centerX = (column + 0.5) * 100 / GRID_WIDTH;
+                    if (centerX >= x && centerX <= x + width) {
+                        mask[row * GRID_WIDTH + column] = true;
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Queues a snapshot for analysis. Returns straight away and skips the snapshot if the previous one of this camera
+     * is still being analysed.
+     *
+     * @param jpg the snapshot, must not be modified afterwards
+     */
+    public void offer(byte[] jpg) {
+        if (zoneCells == 0 || !busy.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    analyse(jpg);
+                } finally {
+                    busy.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            busy.set(false);
+        }
+    }
+
+    /**
+     * Forgets the last snapshot, so that the next snapshot does not get compared with an old picture.
+     */
+    public synchronized void reset() {
+        lastGrid = null;
+        motionActive = false;
+        quietSnapshots = 0;
+    }
+
+    private void analyse(byte[] jpg) {
+        int[] grid;
+        try {
+            grid = decodeGrid(jpg);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not decode the snapshot for motion detection: {}", e.getMessage());
+            return;
+        }
+        if (grid != null) {
+            analyse(grid);
+        }
+    }
+
+    /**
+     * Compares a luminance grid with the grid of the previous snapshot and updates the alarm.
+     *
+     * @param grid the average luminance of each grid cell
+     */
+    synchronized void analyse(int[] grid) {
+        int[] previousGrid = lastGrid;
+        lastGrid = grid;
+        int threshold = ipCameraHandler.motionThreshold.intValue();
+        if (previousGrid == null || threshold <= 0) {
+            return;
+        }
+        int changedPercent = changedPercent(previousGrid, grid);
+        logger.trace("Motion detection found {}% of the zones changed, threshold is {}%", changedPercent, threshold);
+        if (changedPercent >= threshold) {
+            quietSnapshots = 0;
+            if (!motionActive) {
+                motionActive = true;
+                ipCameraHandler.motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+            }
+        } else if (motionActive && ++quietSnapshots >= QUIET_SNAPSHOTS) {
+            motionActive = false;
+            ipCameraHandler.noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+        }
+    }
+
+    /**
+     * Calculates the percentage of grid cells inside the zones that changed more than the overall brightness.
+     *
+     * @param previousGrid the grid of the previous snapshot
+     * @param grid the grid of the current snapshot
+     * @return the percentage of changed cells
+     */
+    int changedPercent(int[] previousGrid, int[] grid) {
+        // Ignore a change of the whole picture's brightness, like a cloud or the camera adjusting its exposure.
+        long sumOfDeltas = 0;
+        for (int i = 0; i < grid.length; i++) {
+            if (zoneMask[i]) {
+                sumOfDeltas += grid[i] - previousGrid[i];
+            }
+        }
+        int averageDelta = (int) (sumOfDeltas / zoneCells);
+        int changedCells = 0;
+        for (int i = 0; i < grid.length; i++) {
+            if (zoneMask[i] && Math.abs(grid[i] - previousGrid[i] - averageDelta) > CELL_THRESHOLD) {
+                changedCells++;
+            }
+        }
+        return changedCells * 100 / zoneCells;
+    }
+
+    private int @Nullable [] decodeGrid(byte[] jpg) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(jpg))) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Only a few pixels per grid cell are needed, so skip the rest while decoding.
+                int step = Math.max(1, Math.min(width / (GRID_WIDTH * SAMPLES_PER_CELL),
+                        height / (GRID_HEIGHT * SAMPLES_PER_CELL)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return toLuminanceGrid(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private int[] toLuminanceGrid(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] sums = new int[GRID_WIDTH * GRID_HEIGHT];
+        int[] counts = new int[GRID_WIDTH * GRID_HEIGHT];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int gridRow = y * GRID_HEIGHT / height * GRID_WIDTH;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int luminance = (((rgb >> 16) & 0xff) * 77 + ((rgb >> 8) & 0xff) * 150 + (rgb & 0xff) * 29) >> 8;
+                int cell = gridRow + x * GRID_WIDTH / width;
+                sums[cell] += luminance;
+                counts[cell]++;
+            }
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = counts[i] == 0 ? 0 : sums[i] / counts[i];
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SnapshotRing} keeps the most recent snapshots of a camera for the GIF preroll. The jpgs are stored
+ * back to back in a fixed size direct buffer outside of the Java heap, the oldest snapshots are dropped when either
+ * the buffer or the maximum number of snapshots is full. Each snapshot is identified by a sequence number.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotRing {
+    private static final int TRANSFER_CHUNK_SIZE = 16 * 1024;
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int maxSnapshots;
+    // Position of each snapshot if the buffer was endless, the real position is start % capacity.
+    private final long[] starts;
+    private final int[] lengths;
+    private long head = 0;
+    private long tail = 0;
+    private long writePosition = 0;
+
+    /**
+     * @param capacity the size of the buffer in bytes
+     * @param maxSnapshots the maximum number of snapshots that can be kept
+     */
+    public SnapshotRing(int capacity, int maxSnapshots) {
+        this.capacity = capacity;
+        this.maxSnapshots = maxSnapshots;
+        buffer = ByteBuffer.allocateDirect(capacity);
+        starts = new long[maxSnapshots];
+        lengths = new int[maxSnapshots];
+    }
+
+    /**
+     * Adds a snapshot, dropping the oldest snapshots until there is room for it.
+     *
+     * @param jpg the snapshot
+     * @param limit the number of snapshots to keep, including this one
+     */
+    public synchronized void add(byte[] jpg, int limit) {
+        if (jpg.length > capacity) {
+            return;
+        }
+        int keep = Math.max(1, Math.min(limit, maxSnapshots));
+        while (head - tail >= keep || (head > tail && writePosition + jpg.length - starts[slot(tail)] > capacity)) {
+            tail++;
+        }
+        int position = (int) (writePosition % capacity);
+        int firstPart = Math.min(jpg.length, capacity - position);
+        buffer.put(position, jpg, 0, firstPart);
+        if (firstPart < jpg.length) {
+            buffer.put(0, jpg, firstPart, jpg.length - firstPart);
+        }
+        starts[slot(head)] = writePosition;
+        lengths[slot(head)] = jpg.length;
+        writePosition += jpg.length;
+        head++;
+    }
+
+    /**
+     * @return the sequence number of the oldest snapshot
+     */
+    public synchronized long getTail() {
+        return tail;
+    }
+
+    /**
+     * @return the sequence number the next snapshot will get
+     */
+    public synchronized long getHead() {
+        return head;
+    }
+
+    public synchronized void clear() {
+        tail = head;
+    }
+
+    /**
+     * Copies a part of a snapshot.
+     *
+     * @param sequence the sequence number of the snapshot
+     * @param offset the offset inside the snapshot
+     * @param destination the array to copy to, up to its length
+     * @return the number of bytes copied, 0 at the end of the snapshot or -1 if the snapshot was already dropped
+     */
+    public synchronized int read(long sequence, int offset, byte[] destination) {
+        if (sequence < tail || sequence >= head) {
+            return -1;
+        }
+        int slot = slot(sequence);
+        int count = Math.min(lengths[slot] - offset, destination.length);
+        if (count <= 0) {
+            return 0;
+        }
+        int position = (int) ((starts[slot] + offset) % capacity);
+        int firstPart = Math.min(count, capacity - position);
+        buffer.get(position, destination, 0, firstPart);
+        if (firstPart < count) {
+            buffer.get(0, destination, firstPart, count - firstPart);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the snapshots in the given range one after the other. The buffer is only locked while copying a small
+     * chunk, so new snapshots can still be added while a slow reader consumes the output.
+     *
+     * @param output the stream to write to
+     * @param from the sequence number of the first snapshot
+     * @param to the sequence number after the last snapshot
+     * @return the number of snapshots written
+     * @throws IOException if writing to the stream fails
+     */
+    public int writeTo(OutputStream output, long from, long to) throws IOException {
+        byte[] chunk = new byte[TRANSFER_CHUNK_SIZE];
+        int written = 0;
+        for (long sequence = from; sequence < to; sequence++) {
+            int offset = 0;
+            int count;
+            while ((count = read(sequence, offset, chunk)) > 0) {
+                output.write(chunk, 0, count);
+                offset += count;
+            }
+            // A snapshot dropped part way through is just an incomplete jpg that FFmpeg skips.
+            if (offset > 0) {
+                written++;
+            }
+        }
+        output.flush();
+        return written;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % maxSnapshots);
+    }
+}
@@ -15,10 +15,6 @@ package org.openhab.binding.ipcamera.internal.handler;
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
@@ -28,7 +24,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +55,8 @@ import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegForm
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.ReolinkHandler;
+import org.openhab.binding.ipcamera.internal.SnapshotMotionDetector;
+import org.openhab.binding.ipcamera.internal.SnapshotRing;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection.RequestType;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
@@ -142,6 +139,7 @@ public class IpCameraHandler extends BaseThingHandler {
     public @Nullable Ffmpeg ffmpegRecord = null;
     public @Nullable Ffmpeg ffmpegGIF = null;
     public @Nullable Ffmpeg ffmpegRtspHelper = null;
+    private @Nullable SnapshotMotionDetector snapshotMotionDetector = null;
     public @Nullable Ffmpeg ffmpegMjpeg = null;
     public @Nullable Ffmpeg ffmpegSnapshot = null;
     public boolean streamingAutoFps = false;
@@ -164,7 +162,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private String mp4Filename = "ipcamera";
     private int mp4RecordTime;
     private int gifRecordTime = 5;
-    private LinkedList<byte[]> fifoSnapshotBuffer = new LinkedList<>();
+    private @Nullable SnapshotRing snapshotRing = null;
     private int snapCount;
     private boolean updateImageChannel = false;
     private byte lowPriorityCounter = 0;
@@ -272,7 +270,7 @@ public class IpCameraHandler extends BaseThingHandler {
                         content.content().getBytes(content.content().readerIndex(), chunkedFrame);
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            localServlet.openStreams.queueChunk(chunkedFrame);
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
@@ -679,16 +677,18 @@ public class IpCameraHandler extends BaseThingHandler {
         lockCurrentSnapshot.lock();
         try {
             currentSnapshot = incommingSnapshot;
-            if (cameraConfig.getGifPreroll() > 0) {
-                fifoSnapshotBuffer.add(incommingSnapshot);
-                if (fifoSnapshotBuffer.size() > (cameraConfig.getGifPreroll() + gifRecordTime)) {
-                    fifoSnapshotBuffer.removeFirst();
-                }
-            }
         } finally {
             lockCurrentSnapshot.unlock();
             currentSnapshotTime = Instant.now();
         }
+        SnapshotRing localRing = snapshotRing;
+        if (localRing != null) {
+            localRing.add(incommingSnapshot, cameraConfig.getGifPreroll() + gifRecordTime);
+        }
+        SnapshotMotionDetector localDetector = snapshotMotionDetector;
+        if (ffmpegMotionAlarmEnabled && localDetector != null) {
+            localDetector.offer(incommingSnapshot);
+        }
 
         if (updateImageChannel) {
             updateState(CHANNEL_IMAGE, new RawType(incommingSnapshot, "image/jpeg"));
@@ -774,29 +774,6 @@ public class IpCameraHandler extends BaseThingHandler {
         }
     }
 
-    private void storeSnapshots() {
-        int count = 0;
-        // Need to lock as fifoSnapshotBuffer is not thread safe and new snapshots can be incoming.
-        lockCurrentSnapshot.lock();
-        try {
-            for (byte[] foo : fifoSnapshotBuffer) {
-                File file = new File(cameraConfig.getFfmpegOutput() + "snapshot" + count + ".jpg");
-                count++;
-                try {
-                    OutputStream fos = new FileOutputStream(file);
-                    fos.write(foo);
-                    fos.close();
-                } catch (FileNotFoundException e) {
-                    logger.warn("FileNotFoundException {}", e.getMessage());
-                } catch (IOException e) {
-                    logger.warn("IOException {}", e.getMessage());
-                }
-            }
-        } finally {
-            lockCurrentSnapshot.unlock();
-        }
-    }
-
     public void setupFfmpegFormat(FFmpegFormat format) {
         String inputOptions = cameraConfig.getFfmpegInputOptions();
         if (cameraConfig.getFfmpegOutput().isEmpty()) {
@@ -840,13 +817,17 @@ public class IpCameraHandler extends BaseThingHandler {
                 }
                 break;
             case GIF:
-                if (cameraConfig.getGifPreroll() > 0) {
-                    ffmpegGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
-                            "-y -r 1 -hide_banner -loglevel warning", cameraConfig.getFfmpegOutput() + "snapshot%d.jpg",
+                SnapshotRing localRing = snapshotRing;
+                if (localRing != null) {
+                    // The snapshots are piped to FFmpeg straight from the ring.
+                    Ffmpeg prerollGIF = new Ffmpeg(this, format, cameraConfig.getFfmpegLocation(),
+                            "-y -f image2pipe -framerate 1 -hide_banner -loglevel warning", "-",
                             "-frames:v " + (cameraConfig.getGifPreroll() + gifRecordTime) + " "
                                     + cameraConfig.getGifOutOptions(),
                             cameraConfig.getFfmpegOutput() + gifFilename + ".gif", cameraConfig.getUser(),
                             cameraConfig.getPassword());
+                    prerollGIF.setInputSnapshots(localRing);
+                    ffmpegGIF = prerollGIF;
                 } else {
                     if (!inputOptions.isEmpty()) {
                         inputOptions = "-y -t " + gifRecordTime + " -hide_banner -loglevel warning " + inputOptions;
@@ -857,9 +838,6 @@ public class IpCameraHandler extends BaseThingHandler {
                             cameraConfig.getGifOutOptions(), cameraConfig.getFfmpegOutput() + gifFilename + ".gif",
                             cameraConfig.getUser(), cameraConfig.getPassword());
                 }
-                if (cameraConfig.getGifPreroll() > 0) {
-                    storeSnapshots();
-                }
                 Ffmpeg localGIF = ffmpegGIF;
                 if (localGIF != null) {
                     localGIF.startConverting();
@@ -897,12 +875,14 @@ public class IpCameraHandler extends BaseThingHandler {
                 setChannelState(CHANNEL_MP4_HISTORY, new StringType(mp4History));
                 break;
             case RTSP_ALARMS:
+                // Motion is detected from the snapshots instead, when snapshotMotionDetection is enabled.
+                boolean ffmpegMotion = ffmpegMotionAlarmEnabled && snapshotMotionDetector == null;
                 Ffmpeg localAlarms = ffmpegRtspHelper;
                 if (localAlarms != null) {
                     localAlarms.stopConverting();
-                    if (!ffmpegAudioAlarmEnabled && !ffmpegMotionAlarmEnabled) {
-                        return;
-                    }
+                }
+                if (!ffmpegAudioAlarmEnabled && !ffmpegMotion) {
+                    return;
                 }
                 String input = (cameraConfig.getAlarmInputUrl().isEmpty()) ? rtspUri : cameraConfig.getAlarmInputUrl();
                 String filterOptions = "";
@@ -911,9 +891,9 @@ public class IpCameraHandler extends BaseThingHandler {
                 } else {
                     filterOptions = "-af silencedetect=n=-" + audioThreshold + "dB:d=2";
                 }
-                if (!ffmpegMotionAlarmEnabled && !ffmpegSnapshotGeneration) {
+                if (!ffmpegMotion && !ffmpegSnapshotGeneration) {
                     filterOptions = filterOptions.concat(" -vn");
-                } else if (ffmpegMotionAlarmEnabled && !cameraConfig.getMotionOptions().isEmpty()) {
+                } else if (ffmpegMotion && !cameraConfig.getMotionOptions().isEmpty()) {
                     String usersMotionOptions = cameraConfig.getMotionOptions();
                     if (usersMotionOptions.startsWith("-")) {
                         // Need to put the users custom options first in the chain before the motion is detected
@@ -923,7 +903,7 @@ public class IpCameraHandler extends BaseThingHandler {
                         filterOptions = filterOptions + " " + usersMotionOptions + " -vf select='gte(scene,"
                                 + motionThreshold.divide(BIG_DECIMAL_SCALE_MOTION) + ")',metadata=print";
                     }
-                } else if (ffmpegMotionAlarmEnabled) {
+                } else if (ffmpegMotion) {
                     filterOptions = filterOptions.concat(" -vf select='gte(scene,"
                             + motionThreshold.divide(BIG_DECIMAL_SCALE_MOTION) + ")',metadata=print");
                 }
@@ -1157,6 +1137,15 @@ public class IpCameraHandler extends BaseThingHandler {
                         ffmpegMotionAlarmEnabled = true;
                         motionThreshold = percentCommand.toBigDecimal();
                     }
+                    SnapshotMotionDetector localDetector = snapshotMotionDetector;
+                    if (localDetector != null) {
+                        localDetector.reset();
+                        if (ffmpegMotionAlarmEnabled) {
+                            startSnapshotPolling();
+                        } else {
+                            stopSnapshotPolling();
+                        }
+                    }
                     setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
                     return;
                 case CHANNEL_START_STREAM:
@@ -1358,7 +1347,8 @@ public class IpCameraHandler extends BaseThingHandler {
             cameraConnectionJob = null;
         }
         if (!snapshotUri.isEmpty()) {
-            if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")) {
+            if (cameraConfig.getGifPreroll() > 0 || cameraConfig.getUpdateImageWhen().contains("1")
+                    || isSnapshotMotionDetectionActive()) {
                 snapshotPolling = true;
                 snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 1000,
                         cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
@@ -1514,6 +1504,9 @@ public class IpCameraHandler extends BaseThingHandler {
 
     public void stopSnapshotPolling() {
         Future<?> localFuture;
+        if (isSnapshotMotionDetectionActive()) {
+            return; // The snapshots are needed to detect motion
+        }
         if (!streamingSnapshotMjpeg && cameraConfig.getGifPreroll() == 0
                 && !cameraConfig.getUpdateImageWhen().contains("1")) {
             snapshotPolling = false;
@@ -1534,13 +1527,18 @@ public class IpCameraHandler extends BaseThingHandler {
         if (snapshotPolling || ffmpegSnapshotGeneration) {
             return; // Already polling or creating with FFmpeg from RTSP
         }
-        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")) {
+        if (streamingSnapshotMjpeg || streamingAutoFps || cameraConfig.getUpdateImageWhen().contains("4")
+                || isSnapshotMotionDetectionActive()) {
             snapshotPolling = true;
             snapshotJob = threadPool.scheduleWithFixedDelay(this::snapshotRunnable, 0, cameraConfig.getPollTime(),
                     TimeUnit.MILLISECONDS);
         }
     }
 
+    private boolean isSnapshotMotionDetectionActive() {
+        return ffmpegMotionAlarmEnabled && snapshotMotionDetector != null;
+    }
+
     /**
      * {@link pollCameraRunnable} Polls every 8 seconds, to check camera is still ONLINE and keep alarm
      * streams open and more.
@@ -1615,7 +1613,7 @@ public class IpCameraHandler extends BaseThingHandler {
         if (localFfmpeg != null) {
             localFfmpeg.checkKeepAlive();
         }
-        if (ffmpegMotionAlarmEnabled || ffmpegAudioAlarmEnabled) {
+        if ((ffmpegMotionAlarmEnabled && snapshotMotionDetector == null) || ffmpegAudioAlarmEnabled) {
             localFfmpeg = ffmpegRtspHelper;
             if (localFfmpeg == null || !localFfmpeg.isAlive()) {
                 setupFfmpegFormat(FFmpegFormat.RTSP_ALARMS);
@@ -1645,6 +1643,22 @@ public class IpCameraHandler extends BaseThingHandler {
             cameraConfig
                     .setFfmpegOutput(OpenHAB.getUserDataFolder() + "/ipcamera/" + this.thing.getUID().getId() + "/");
         }
+        snapshotRing = null;
+        if (cameraConfig.getGifPreroll() > 0) {
+            // clamp values from text configuration as well, a direct buffer can not exceed 2 GB
+            int bufferSizeMb = Math.min(Math.max(1, cameraConfig.getGifPrerollBufferSize()),
+                    MAX_GIF_PREROLL_BUFFER_SIZE);
+            snapshotRing = new SnapshotRing(Math.toIntExact(bufferSizeMb * 1024L * 1024L), MAX_GIF_SNAPSHOTS);
+        }
+        snapshotMotionDetector = null;
+        if (cameraConfig.getSnapshotMotionDetection()) {
+            try {
+                snapshotMotionDetector = new SnapshotMotionDetector(this, cameraConfig.getMotionZones());
+            } catch (IllegalArgumentException e) {
+                cameraConfigError("The motionZones are not valid: " + e.getMessage());
+                return;
+            }
+        }
         // Known cameras will connect quicker if we skip ONVIF questions.
         switch (thing.getThingTypeUID().getId()) {
             case AMCREST_THING:
@@ -1849,6 +1863,7 @@ public class IpCameraHandler extends BaseThingHandler {
             servlet = null;
         }
         threadPool.shutdown();
+        snapshotRing = null; // release the direct buffer
         // inform all group handlers that this camera has gone offline
         groupTracker.listOfOnlineCameraHandlers.remove(this);
         groupTracker.listOfOnlineCameraUID.remove(getThing().getUID().getId());
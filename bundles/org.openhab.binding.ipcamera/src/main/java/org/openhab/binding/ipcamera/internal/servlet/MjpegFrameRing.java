@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link MjpegFrameRing} holds the most recent frames of an mjpeg stream, so that any number of
+ * {@link StreamOutput}s can read them with their own cursor without copying a frame per client. Frames are never
+ * modified once published, the ring just drops its reference when the slot is reused and the frame is garbage
+ * collected as soon as the last client has written it.
+ * <p>
+ * The ring is limited by the number of bytes it holds, so that it holds a similar number of complete frames no matter
+ * in how many chunks the camera sends them. The oldest frames are dropped once the limit is reached, but the newest
+ * part of a multipart stream is always kept, even if it alone exceeds the limit.
+ * <p>
+ * Chunks of a multipart stream from the camera are split at the part delimiter before they are published, so that
+ * every part of the stream starts with a new frame, no matter where the chunks received from the camera end.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MjpegFrameRing {
+    public static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicReferenceArray<@Nullable Frame> frames;
+    private final int capacity;
+    private final long maxBytes;
+    private volatile long head = 0;
+    // the oldest frame still held and the size of all frames held, guarded by this
+    private long tail = 0;
+    private long bytes = 0;
+    private volatile long latestPartStart = -1;
+    // the end of the previous chunk, if it might be the beginning of a part delimiter
+    private byte[] pendingChunk = new byte[0];
+
+    /**
+     * A single published frame. For streams from the camera this is a chunk of the multipart stream, for snapshot
+     * based streams this is a complete jpeg.
+     */
+    public static class Frame {
+        private final long sequence;
+        private final byte[] data;
+        private final boolean partStart;
+        private volatile byte @Nullable [] multipart;
+
+        private Frame(long sequence, byte[] data, boolean partStart) {
+            this.sequence = sequence;
+            this.data = data;
+            this.partStart = partStart;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * @return <code>true</code> if this chunk of a multipart stream starts a new part
+         */
+        public boolean isPartStart() {
+            return partStart;
+        }
+
+        /**
+         * Returns the jpeg wrapped into a part of a multipart stream with the {@link #SNAPSHOT_BOUNDARY}. The part is
+         * encoded only once, no matter how many clients receive it.
+         */
+        public byte[] getMultipart() {
+            byte[] multipart = this.multipart;
+            if (multipart == null) {
+                byte[] header = ("--" + SNAPSHOT_BOUNDARY + "\r\nContent-Type: image/jpeg\r\nContent-Length: "
+                        + data.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                multipart = new byte[header.length + data.length + CRLF.length];
+                System.arraycopy(header, 0, multipart, 0, header.length);
+                System.arraycopy(data, 0, multipart, header.length, data.length);
+                System.arraycopy(CRLF, 0, multipart, header.length + data.length, CRLF.length);
+                this.multipart = multipart;
+            }
+            return multipart;
+        }
+
+        private static boolean startsWithBoundary(byte[] data) {
+            int offset = 0;
+            while (offset < data.length && (data[offset] == '\r' || data[offset] == '\n') && offset < 4) {
+                offset++;
+            }
+            return data.length > offset + 1 && data[offset] == '-' && data[offset + 1] == '-';
+        }
+    }
+
+    /**
+     * Creates a ring that is only limited by the number of frames.
+     *
+     * @param capacity the maximum number of frames
+     */
+    public MjpegFrameRing(int capacity) {
+        this(capacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a ring that is limited by the number of frames and their size.
+     *
+     * @param capacity the maximum number of frames, must be large enough for maxBytes in small chunks
+     * @param maxBytes the maximum size of all frames
+     */
+    public MjpegFrameRing(int capacity, long maxBytes) {
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        this.frames = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Publishes a new frame, replacing the oldest frame if the ring is full.
+     *
+     * @param data the frame, must not be modified afterwards
+     */
+    public synchronized void publish(byte[] data) {
+        // an incomplete delimiter held back from the camera's stream can not be completed anymore
+        pendingChunk = new byte[0];
+        add(data, Frame.startsWithBoundary(data));
+    }
+
+    /**
+     * Publishes a chunk of a multipart stream received from the camera. The chunk is split where a part starts, and
+     * bytes at its end that might be the beginning of a part delimiter are held back until the next chunk arrives.
+     *
+     * @param chunk the chunk, must not be modified afterwards
+     * @param boundary the boundary of the multipart stream, without the leading dashes
+     */
+    public synchronized void publishChunk(byte[] chunk, String boundary) {
+        if (boundary.isEmpty()) {
+            publish(chunk);
+            return;
+        }
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        byte[] data = chunk;
+        if (pendingChunk.length > 0) {
+            data = Arrays.copyOf(pendingChunk, pendingChunk.length + chunk.length);
+            System.arraycopy(chunk, 0, data, pendingChunk.length, chunk.length);
+        }
+
+        int start = 0;
+        boolean partStart = false;
+        int delimiterStart = indexOf(data, delimiter, 0);
+        while (delimiterStart >= 0) {
+            if (delimiterStart > start) {
+                add(Arrays.copyOfRange(data, start, delimiterStart), partStart);
+            }
+            start = delimiterStart;
+            partStart = true;
+            delimiterStart = indexOf(data, delimiter, delimiterStart + delimiter.length);
+        }
+
+        // never hold back bytes of a delimiter that has already been found
+        int minimumEnd = partStart ? start + delimiter.length : start;
+        int end = Math.max(minimumEnd, data.length - getPartialDelimiterLength(data, delimiter));
+        if (end > start) {
+            add(start == 0 && end == data.length ? data : Arrays.copyOfRange(data, start, end), partStart);
+        }
+        pendingChunk = end < data.length ? Arrays.copyOfRange(data, end, data.length) : new byte[0];
+    }
+
+    private void add(byte[] data, boolean partStart) {
+        long sequence = head;
+        if (sequence - tail >= capacity) {
+            dropOldest();
+        }
+        frames.set((int) (sequence % capacity), new Frame(sequence, data, partStart));
+        bytes += data.length;
+        if (partStart) {
+            latestPartStart = sequence;
+        }
+        head = sequence + 1;
+        long keepFrom = latestPartStart >= 0 ? latestPartStart : sequence;
+        while (bytes > maxBytes && tail < keepFrom) {
+            dropOldest();
+        }
+    }
+
+    private void dropOldest() {
+        int slot = (int) (tail % capacity);
+        Frame frame = frames.get(slot);
+        if (frame != null && frame.getSequence() == tail) {
+            bytes -= frame.getData().length;
+            frames.set(slot, null);
+        }
+        tail++;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int fromIndex) {
+        for (int i = fromIndex; i <= data.length - pattern.length; i++) {
+            if (data[i] == pattern[0] && Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the length of the longest end of data that is the beginning of the delimiter
+     */
+    private static int getPartialDelimiterLength(byte[] data, byte[] delimiter) {
+        for (int length = Math.min(delimiter.length - 1, data.length); length > 0; length--) {
+            if (Arrays.equals(data, data.length - length, data.length, delimiter, 0, length)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the sequence number the next published frame will get
+     */
+    public long getHead() {
+        return head;
+    }
+
+    /**
+     * @return the sequence number of the newest frame that starts a part of a multipart stream, -1 if there is none
+     */
+    public long getLatestPartStart() {
+        return latestPartStart;
+    }
+
+    /**
+     * Returns the frame with the given sequence number.
+     *
+     * @param sequence the sequence number
+     * @return the frame or <code>null</code> if it has not been published yet or was already replaced
+     */
+    public @Nullable Frame get(long sequence) {
+        if (sequence < 0) {
+            return null;
+        }
+        Frame frame = frames.get((int) (sequence % capacity));
+        return frame != null && frame.getSequence() == sequence ? frame : null;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < capacity; i++) {
+            frames.set(i, null);
+        }
+        tail = head;
+        bytes = 0;
+        latestPartStart = -1;
+        pendingChunk = new byte[0];
+    }
+}
@@ -12,22 +12,31 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all streams to allow
+ * 1 to many streams without needing to open more than 1 source stream. Frames are published once to a shared
+ * {@link MjpegFrameRing} that all asynchronous streams read from.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
-    public String boundary = "thisMjpegStream";
+    // the ring holds several frames of a high resolution stream, and enough slots for them even in 2 kB chunks
+    private static final long RING_BYTES = 4 * 1024 * 1024;
+    private static final int RING_CAPACITY = 2048;
+
+    private List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final MjpegFrameRing ring = new MjpegFrameRing(RING_CAPACITY, RING_BYTES);
+    public String boundary = MjpegFrameRing.SNAPSHOT_BOUNDARY;
+
+    public MjpegFrameRing getRing() {
+        return ring;
+    }
 
     public synchronized void addStream(StreamOutput stream) {
         openStreams.add(stream);
@@ -52,9 +61,29 @@ public class OpenStreams {
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    /**
+     * Publishes a frame to all streams. The frame must not be modified afterwards.
+     *
+     * @param frame the frame
+     */
+    public void queueFrame(byte[] frame) {
+        ring.publish(frame);
+        notifyStreams();
+    }
+
+    /**
+     * Publishes a chunk of the camera's multipart stream to all streams. The chunk must not be modified afterwards.
+     *
+     * @param chunk the chunk as received from the camera
+     */
+    public void queueChunk(byte[] chunk) {
+        ring.publishChunk(chunk, boundary);
+        notifyStreams();
+    }
+
+    private void notifyStreams() {
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.frameAvailable();
         }
     }
 
@@ -63,5 +92,6 @@ public class OpenStreams {
             stream.close();
         }
         openStreams.clear();
+        ring.clear();
     }
 }
@@ -13,18 +13,28 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.MjpegFrameRing.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. Streams fed by {@link OpenStreams} read the shared
+ * {@link MjpegFrameRing} with their own cursor and are written with non-blocking servlet I/O. A client that can not
+ * keep up skips to the newest frame instead of buffering old ones.
  *
  * @author Matthew Skinner - Initial contribution
  */
@@ -35,12 +45,22 @@ public class StreamOutput {
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
-    private boolean connected = false;
+    private volatile boolean connected = false;
     public boolean isSnapshotBased = false;
 
+    // non-blocking fan-out of a shared ring
+    private @Nullable MjpegFrameRing ring;
+    private @Nullable AsyncContext asyncContext;
+    private Consumer<StreamOutput> onClose = stream -> {
+    };
+    private final AtomicInteger pumpRequests = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private long cursor;
+    private boolean resync = true;
+    private boolean initialFrameSent = false;
+
     public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
+        boundary = MjpegFrameRing.SNAPSHOT_BOUNDARY;
         contentType = "multipart/x-mixed-replace; boundary=" + boundary;
         this.response = response;
         output = response.getOutputStream();
@@ -59,28 +79,86 @@ public class StreamOutput {
     }
 
     public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+        byte[] header = ("--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
+                + currentSnapshot.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
         if (!connected) {
             sendInitialHeaders();
             // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
+            output.write(header);
             output.write(currentSnapshot);
             output.write("\r\n".getBytes());
             connected = true;
         }
-        output.write(header.getBytes());
+        output.write(header);
         output.write(currentSnapshot);
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+    /**
+     * Starts streaming the frames of the given ring asynchronously, without blocking a thread while the client is not
+     * able to receive data or no new frame is available.
+     *
+     * @param asyncContext the started {@link AsyncContext} of the request
+     * @param ring the ring holding the frames of the stream
+     * @param onClose called once when the stream has been closed
+     */
+    public void startAsync(AsyncContext asyncContext, MjpegFrameRing ring, Consumer<StreamOutput> onClose) {
+        this.asyncContext = asyncContext;
+        this.ring = ring;
+        this.onClose = onClose;
+        cursor = ring.getHead();
+        if (isSnapshotBased) {
+            sendInitialHeaders();
+            connected = true;
+            // start with the newest snapshot, if there is one
+            cursor = Math.max(0, cursor - 1);
+        }
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onTimeout(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onError(@Nullable AsyncEvent event) {
+                close();
+            }
+
+            @Override
+            public void onStartAsync(@Nullable AsyncEvent event) {
+            }
+        });
+        output.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                pump();
+            }
+
+            @Override
+            public void onError(@Nullable Throwable t) {
+                close();
+            }
+        });
+    }
+
+    /**
+     * Called by {@link OpenStreams} when a new frame has been published to the ring.
+     */
+    public void frameAvailable() {
+        AsyncContext asyncContext = this.asyncContext;
+        if (asyncContext != null && connected && !closed.get() && pumpRequests.get() == 0) {
+            try {
+                asyncContext.start(this::pump);
+            } catch (IllegalStateException e) {
+                // the request has already been completed
+                close();
+            }
         }
     }
 
@@ -90,14 +168,82 @@ public class StreamOutput {
             sendInitialHeaders();
             connected = true;
         }
+        frameAvailable();
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+    /**
+     * Writes frames as long as the client is able to receive them. Concurrent calls are merged, so that only one
+     * thread writes at a time.
+     */
+    private void pump() {
+        if (pumpRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            try {
+                writeFrames();
+            } catch (IOException | IllegalStateException e) {
+                // Occurs when browser stops the stream.
+                close();
+                return;
+            }
+            missed = pumpRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void writeFrames() throws IOException {
+        while (connected && !closed.get() && output.isReady()) {
+            Frame frame = nextFrame();
+            if (frame == null) {
+                return;
+            }
+            if (isSnapshotBased) {
+                output.write(frame.getMultipart());
+                if (!initialFrameSent) {
+                    // iOS needs to have two jpgs sent for the picture to appear instantly.
+                    initialFrameSent = true;
+                    continue;
+                }
+            } else {
+                output.write(frame.getData());
+            }
+            cursor = frame.getSequence() + 1;
+        }
+    }
+
+    /**
+     * Returns the next frame to write. If the client has fallen behind, it continues with the newest part of the
+     * stream (latest frame wins). A chunk from the camera is only skipped at part boundaries, so that the client
+     * never receives a partial jpeg.
+     */
+    private @Nullable Frame nextFrame() {
+        MjpegFrameRing ring = this.ring;
+        if (ring == null) {
+            return null;
+        }
+        long head = ring.getHead();
+        if (cursor >= head) {
+            return null;
+        }
+        Frame frame = ring.get(cursor);
+        if (frame == null) {
+            // the frame was already replaced
+            resync = true;
         }
+        if (resync || isSnapshotBased || (frame != null && frame.isPartStart())) {
+            long latest = isSnapshotBased ? head - 1 : ring.getLatestPartStart();
+            if (latest >= cursor) {
+                cursor = latest;
+                frame = ring.get(latest);
+                resync = frame == null;
+            } else if (resync) {
+                // wait for the start of the next part
+                cursor = head;
+                return null;
+            }
+        }
+        return frame;
     }
 
     private void sendInitialHeaders() {
@@ -107,9 +253,21 @@ public class StreamOutput {
     }
 
     public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncContext asyncContext = this.asyncContext;
+        if (asyncContext != null) {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
         try {
             output.close();
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
         }
+        onClose.accept(this);
     }
 }
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.CHANNEL_FFMPEG_MOTION_ALARM;
+import static org.openhab.binding.ipcamera.internal.SnapshotMotionDetector.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.ipcamera.internal.handler.IpCameraHandler;
+
+/**
+ * Tests cases for {@link SnapshotMotionDetector}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class SnapshotMotionDetectorTest {
+    private static final int CELLS = GRID_WIDTH * GRID_HEIGHT;
+
+    private @Mock @NonNullByDefault({}) IpCameraHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        handler.motionThreshold = BigDecimal.TEN;
+    }
+
+    private static int[] grid(int luminance) {
+        int[] grid = new int[CELLS];
+        Arrays.fill(grid, luminance);
+        return grid;
+    }
+
+    private static boolean isInZone(boolean[] mask, int column, int row) {
+        return mask[row * GRID_WIDTH + column];
+    }
+
+    private static int count(boolean[] mask) {
+        int cells = 0;
+        for (boolean inZone : mask) {
+            if (inZone) {
+                cells++;
+            }
+        }
+        return cells;
+    }
+
+    @Test
+    public void emptyZonesSelectWholePicture() {
+        assertEquals(CELLS, count(parseZones("")));
+        assertEquals(CELLS, count(parseZones("  ")));
+    }
+
+    @Test
+    public void zoneSelectsCellsWithCenterInside() {
+        boolean[] mask = parseZones("0,0,50,50");
+
+        assertEquals(GRID_WIDTH / 2 * GRID_HEIGHT / 2, count(mask));
+        assertTrue(isInZone(mask, 0, 0));
+        assertTrue(isInZone(mask, GRID_WIDTH / 2 - 1, GRID_HEIGHT / 2 - 1));
+        assertFalse(isInZone(mask, GRID_WIDTH / 2, 0));
+        assertFalse(isInZone(mask, 0, GRID_HEIGHT / 2));
+    }
+
+    @Test
+    public void multipleZonesAreCombined() {
+        boolean[] mask = parseZones(" 0, 0, 50, 50 ; 50,50,50,50;");
+
+        assertEquals(CELLS / 2, count(mask));
+        assertTrue(isInZone(mask, 0, 0));
+        assertTrue(isInZone(mask, GRID_WIDTH - 1, GRID_HEIGHT - 1));
+        assertFalse(isInZone(mask, GRID_WIDTH - 1, 0));
+        assertFalse(isInZone(mask, 0, GRID_HEIGHT - 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "10,10,10", "10,10,10,10,10", "a,10,10,10", "0,0,50,50;10" })
+    public void invalidZonesRejected(String motionZones) {
+        assertThrows(IllegalArgumentException.class, () -> parseZones(motionZones));
+    }
+
+    @Test
+    public void brightnessShiftIsNoChange() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+
+        assertEquals(0, detector.changedPercent(grid(100), grid(160)));
+    }
+
+    @Test
+    public void changedCellsCounted() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+        int[] grid = grid(100);
+        // changes in both directions keep the average brightness, so only the cell threshold matters
+        for (int i = 0; i < CELLS / 8; i++) {
+            grid[2 * i] += 13;
+            grid[2 * i + 1] -= 13;
+        }
+
+        assertEquals(25, detector.changedPercent(grid(100), grid));
+    }
+
+    @Test
+    public void changeUpToCellThresholdIgnored() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+        int[] grid = grid(100);
+        for (int i = 0; i < CELLS / 8; i++) {
+            grid[2 * i] += 12;
+            grid[2 * i + 1] -= 12;
+        }
+
+        assertEquals(0, detector.changedPercent(grid(100), grid));
+    }
+
+    @Test
+    public void changeOutsideZonesIgnored() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "0,0,50,50");
+        int[] grid = grid(100);
+        for (int column = GRID_WIDTH / 2; column < GRID_WIDTH; column++) {
+            grid[column] = 255;
+        }
+
+        assertEquals(0, detector.changedPercent(grid(100), grid));
+
+        for (int column = 0; column < GRID_WIDTH / 2; column++) {
+            grid[column] = column % 2 == 0 ? 150 : 50;
+        }
+        assertEquals(GRID_WIDTH / 2 * 100 / (CELLS / 4), detector.changedPercent(grid(100), grid));
+    }
+
+    private static int[] motionGrid(int changedPercent) {
+        int[] grid = grid(100);
+        for (int i = 0; i < CELLS * changedPercent / 200; i++) {
+            grid[2 * i] += 50;
+            grid[2 * i + 1] -= 50;
+        }
+        return grid;
+    }
+
+    @Test
+    public void alarmFollowsThreshold() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+        detector.analyse(grid(100));
+        detector.analyse(motionGrid(5));
+        detector.analyse(grid(100));
+        verify(handler, never()).motionDetected(anyString());
+
+        detector.analyse(motionGrid(20));
+        detector.analyse(grid(100));
+        verify(handler, times(1)).motionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+
+        // the alarm is only cleared after three snapshots without motion
+        detector.analyse(grid(100));
+        detector.analyse(grid(100));
+        verify(handler, never()).noMotionDetected(anyString());
+        detector.analyse(grid(100));
+        verify(handler, times(1)).noMotionDetected(CHANNEL_FFMPEG_MOTION_ALARM);
+    }
+
+    @Test
+    public void noAlarmWithoutThreshold() {
+        handler.motionThreshold = BigDecimal.ZERO;
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+        detector.analyse(grid(100));
+        detector.analyse(motionGrid(100));
+
+        verify(handler, never()).motionDetected(anyString());
+    }
+
+    @Test
+    public void resetForgetsLastSnapshot() {
+        SnapshotMotionDetector detector = new SnapshotMotionDetector(handler, "");
+        detector.analyse(grid(100));
+        detector.reset();
+        detector.analyse(motionGrid(20));
+
+        verify(handler, never()).motionDetected(anyString());
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link SnapshotRing}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SnapshotRingTest {
+
+    private static byte[] snapshot(int length, int value) {
+        byte[] snapshot = new byte[length];
+        Arrays.fill(snapshot, (byte) value);
+        return snapshot;
+    }
+
+    private static byte[] read(SnapshotRing ring, long sequence) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] chunk = new byte[7];
+        int offset = 0;
+        int count;
+        while ((count = ring.read(sequence, offset, chunk)) > 0) {
+            output.write(chunk, 0, count);
+            offset += count;
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    public void addAndRead() {
+        SnapshotRing ring = new SnapshotRing(100, 10);
+        ring.add(snapshot(20, 1), 10);
+        ring.add(snapshot(30, 2), 10);
+
+        assertEquals(0, ring.getTail());
+        assertEquals(2, ring.getHead());
+        assertArrayEquals(snapshot(20, 1), read(ring, 0));
+        assertArrayEquals(snapshot(30, 2), read(ring, 1));
+        assertEquals(-1, ring.read(2, 0, new byte[10]));
+    }
+
+    @Test
+    public void snapshotWrapsAroundEndOfBuffer() {
+        SnapshotRing ring = new SnapshotRing(100, 10);
+        ring.add(snapshot(40, 1), 10);
+        ring.add(snapshot(40, 2), 10);
+        // only 20 bytes are left at the end of the buffer, the first snapshot is dropped to make room
+        ring.add(snapshot(50, 3), 10);
+
+        assertEquals(1, ring.getTail());
+        assertEquals(-1, ring.read(0, 0, new byte[10]));
+        assertArrayEquals(snapshot(40, 2), read(ring, 1));
+        assertArrayEquals(snapshot(50, 3), read(ring, 2));
+    }
+
+    @Test
+    public void oldestSnapshotsDroppedAtLimit() {
+        SnapshotRing ring = new SnapshotRing(1000, 10);
+        for (int i = 0; i < 5; i++) {
+            ring.add(snapshot(10, i), 3);
+        }
+
+        assertEquals(2, ring.getTail());
+        assertEquals(5, ring.getHead());
+        assertArrayEquals(snapshot(10, 2), read(ring, 2));
+        assertArrayEquals(snapshot(10, 4), read(ring, 4));
+    }
+
+    @Test
+    public void limitIsCappedAtMaximumSnapshots() {
+        SnapshotRing ring = new SnapshotRing(1000, 4);
+        for (int i = 0; i < 10; i++) {
+            ring.add(snapshot(10, i), 100);
+        }
+
+        assertEquals(6, ring.getTail());
+        assertArrayEquals(snapshot(10, 6), read(ring, 6));
+        assertArrayEquals(snapshot(10, 9), read(ring, 9));
+    }
+
+    @Test
+    public void snapshotLargerThanBufferIgnored() {
+        SnapshotRing ring = new SnapshotRing(100, 10);
+        ring.add(snapshot(20, 1), 10);
+        ring.add(snapshot(101, 2), 10);
+
+        assertEquals(1, ring.getHead());
+        assertArrayEquals(snapshot(20, 1), read(ring, 0));
+    }
+
+    @Test
+    public void clearDropsAllSnapshots() {
+        SnapshotRing ring = new SnapshotRing(100, 10);
+        ring.add(snapshot(20, 1), 10);
+        ring.clear();
+
+        assertEquals(ring.getHead(), ring.getTail());
+        assertEquals(-1, ring.read(0, 0, new byte[10]));
+    }
+
+    @Test
+    public void writeToConcatenatesSnapshots() throws IOException {
+        SnapshotRing ring = new SnapshotRing(100_000, 10);
+        ring.add(snapshot(20_000, 1), 10);
+        ring.add(snapshot(30_000, 2), 10);
+        ring.add(snapshot(40_000, 3), 10);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(2, ring.writeTo(output, 1, 3));
+
+        byte[] expected = new byte[70_000];
+        Arrays.fill(expected, 0, 30_000, (byte) 2);
+        Arrays.fill(expected, 30_000, 70_000, (byte) 3);
+        assertArrayEquals(expected, output.toByteArray());
+    }
+
+    @Test
+    public void writeToSkipsDroppedSnapshots() throws IOException {
+        SnapshotRing ring = new SnapshotRing(100, 10);
+        ring.add(snapshot(20, 1), 2);
+        ring.add(snapshot(20, 2), 2);
+        ring.add(snapshot(20, 3), 2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(2, ring.writeTo(output, 0, 3));
+        assertEquals(40, output.size());
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.MjpegFrameRing.Frame;
+
+/**
+ * Tests cases for {@link MjpegFrameRing}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MjpegFrameRingTest {
+    private static final String BOUNDARY = "myboundary";
+    private static final String PART1 = "--myboundary\r\nContent-Type: image/jpeg\r\n\r\nJPEG-ONE\r\n";
+    private static final String PART2 = "--myboundary\r\nContent-Type: image/jpeg\r\n\r\nJPEG-TWO\r\n";
+
+    private final MjpegFrameRing ring = new MjpegFrameRing(16);
+
+    private void publishChunks(String... chunks) {
+        for (String chunk : chunks) {
+            ring.publishChunk(chunk.getBytes(StandardCharsets.US_ASCII), BOUNDARY);
+        }
+    }
+
+    private List<Frame> getFrames() {
+        List<Frame> frames = new ArrayList<>();
+        for (long sequence = 0; sequence < ring.getHead(); sequence++) {
+            Frame frame = ring.get(sequence);
+            assertNotNull(frame);
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private String getString(Frame frame) {
+        return new String(frame.getData(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void chunkAlignedWithParts() {
+        publishChunks(PART1, PART2);
+
+        List<Frame> frames = getFrames();
+        assertEquals(2, frames.size());
+        assertTrue(frames.get(0).isPartStart());
+        assertEquals(PART1, getString(frames.get(0)));
+        assertTrue(frames.get(1).isPartStart());
+        assertEquals(PART2, getString(frames.get(1)));
+        assertEquals(1, ring.getLatestPartStart());
+    }
+
+    @Test
+    public void boundaryInMiddleOfChunk() {
+        String stream = PART1 + PART2;
+        int split = PART1.length() + 20;
+        // the second chunk holds the end of the first and the beginning of the second part
+        publishChunks(stream.substring(0, 30), stream.substring(30, split), stream.substring(split));
+
+        List<Frame> frames = getFrames();
+        assertEquals(4, frames.size());
+        assertTrue(frames.get(0).isPartStart());
+        assertFalse(frames.get(1).isPartStart());
+        assertEquals(PART1, getString(frames.get(0)) + getString(frames.get(1)));
+        assertTrue(frames.get(2).isPartStart());
+        assertEquals(PART2, getString(frames.get(2)) + getString(frames.get(3)));
+        assertEquals(2, ring.getLatestPartStart());
+    }
+
+    @Test
+    public void boundarySplitAcrossChunks() {
+        String stream = PART1 + PART2;
+        int split = PART1.length() + 5;
+        publishChunks(stream.substring(0, split), stream.substring(split));
+
+        List<Frame> frames = getFrames();
+        assertEquals(2, frames.size());
+        // the beginning of the delimiter is held back until the next chunk
+        assertEquals(PART1, getString(frames.get(0)));
+        assertTrue(frames.get(1).isPartStart());
+        assertEquals(PART2, getString(frames.get(1)));
+    }
+
+    @Test
+    public void dashesInsideJpegDoNotStartPart() {
+        publishChunks(PART1.substring(0, 40), "--not-a-delimiter", PART1.substring(40));
+
+        List<Frame> frames = getFrames();
+        assertEquals(1, frames.stream().filter(Frame::isPartStart).count());
+        StringBuilder data = new StringBuilder();
+        frames.forEach(frame -> data.append(getString(frame)));
+        assertEquals(PART1.substring(0, 40) + "--not-a-delimiter" + PART1.substring(40), data.toString());
+    }
+
+    @Test
+    public void publishStartsPartOfSnapshotStream() {
+        ring.publish(("--" + BOUNDARY + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        ring.publish("JPEG".getBytes(StandardCharsets.US_ASCII));
+
+        List<Frame> frames = getFrames();
+        assertTrue(frames.get(0).isPartStart());
+        assertFalse(frames.get(1).isPartStart());
+    }
+
+    private static String largePart(int number, int jpegSize) {
+        String jpeg = String.valueOf((char) ('A' + number)).repeat(jpegSize);
+        return "--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n\r\n" + jpeg + "\r\n";
+    }
+
+    private static void publishInChunks(MjpegFrameRing ring, String part, int chunkSize) {
+        for (int start = 0; start < part.length(); start += chunkSize) {
+            String chunk = part.substring(start, Math.min(part.length(), start + chunkSize));
+            ring.publishChunk(chunk.getBytes(StandardCharsets.US_ASCII), BOUNDARY);
+        }
+    }
+
+    private static String read(MjpegFrameRing ring, long from, long to) {
+        StringBuilder data = new StringBuilder();
+        for (long sequence = from; sequence < to; sequence++) {
+            Frame frame = ring.get(sequence);
+            assertNotNull(frame, "frame " + sequence + " was dropped");
+            data.append(new String(frame.getData(), StandardCharsets.US_ASCII));
+        }
+        return data.toString();
+    }
+
+    @Test
+    public void multiChunkFramesLimitedByBytes() {
+        int partSize = largePart(0, 1000).length();
+        MjpegFrameRing ring = new MjpegFrameRing(1024, 3L * partSize);
+        long[] partStarts = new long[7];
+        for (int number = 0; number < 6; number++) {
+            partStarts[number] = ring.getHead();
+            publishInChunks(ring, largePart(number, 1000), 10);
+        }
+        partStarts[6] = ring.getHead();
+
+        // about 100 chunks per frame, the last three frames are still complete
+        assertEquals(partStarts[5], ring.getLatestPartStart());
+        for (int number = 3; number < 6; number++) {
+            assertEquals(largePart(number, 1000), read(ring, partStarts[number], partStarts[number + 1]));
+        }
+        assertNull(ring.get(partStarts[2]));
+        assertNull(ring.get(0));
+    }
+
+    @Test
+    public void newestPartKeptBeyondByteLimit() {
+        MjpegFrameRing ring = new MjpegFrameRing(1024, 100);
+        publishInChunks(ring, largePart(0, 500), 10);
+        long partStart = ring.getHead();
+        publishInChunks(ring, largePart(1, 500), 10);
+
+        // a client that fell behind continues with the newest part, so all of it is kept
+        assertEquals(partStart, ring.getLatestPartStart());
+        assertEquals(largePart(1, 500), read(ring, partStart, ring.getHead()));
+        assertNull(ring.get(partStart - 1));
+    }
+
+    @Test
+    public void frameCountStillLimitsSmallFrames() {
+        MjpegFrameRing ring = new MjpegFrameRing(4, 1000);
+        for (int number = 0; number < 6; number++) {
+            ring.publish(new byte[] { (byte) number });
+        }
+
+        assertNull(ring.get(1));
+        assertNotNull(ring.get(2));
+        assertNotNull(ring.get(5));
+    }
+}
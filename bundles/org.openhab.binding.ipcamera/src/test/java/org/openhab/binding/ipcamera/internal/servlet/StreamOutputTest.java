@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests cases for {@link StreamOutput} reading a {@link MjpegFrameRing}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class StreamOutputTest {
+    private static final String BOUNDARY = "myboundary";
+    private static final String CONTENT_TYPE = "multipart/x-mixed-replace; boundary=" + BOUNDARY;
+
+    private @Mock @NonNullByDefault({}) HttpServletResponse response;
+    private @Mock @NonNullByDefault({}) AsyncContext asyncContext;
+
+    private final CapturingOutputStream output = new CapturingOutputStream();
+
+    private static class CapturingOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(@Nullable WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        public String getData() {
+            return data.toString(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        when(response.getOutputStream()).thenReturn(output);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(asyncContext).start(any());
+    }
+
+    private static String part(int number) {
+        return "--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n\r\nJPEG-" + number + "\r\n";
+    }
+
+    private static void publish(MjpegFrameRing ring, String chunk) {
+        ring.publishChunk(chunk.getBytes(StandardCharsets.US_ASCII), BOUNDARY);
+    }
+
+    private StreamOutput startStream(MjpegFrameRing ring) throws IOException {
+        StreamOutput stream = new StreamOutput(response, CONTENT_TYPE);
+        stream.startAsync(asyncContext, ring, s -> {
+        });
+        return stream;
+    }
+
+    @Test
+    public void newClientStartsAtPartInsideChunk() throws IOException {
+        MjpegFrameRing ring = new MjpegFrameRing(16);
+        String data = part(1) + part(2);
+        int split = part(1).length() + 20;
+        publish(ring, data.substring(0, 30));
+
+        StreamOutput stream = startStream(ring);
+        // the next part starts in the middle of this chunk
+        publish(ring, data.substring(30, split));
+        stream.frameAvailable();
+        publish(ring, data.substring(split));
+        stream.frameAvailable();
+
+        assertEquals(part(2), output.getData());
+    }
+
+    @Test
+    public void slowClientResyncsToLatestPart() throws IOException {
+        MjpegFrameRing ring = new MjpegFrameRing(4);
+        StreamOutput stream = startStream(ring);
+        output.ready = false;
+
+        for (int number = 1; number <= 10; number++) {
+            String part = part(number);
+            publish(ring, part.substring(0, 25));
+            publish(ring, part.substring(25));
+            stream.frameAvailable();
+        }
+        output.ready = true;
+        stream.frameAvailable();
+
+        assertEquals(part(10), output.getData());
+    }
+
+    @Test
+    public void slowClientReceivesWholeMultiChunkFrame() throws IOException {
+        MjpegFrameRing ring = new OpenStreams().getRing();
+        StreamOutput stream = startStream(ring);
+        output.ready = false;
+
+        String jpeg = "J".repeat(200 * 1024);
+        String part = "";
+        for (int number = 1; number <= 4; number++) {
+            part = part(number) + jpeg + "\r\n";
+            // a 200 kB frame in chunks of 2 kB
+            for (int start = 0; start < part.length(); start += 2048) {
+                publish(ring, part.substring(start, Math.min(part.length(), start + 2048)));
+            }
+            stream.frameAvailable();
+        }
+        output.ready = true;
+        stream.frameAvailable();
+
+        // the newest frame is still complete in the ring, although it spans about 100 chunks
+        assertEquals(part, output.getData());
+    }
+}
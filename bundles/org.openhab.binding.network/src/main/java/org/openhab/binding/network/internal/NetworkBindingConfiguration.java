@@ -13,12 +13,14 @@
 package org.openhab.binding.network.internal;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 
 /**
  * Contains the binding configuration and default values. The field names represent the configuration names,
@@ -34,6 +36,7 @@ public class NetworkBindingConfiguration {
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
     public ArpPingUtilEnum arpPingUtilMethod = ArpPingUtilEnum.DISABLED;
+    public boolean useNeighbourTable = false;
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
 
@@ -45,9 +48,14 @@ public class NetworkBindingConfiguration {
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.useNeighbourTable = newConfiguration.useNeighbourTable;
 
-        NetworkUtils networkUtils = new NetworkUtils();
-        this.arpPingUtilMethod = networkUtils.determineNativeArpPingMethod(arpPingToolPath);
+        if (useNeighbourTable && Files.isReadable(PresenceProber.NEIGHBOUR_TABLE)) {
+            this.arpPingUtilMethod = ArpPingUtilEnum.NEIGHBOUR_TABLE;
+        } else {
+            NetworkUtils networkUtils = new NetworkUtils();
+            this.arpPingUtilMethod = networkUtils.determineNativeArpPingMethod(arpPingToolPath);
+        }
 
         notifyListeners();
     }
@@ -65,6 +73,6 @@ public class NetworkBindingConfiguration {
         return "NetworkBindingConfiguration{" + "allowSystemPings=" + allowSystemPings + ", allowDHCPlisten="
                 + allowDHCPlisten + ", cacheDeviceStateTimeInMS=" + cacheDeviceStateTimeInMS + ", arpPingToolPath='"
                 + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", preferResponseTimeAsLatency="
-                + preferResponseTimeAsLatency + '}';
+                + preferResponseTimeAsLatency + ", useNeighbourTable=" + useNeighbourTable + '}';
     }
 }
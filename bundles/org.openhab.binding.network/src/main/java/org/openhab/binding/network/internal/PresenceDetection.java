@@ -25,12 +25,9 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +42,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.openhab.core.cache.ExpiringCache;
 import org.openhab.core.cache.ExpiringCacheAsync;
 import org.slf4j.Logger;
@@ -89,20 +87,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
 
     private final PresenceDetectionListener updateListener;
+    private final PresenceProber prober;
     private ScheduledExecutorService scheduledExecutorService;
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService detectionExecutorService;
-    protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
     int detectionChecks;
     private String lastReachableNetworkInterfaceName = "";
 
-    public PresenceDetection(final PresenceDetectionListener updateListener,
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProber prober,
             ScheduledExecutorService scheduledExecutorService, Duration cacheDeviceStateTime)
             throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.prober = prober;
         this.scheduledExecutorService = scheduledExecutorService;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTime);
     }
@@ -285,10 +283,6 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(this::performPresenceDetection).thenAccept(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     private void withDestinationAddress(Consumer<InetAddress> consumer) {
         InetAddress destinationAddress = destination.getValue();
         if (destinationAddress == null) {
@@ -298,24 +292,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
-    private void stopDetection() {
-        ExecutorService detectionExecutorService = this.detectionExecutorService;
-        if (detectionExecutorService != null) {
-            logger.debug("Shutting down detectionExecutorService");
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-        }
-        ExecutorService waitForResultExecutorService = this.waitForResultExecutorService;
-        if (waitForResultExecutorService != null) {
-            logger.debug("Shutting down waitForResultExecutorService");
-            waitForResultExecutorService.shutdownNow();
-            this.waitForResultExecutorService = null;
-        }
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and TCP connection attempts simultaneously.
-     * A fixed thread pool will be created with as many threads as necessary to perform all tests at once.
+     * TCP connection attempts and neighbour table checks are performed by the shared {@link PresenceProber} without
+     * blocking a thread, all other checks are run on the shared executor of the {@link PresenceProber}.
      *
      * Please be aware of the following restrictions:
      * <ul>
@@ -332,7 +312,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (pingMethod != null) {
             detectionChecks += 1;
         }
-        if (arpPingMethod.canProceed) {
+        if (arpPingMethod == ArpPingUtilEnum.NEIGHBOUR_TABLE) {
+            // the neighbour table covers all network interfaces
+            detectionChecks += 1;
+        } else if (arpPingMethod.canProceed) {
             if (!lastReachableNetworkInterfaceName.isEmpty()) {
                 interfaceNames = Set.of(lastReachableNetworkInterfaceName);
             } else if (!networkInterfaceNames.isEmpty()) {
@@ -351,61 +334,40 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return CompletableFuture.completedFuture(pdv);
         }
 
-        stopDetection();
-
-        ExecutorService detectionExecutorService = getThreadsFor(detectionChecks);
-        this.detectionExecutorService = detectionExecutorService;
-        ExecutorService waitForResultExecutorService = getThreadsFor(1);
-        this.waitForResultExecutorService = waitForResultExecutorService;
-
+        Executor executor = prober.getBlockingExecutor();
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
 
         for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + tcpPort);
-                performServicePing(pdv, tcpPort);
-            }, detectionExecutorService);
+            addDetection(completableFutures, performServicePing(pdv, tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performArpPing(pdv, "");
-            }, detectionExecutorService);
+        // ARP ping for IPv4 addresses. Use single check for the Windows tool and the neighbour table
+        // and a check for each network interface for other tools
+        if (arpPingMethod == ArpPingUtilEnum.NEIGHBOUR_TABLE) {
+            addDetection(completableFutures, performNeighbourPing(pdv));
+        } else if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            addDetection(completableFutures, CompletableFuture.runAsync(() -> performArpPing(pdv, ""), executor));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                addAsyncDetection(completableFutures, () -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performArpPing(pdv, interfaceName);
-                }, detectionExecutorService);
+                addDetection(completableFutures,
+                        CompletableFuture.runAsync(() -> performArpPing(pdv, interfaceName), executor));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
+            addDetection(completableFutures, CompletableFuture.runAsync(() -> {
                 if (pingMethod == IpPingMethodEnum.JAVA_PING) {
                     performJavaPing(pdv);
                 } else {
                     performSystemPing(pdv);
                 }
-            }, detectionExecutorService);
+            }, executor));
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            Thread.currentThread().setName("presenceDetectionResult_" + hostname);
-            logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
-            completableFutures.forEach(completableFuture -> {
-                try {
-                    completableFuture.join();
-                } catch (CancellationException | CompletionException e) {
-                    logger.debug("Detection future failed to complete", e);
-                }
-            });
+        logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
+        return CompletableFuture.allOf(completableFutures.toArray(CompletableFuture[]::new)).handle((v, e) -> {
             logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
 
             if (!pdv.isReachable()) {
@@ -416,18 +378,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             logger.debug("Sending listener final result: {}", pdv);
             updateListener.finalDetectionResult(pdv);
 
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
             detectionChecks = 0;
 
             return pdv;
-        }, waitForResultExecutorService);
+        });
     }
 
-    private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
-            ExecutorService executorService) {
-        completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
-                .orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS));
+    private void addDetection(List<CompletableFuture<Void>> completableFutures, CompletableFuture<Void> detection) {
+        completableFutures.add(detection.orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    logger.debug("Detection future failed to complete", e);
+                    return null;
+                }));
     }
 
     /**
@@ -471,20 +433,48 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(pdv);
     }
 
-    protected void performServicePing(PresenceDetectionValue pdv, int tcpPort) {
+    /**
+     * Performs a non-blocking TCP connection attempt with the {@link PresenceProber}.
+     *
+     * @param pdv the {@link PresenceDetectionValue} to update
+     * @param tcpPort the TCP port to connect to
+     * @return a {@link CompletableFuture} completed when the connection attempt has finished
+     */
+    protected CompletableFuture<Void> performServicePing(PresenceDetectionValue pdv, int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeout);
-                if (pingResult.isSuccess()) {
-                    updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
-                }
-            } catch (IOException e) {
-                // This should not happen and might be a user configuration issue, we log a warning message therefore.
-                logger.warn("Could not create a socket connection", e);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            logger.trace("The destinationAddress for {} is null", hostname);
+            return CompletableFuture.completedFuture(null);
+        }
+        // the result is handled on the scheduler, so that the listener does not hold up the prober
+        return prober.tcpPing(destinationAddress, tcpPort, timeout).thenAcceptAsync(pingResult -> {
+            if (pingResult.isSuccess()) {
+                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
             }
-        });
+        }, scheduledExecutorService);
+    }
+
+    /**
+     * Performs an "ARP ping" by checking the kernel neighbour table with the {@link PresenceProber}.
+     *
+     * @param pdv the {@link PresenceDetectionValue} to update
+     * @return a {@link CompletableFuture} completed when the check has finished
+     */
+    protected CompletableFuture<Void> performNeighbourPing(PresenceDetectionValue pdv) {
+        logger.trace("Perform neighbour table presence detection for {}", hostname);
+
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            logger.trace("The destinationAddress for {} is null", hostname);
+            return CompletableFuture.completedFuture(null);
+        }
+        return prober.neighbourPing(destinationAddress, iosDevice, timeout).thenAcceptAsync(pingResult -> {
+            if (pingResult.isSuccess()) {
+                updateReachable(pdv, ARP_PING, getLatency(pingResult));
+            }
+        }, scheduledExecutorService);
     }
 
     /**
@@ -589,7 +579,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             } catch (InterruptedException | ExecutionException e) {
                 logger.debug("Failed to refresh {} presence detection", hostname, e);
             }
-        }, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }, prober.getStartDelay(hostname, refreshInterval).toMillis(), refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Contains the configuration of the {@link NetworkDiscoveryService}. The field names represent the configuration
+ * names, do not rename them if you don't intend to break the configuration interface.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkDiscoveryConfiguration {
+    /**
+     * The maximum number of addresses scanned per network interface. Networks up to /16 (65534 addresses) are
+     * supported, larger networks are truncated.
+     */
+    public int maxIpsPerInterface = 255;
+
+    /**
+     * The maximum number of probe packets sent per second.
+     */
+    public int packetsPerSecond = 200;
+}
@@ -16,23 +16,21 @@ import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -48,7 +46,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to, ICMP pings and ARP pings. The probes are sent by a {@link SubnetSweep}
+ * with a configurable budget of packets per second.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -57,7 +56,7 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final Duration PING_TIMEOUT = Duration.ofMillis(500);
-    static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_IPS_PER_INTERFACE = 65534;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -65,16 +64,16 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Set.of(80, 548, 554, 1025);
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetSweep sweep = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private NetworkDiscoveryConfiguration discoveryConfiguration = new NetworkDiscoveryConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private final PresenceProber prober = new PresenceProber();
+    private int scanTimeout;
 
     public NetworkDiscoveryService() {
-        super(SUPPORTED_THING_TYPES_UIDS,
-                (int) Math.round(new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size()
-                        * (durationToMillis(PING_TIMEOUT) / 1000.0)),
-                false);
+        super(SUPPORTED_THING_TYPES_UIDS, 0, false);
+        updateScanTimeout();
     }
 
     @Override
@@ -92,17 +91,37 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        discoveryConfiguration = new Configuration(config).as(NetworkDiscoveryConfiguration.class);
+        updateScanTimeout();
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        SubnetSweep sweep = this.sweep;
+        if (sweep != null) {
+            sweep.cancel();
         }
+        prober.close();
         super.deactivate();
     }
 
+    @Override
+    public int getScanTimeout() {
+        return scanTimeout;
+    }
+
+    private int getMaxIpsPerInterface() {
+        return Math.max(1, Math.min(discoveryConfiguration.maxIpsPerInterface, MAXIMUM_IPS_PER_INTERFACE));
+    }
+
+    private void updateScanTimeout() {
+        int ipCount = networkUtils.getNetworkIPs(getMaxIpsPerInterface()).size();
+        Duration duration = SubnetSweep.estimateDuration(ipCount, tcpServicePorts.size(),
+                discoveryConfiguration.packetsPerSecond, PING_TIMEOUT);
+        scanTimeout = (int) Math.max(1, Math.round(durationToMillis(duration) / 1000.0));
+    }
+
     @Override
     public void partialDetectionResult(PresenceDetectionValue value) {
         final String ip = value.getHostAddress();
@@ -121,66 +140,45 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts a {@link SubnetSweep} of every IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    protected synchronized void startScan() {
+        SubnetSweep previousSweep = sweep;
+        if (previousSweep != null) {
+            previousSweep.cancel();
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
-
-        for (String ip : networkIPs) {
-            final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
-            pd.setHostname(ip);
-            pd.setIOSDevice(true);
-            pd.setUseDhcpSniffing(false);
-            pd.setTimeout(PING_TIMEOUT);
-            // Ping devices
-            pd.setUseIcmpPing(true);
-            pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            pd.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                try {
-                    pd.getValue();
-                } catch (ExecutionException | InterruptedException e) {
-                    stopScan();
-                }
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
+        final List<String> networkIPs = new ArrayList<>(networkUtils.getNetworkIPs(getMaxIpsPerInterface()));
+        IpPingMethodEnum pingMethod = configuration.allowSystemPings ? networkUtils.determinePingMethod()
+                : IpPingMethodEnum.JAVA_PING;
+
+        SubnetSweep sweep = new SubnetSweep(this, prober, networkUtils, networkIPs,
+                tcpServicePorts, pingMethod, discoveryConfiguration.packetsPerSecond, PING_TIMEOUT);
+        this.sweep = sweep;
+        sweep.start(scheduler).thenRun(() -> {
+            logger.trace("Scan of {} IPs successful", networkIPs.size());
+            scanFinished(sweep);
+        });
+    }
+
+    private synchronized void scanFinished(SubnetSweep finishedSweep) {
+        if (sweep == finishedSweep) {
+            sweep = null;
+            super.stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+        SubnetSweep sweep = this.sweep;
+        if (sweep != null) {
+            this.sweep = null;
+            sweep.cancel();
         }
-        service.shutdown();
-        executorService = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -189,7 +187,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the {@link SubnetSweep} started in
+     * {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -222,7 +221,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called by the {@link SubnetSweep} started in
+     * {@link #startScan()}.
      *
      * @param ip The device IP
      */
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetSweep} probes a list of IP addresses for the {@link NetworkDiscoveryService} with a fixed budget
+ * of packets per second. TCP connection attempts and neighbour table checks are performed by the
+ * {@link PresenceProber} without blocking a thread, so the number of addresses is only limited by the budget.
+ * If the kernel neighbour table is available, no ICMP ping or ARP ping tool is used: a UDP datagram makes the kernel
+ * resolve the address, so devices outside of the local link or not answering ARP requests are only found by their
+ * TCP ports. Otherwise ICMP pings are performed on the blocking executor of the {@link PresenceProber}. The devices
+ * of an address are reported on the scheduler as soon as all its probes have finished.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SubnetSweep {
+    private static final long TICK_MILLIS = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetSweep.class);
+    private final NetworkDiscoveryService discoveryService;
+    private final PresenceProber prober;
+    private final NetworkUtils networkUtils;
+    private final List<String> ips;
+    private final Set<Integer> tcpPorts;
+    private final @Nullable IpPingMethodEnum pingMethod;
+    private final boolean useNeighbourTable;
+    private final double packetsPerTick;
+    private final int packetsPerIp;
+    private final Duration timeout;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Map<String, String> knownNeighbours = Map.of();
+    private @Nullable ScheduledExecutorService scheduler;
+    private volatile @Nullable ScheduledFuture<?> dispatchJob;
+    private volatile boolean cancelled;
+    private int next;
+    private double credits;
+
+    /**
+     * @param discoveryService the discovery service to report reachable devices to
+     * @param prober the prober performing the probes
+     * @param networkUtils the network utils for ICMP pings
+     * @param ips the IP addresses to probe
+     * @param tcpPorts the TCP ports to probe on each address
+     * @param pingMethod the ICMP ping method used if the neighbour table is not available, <code>null</code> to
+     *            disable ICMP pings
+     * @param packetsPerSecond the maximum number of probe packets per second
+     * @param timeout the timeout of a single probe
+     */
+    SubnetSweep(NetworkDiscoveryService discoveryService, PresenceProber prober, NetworkUtils networkUtils,
+            List<String> ips, Set<Integer> tcpPorts, @Nullable IpPingMethodEnum pingMethod, int packetsPerSecond,
+            Duration timeout) {
+        this.discoveryService = discoveryService;
+        this.prober = prober;
+        this.networkUtils = networkUtils;
+        this.ips = ips;
+        this.tcpPorts = tcpPorts;
+        this.useNeighbourTable = prober.isNeighbourTableAvailable();
+        this.pingMethod = useNeighbourTable ? null : pingMethod;
+        this.packetsPerTick = Math.max(1, packetsPerSecond) * TICK_MILLIS / 1000.0;
+        this.packetsPerIp = Math.max(1, tcpPorts.size() + (useNeighbourTable || pingMethod != null ? 1 : 0));
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the expected duration of a sweep.
+     *
+     * @param ipCount the number of IP addresses
+     * @param tcpPortCount the number of TCP ports probed on each address
+     * @param packetsPerSecond the maximum number of probe packets per second
+     * @param timeout the timeout of a single probe
+     * @return the expected duration
+     */
+    static Duration estimateDuration(int ipCount, int tcpPortCount, int packetsPerSecond, Duration timeout) {
+        long packets = (long) ipCount * (tcpPortCount + 1);
+        return Duration.ofMillis(packets * 1000 / Math.max(1, packetsPerSecond)).plus(timeout);
+    }
+
+    /**
+     * Starts the sweep.
+     *
+     * @param scheduler the scheduler to dispatch the probes and report the devices on
+     * @return a future completed when all probes have finished or the sweep has been cancelled
+     */
+    synchronized CompletableFuture<Void> start(ScheduledExecutorService scheduler) {
+        logger.debug("Sweeping {} addresses with {} packets per address (neighbour table: {}, ICMP: {})", ips.size(),
+                packetsPerIp, useNeighbourTable, pingMethod);
+        if (useNeighbourTable) {
+            // devices already known to the kernel don't need to be nudged
+            knownNeighbours = prober.getNeighbourTable();
+        }
+        this.scheduler = scheduler;
+        dispatchJob = scheduler.scheduleAtFixedRate(this::dispatch, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        return completion;
+    }
+
+    /**
+     * Cancels the sweep. Probes already sent are not awaited.
+     */
+    void cancel() {
+        cancelled = true;
+        stopDispatching();
+        finish();
+    }
+
+    synchronized void dispatch() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (cancelled || scheduler == null) {
+            return;
+        }
+        // carry the remainder over to the next tick, so the configured rate is met even if an address needs more
+        // packets than a tick provides, but don't accumulate credits while the scheduler was busy, to avoid bursts
+        credits = Math.min(credits + packetsPerTick, packetsPerTick + packetsPerIp);
+        while (credits >= packetsPerIp && next < ips.size()) {
+            credits -= probe(ips.get(next++), scheduler);
+        }
+        if (next >= ips.size()) {
+            stopDispatching();
+            if (outstanding.get() == 0) {
+                finish();
+            }
+        }
+    }
+
+    private void stopDispatching() {
+        ScheduledFuture<?> job = dispatchJob;
+        if (job != null) {
+            job.cancel(false);
+            dispatchJob = null;
+        }
+    }
+
+    private int probe(String ip, ScheduledExecutorService scheduler) {
+        InetAddress address;
+        try {
+            address = InetAddress.getByName(ip);
+        } catch (UnknownHostException e) {
+            logger.trace("Could not parse address {}", ip, e);
+            return 0;
+        }
+
+        int packets = 0;
+        Map<Integer, CompletableFuture<PingResult>> tcpProbes = new LinkedHashMap<>();
+        for (int tcpPort : tcpPorts) {
+            tcpProbes.put(tcpPort, prober.tcpPing(address, tcpPort, timeout));
+            packets++;
+        }
+        CompletableFuture<PingResult> pingProbe;
+        if (useNeighbourTable && knownNeighbours.containsKey(ip)) {
+            pingProbe = CompletableFuture.completedFuture(new PingResult(true, Duration.ZERO));
+        } else if (useNeighbourTable) {
+            pingProbe = prober.neighbourPing(address, true, timeout);
+            packets++;
+        } else if (pingMethod != null) {
+            pingProbe = CompletableFuture.supplyAsync(() -> ping(address), prober.getBlockingExecutor());
+            packets++;
+        } else {
+            pingProbe = CompletableFuture.completedFuture(new PingResult(false, Duration.ZERO));
+        }
+
+        outstanding.incrementAndGet();
+        List<CompletableFuture<PingResult>> probes = new ArrayList<>(tcpProbes.values());
+        probes.add(pingProbe);
+        // the probes complete on the selector loop of the prober, which must not be blocked by the inbox
+        CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).whenCompleteAsync((v, e) -> {
+            if (!cancelled) {
+                // like the presence detection results, a pingable device is preferred over its services
+                if (isSuccess(pingProbe)) {
+                    discoveryService.newPingDevice(ip);
+                } else {
+                    tcpProbes.forEach((tcpPort, tcpProbe) -> {
+                        if (isSuccess(tcpProbe)) {
+                            discoveryService.newServiceDevice(ip, tcpPort);
+                        }
+                    });
+                }
+            }
+            if (outstanding.decrementAndGet() == 0 && dispatchJob == null) {
+                finish();
+            }
+        }, scheduler);
+        return packets;
+    }
+
+    private boolean isSuccess(CompletableFuture<PingResult> probe) {
+        return probe.isDone() && !probe.isCompletedExceptionally() && probe.join().isSuccess();
+    }
+
+    private PingResult ping(InetAddress address) {
+        if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+            return networkUtils.javaPing(timeout, address);
+        }
+        try {
+            PingResult pingResult = networkUtils.nativePing(pingMethod, address.getHostAddress(), timeout);
+            if (pingResult != null) {
+                return pingResult;
+            }
+        } catch (IOException e) {
+            logger.trace("Failed to execute a native ping for {}", address, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new PingResult(false, Duration.ZERO);
+    }
+
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            logger.debug("Sweep of {} addresses {}", ips.size(), cancelled ? "cancelled" : "finished");
+            completion.complete(null);
+        }
+    }
+}
@@ -366,7 +366,8 @@ public class NetworkUtils {
         IPUTILS_ARPING("Iputils Arping", true),
         THOMAS_HABERT_ARPING("Arping tool by Thomas Habets", true),
         THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT("Arping tool by Thomas Habets (old version)", true),
-        ELI_FULKERSON_ARP_PING_FOR_WINDOWS("Eli Fulkerson ARPing tool for Windows", true);
+        ELI_FULKERSON_ARP_PING_FOR_WINDOWS("Eli Fulkerson ARPing tool for Windows", true),
+        NEIGHBOUR_TABLE("Kernel neighbour table", true);
 
         public final String description;
         public final boolean canProceed;
@@ -395,7 +396,9 @@ public class NetworkUtils {
      */
     public @Nullable PingResult nativeArpPing(@Nullable ArpPingUtilEnum arpingTool, @Nullable String arpUtilPath,
             String interfaceName, String ipV4address, Duration timeout) throws IOException, InterruptedException {
-        if (arpUtilPath == null || arpingTool == null || !arpingTool.canProceed) {
+        if (arpUtilPath == null || arpingTool == null || !arpingTool.canProceed
+                || arpingTool == ArpPingUtilEnum.NEIGHBOUR_TABLE) {
+            // the neighbour table is checked by the PresenceProber without an external tool
             return null;
         }
         Instant execStartTime = Instant.now();
@@ -0,0 +1,473 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProber} is shared by the presence detections of the binding and performs the probes that do not
+ * need an external process within the JVM:
+ * <ul>
+ * <li>TCP connection attempts are non-blocking and multiplexed on a single selector loop, which ends itself when
+ * there is nothing left to do.
+ * <li>ARP checks are answered from the kernel neighbour table ({@code /proc/net/arp} on Linux), which is read in bulk
+ * for all pending checks. A UDP datagram is sent to the destination first, so that the kernel (re-)resolves the
+ * hardware address of the destination.
+ * </ul>
+ * Probes that still need a blocking call (system ping, Java ping and the arping tools) are run on a single shared
+ * thread pool instead of a thread pool per presence detection.
+ * <p>
+ * The futures returned by the probes may be completed on the selector loop, so callers must not perform lengthy work
+ * in their dependent stages but pass an executor instead. The prober has to be closed when it is no longer used.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProber implements AutoCloseable {
+
+    public static final Path NEIGHBOUR_TABLE = Path.of("/proc/net/arp");
+    private static final int NEIGHBOUR_FLAG_COMPLETE = 0x2;
+    private static final String NEIGHBOUR_NO_HW_ADDRESS = "00:00:00:00:00:00";
+    private static final Duration NEIGHBOUR_TABLE_MAX_AGE = Duration.ofMillis(50);
+    private static final Duration NEIGHBOUR_POLL_INTERVAL = Duration.ofMillis(100);
+    private static final int NEIGHBOUR_NUDGE_PORT = 9; // discard service
+    private static final int IOS_WAKE_UP_PORT = 5353;
+
+    private static final Duration SELECTOR_IDLE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration MAX_START_DELAY = Duration.ofSeconds(10);
+    private static final String PROBE_THREAD_POOL_NAME = "binding.network-presence";
+    private static final String SELECTOR_THREAD_POOL_NAME = "binding.network-selector";
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProber.class);
+
+    private final ExecutorService blockingExecutor;
+    private final ExecutorService selectorExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Path neighbourTablePath;
+    private volatile boolean closed;
+
+    // TCP connection probes
+    private final Queue<PendingProbe> pendingConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    // neighbour table probes
+    private final Set<PendingProbe> pendingNeighbours = ConcurrentHashMap.newKeySet();
+    private final Object neighbourLock = new Object();
+    private @Nullable ScheduledFuture<?> neighbourPollJob;
+    private @Nullable DatagramChannel nudgeChannel;
+    private volatile Map<String, String> neighbourTable = Map.of();
+    private volatile long neighbourTableReadNanos;
+
+    /**
+     * A probe that has not completed yet.
+     */
+    private static class PendingProbe {
+        final InetAddress address;
+        final CompletableFuture<PingResult> future = new CompletableFuture<>();
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos;
+        @Nullable
+        SocketChannel channel;
+
+        PendingProbe(InetAddress address, Duration timeout) {
+            this.address = address;
+            this.deadlineNanos = startNanos + timeout.toNanos();
+        }
+
+        void complete(boolean success) {
+            future.complete(new PingResult(success, Duration.ofNanos(System.nanoTime() - startNanos)));
+        }
+    }
+
+    public PresenceProber() {
+        this(ThreadPoolManager.getPool(PROBE_THREAD_POOL_NAME), ThreadPoolManager.getPool(SELECTOR_THREAD_POOL_NAME),
+                ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON), NEIGHBOUR_TABLE);
+    }
+
+    /**
+     * @param blockingExecutor the executor for probes that need to block a thread
+     * @param selectorExecutor the executor to run the selector loop on
+     * @param scheduler the scheduler for polling the neighbour table
+     * @param neighbourTablePath the location of the kernel neighbour table
+     */
+    PresenceProber(ExecutorService blockingExecutor, ExecutorService selectorExecutor,
+            ScheduledExecutorService scheduler, Path neighbourTablePath) {
+        this.blockingExecutor = blockingExecutor;
+        this.selectorExecutor = selectorExecutor;
+        this.scheduler = scheduler;
+        this.neighbourTablePath = neighbourTablePath;
+    }
+
+    /**
+     * Stops all probing. Pending probes are completed as unsuccessful, later probes fail straight away.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (neighbourLock) {
+            ScheduledFuture<?> job = neighbourPollJob;
+            if (job != null) {
+                job.cancel(false);
+                neighbourPollJob = null;
+            }
+            closeQuietly(nudgeChannel);
+            nudgeChannel = null;
+        }
+        pendingNeighbours.removeIf(probe -> {
+            probe.complete(false);
+            return true;
+        });
+
+        Selector selector;
+        synchronized (this) {
+            selector = this.selector;
+        }
+        if (selector != null) {
+            // the selector loop fails the pending probes and releases the selector
+            selector.wakeup();
+        } else {
+            failPendingConnects();
+        }
+    }
+
+    /**
+     * Returns the executor for probes that need to block a thread, e.g. for waiting on an external process.
+     */
+    public ExecutorService getBlockingExecutor() {
+        return blockingExecutor;
+    }
+
+    /**
+     * Returns the delay before the first refresh of a presence detection. The delay is derived from the given key,
+     * so that the refreshes of many presence detections with the same refresh interval are spread over time instead
+     * of all being performed at once.
+     *
+     * @param key a key identifying the presence detection, e.g. the hostname
+     * @param refreshInterval the refresh interval of the presence detection
+     * @return the delay before the first refresh
+     */
+    public Duration getStartDelay(String key, Duration refreshInterval) {
+        long spreadMillis = Math.min(refreshInterval.toMillis(), MAX_START_DELAY.toMillis());
+        return spreadMillis <= 0 ? Duration.ZERO : Duration.ofMillis(Math.floorMod(key.hashCode(), spreadMillis));
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given port without blocking the calling thread.
+     *
+     * @param address the destination address
+     * @param port the TCP port. Must be not 0.
+     * @param timeout the timeout before the attempt is aborted
+     * @return a future completed with the {@link PingResult} of connecting to the given port
+     */
+    public CompletableFuture<PingResult> tcpPing(InetAddress address, int port, Duration timeout) {
+        PendingProbe probe = new PendingProbe(address, timeout);
+        if (closed) {
+            probe.complete(false);
+            return probe.future;
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(new InetSocketAddress(address, port))) {
+                channel.close();
+                probe.complete(true);
+                return probe.future;
+            }
+            probe.channel = channel;
+            pendingConnects.add(probe);
+            wakeUpSelector();
+        } catch (IOException e) {
+            logger.trace("Could not connect to {}:{}", address, port, e);
+            closeQuietly(channel);
+            probe.complete(false);
+        }
+        return probe.future;
+    }
+
+    private synchronized void wakeUpSelector() throws IOException {
+        if (closed) {
+            throw new IOException("The presence prober is closed");
+        }
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+            return;
+        }
+        Selector newSelector = Selector.open();
+        try {
+            selectorExecutor.execute(() -> runSelector(newSelector));
+        } catch (RejectedExecutionException e) {
+            closeQuietly(newSelector);
+            throw new IOException("Could not start the selector loop", e);
+        }
+        this.selector = newSelector;
+    }
+
+    private void runSelector(Selector selector) {
+        long idleSinceNanos = System.nanoTime();
+        try {
+            while (!closed) {
+                PendingProbe probe;
+                while ((probe = pendingConnects.poll()) != null) {
+                    SocketChannel channel = probe.channel;
+                    try {
+                        if (channel != null) {
+                            channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                        }
+                    } catch (ClosedChannelException e) {
+                        probe.complete(false);
+                    }
+                }
+
+                long now = System.nanoTime();
+                long nextDeadlineNanos = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    PendingProbe pending = (PendingProbe) key.attachment();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (pending.deadlineNanos <= now) {
+                        finishConnect(key, false);
+                    } else {
+                        nextDeadlineNanos = Math.min(nextDeadlineNanos, pending.deadlineNanos);
+                    }
+                }
+
+                if (nextDeadlineNanos == Long.MAX_VALUE) {
+                    if (now - idleSinceNanos > SELECTOR_IDLE_TIMEOUT.toNanos() && stopSelectorIfIdle(selector)) {
+                        return;
+                    }
+                } else {
+                    idleSinceNanos = now;
+                }
+
+                long waitMillis = nextDeadlineNanos == Long.MAX_VALUE ? SELECTOR_IDLE_TIMEOUT.toMillis()
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadlineNanos - now));
+                selector.select(waitMillis);
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    boolean success;
+                    try {
+                        success = key.isValid() && ((SocketChannel) key.channel()).finishConnect();
+                    } catch (IOException e) {
+                        // connection refused, host or network unreachable
+                        success = false;
+                    }
+                    finishConnect(key, success);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("The TCP presence probe selector failed: {}", e.getMessage());
+        }
+        synchronized (this) {
+            if (this.selector == selector) {
+                this.selector = null;
+            }
+        }
+        selector.keys().forEach(key -> finishConnect(key, false));
+        failPendingConnects();
+        closeQuietly(selector);
+    }
+
+    private void failPendingConnects() {
+        PendingProbe probe;
+        while ((probe = pendingConnects.poll()) != null) {
+            closeQuietly(probe.channel);
+            probe.complete(false);
+        }
+    }
+
+    private synchronized boolean stopSelectorIfIdle(Selector selector) {
+        if (!pendingConnects.isEmpty() || !selector.keys().isEmpty()) {
+            return false;
+        }
+        this.selector = null;
+        closeQuietly(selector);
+        return true;
+    }
+
+    private void finishConnect(SelectionKey key, boolean success) {
+        key.cancel();
+        closeQuietly(key.channel());
+        ((PendingProbe) key.attachment()).complete(success);
+    }
+
+    /**
+     * Returns whether the kernel neighbour table can be read on this system.
+     */
+    public boolean isNeighbourTableAvailable() {
+        return Files.isReadable(neighbourTablePath);
+    }
+
+    /**
+     * Returns the resolved entries of the kernel neighbour table. The table is read at most once per
+     * {@link #NEIGHBOUR_TABLE_MAX_AGE}, no matter how many probes are pending.
+     *
+     * @return a map of IPv4 addresses to hardware addresses, empty if the table cannot be read
+     */
+    public Map<String, String> getNeighbourTable() {
+        long now = System.nanoTime();
+        if (now - neighbourTableReadNanos > NEIGHBOUR_TABLE_MAX_AGE.toNanos()) {
+            neighbourTable = readNeighbourTable();
+            neighbourTableReadNanos = now;
+        }
+        return neighbourTable;
+    }
+
+    private Map<String, String> readNeighbourTable() {
+        Map<String, String> table = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(neighbourTablePath, StandardCharsets.US_ASCII)) {
+            // skip the header: IP address, HW type, Flags, HW address, Mask, Device
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length < 4) {
+                    continue;
+                }
+                try {
+                    if ((Integer.decode(columns[2]) & NEIGHBOUR_FLAG_COMPLETE) != 0
+                            && !NEIGHBOUR_NO_HW_ADDRESS.equals(columns[3])) {
+                        table.put(columns[0], columns[3]);
+                    }
+                } catch (NumberFormatException e) {
+                    logger.trace("Ignoring malformed neighbour table entry: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.trace("Could not read the neighbour table {}", neighbourTablePath, e);
+        }
+        return table;
+    }
+
+    /**
+     * Checks whether the hardware address of the given IPv4 address can be resolved, using the kernel neighbour table
+     * instead of an external arping tool. A UDP datagram is sent to the destination to make the kernel send an ARP
+     * request (or verify a stale entry). Be aware that the kernel takes a few seconds to drop the entry of a device
+     * that has left the network, so a departure is usually detected by the next check.
+     *
+     * @param address the destination address
+     * @param wakeUpIOS whether to send the datagram to the port iOS devices listen to in deep sleep mode
+     * @param timeout the timeout before the check is aborted
+     * @return a future completed with the {@link PingResult} of the check
+     */
+    public CompletableFuture<PingResult> neighbourPing(InetAddress address, boolean wakeUpIOS, Duration timeout) {
+        PendingProbe probe = new PendingProbe(address, timeout);
+        if (closed) {
+            probe.complete(false);
+            return probe.future;
+        }
+        nudge(address, wakeUpIOS ? IOS_WAKE_UP_PORT : NEIGHBOUR_NUDGE_PORT);
+        pendingNeighbours.add(probe);
+        synchronized (neighbourLock) {
+            if (closed) {
+                pendingNeighbours.remove(probe);
+                probe.complete(false);
+                return probe.future;
+            }
+            ScheduledFuture<?> job = neighbourPollJob;
+            if (job == null || job.isDone()) {
+                neighbourPollJob = scheduler.scheduleWithFixedDelay(this::pollNeighbourTable,
+                        NEIGHBOUR_POLL_INTERVAL.toMillis(), NEIGHBOUR_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return probe.future;
+    }
+
+    private void nudge(InetAddress address, int port) {
+        try {
+            DatagramChannel channel;
+            synchronized (neighbourLock) {
+                if (closed) {
+                    return;
+                }
+                channel = nudgeChannel;
+                if (channel == null || !channel.isOpen()) {
+                    channel = DatagramChannel.open();
+                    channel.configureBlocking(false);
+                    nudgeChannel = channel;
+                }
+            }
+            channel.send(ByteBuffer.allocate(0), new InetSocketAddress(address, port));
+        } catch (IOException e) {
+            logger.trace("Unable to send packet to {}:{}", address, port, e);
+        }
+    }
+
+    private void pollNeighbourTable() {
+        Map<String, String> table = getNeighbourTable();
+        long now = System.nanoTime();
+        pendingNeighbours.removeIf(probe -> {
+            if (table.containsKey(probe.address.getHostAddress())) {
+                probe.complete(true);
+                return true;
+            } else if (probe.deadlineNanos <= now) {
+                probe.complete(false);
+                return true;
+            }
+            return false;
+        });
+        synchronized (neighbourLock) {
+            ScheduledFuture<?> job = neighbourPollJob;
+            if (pendingNeighbours.isEmpty() && job != null) {
+                job.cancel(false);
+                neighbourPollJob = null;
+            }
+        }
+    }
+
+    private void closeQuietly(@Nullable AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.trace("Failed to close {}", closeable, e);
+            }
+        }
+    }
+}
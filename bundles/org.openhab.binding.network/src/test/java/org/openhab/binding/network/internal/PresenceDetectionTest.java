@@ -20,7 +20,10 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
@@ -38,6 +41,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -53,10 +57,10 @@ public class PresenceDetectionTest {
 
     private @Mock @NonNullByDefault({}) Consumer<PresenceDetectionValue> callback;
     private @Mock @NonNullByDefault({}) ExecutorService detectionExecutorService;
-    private @Mock @NonNullByDefault({}) ExecutorService waitForResultExecutorService;
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
     private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) PresenceProber prober;
 
     @BeforeEach
     public void setUp() {
@@ -65,8 +69,15 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeArpPingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, scheduledExecutorService, Duration.ofSeconds(2)));
+        subject = spy(new PresenceDetection(listener, prober, scheduledExecutorService, Duration.ofSeconds(2)));
         subject.networkUtils = networkUtils;
+        // Run the handling of probe results straight away
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduledExecutorService).execute(any());
+        when(prober.getBlockingExecutor()).thenReturn(detectionExecutorService);
+        when(prober.getStartDelay(anyString(), any())).thenReturn(Duration.ZERO);
 
         // Set a useful configuration. The default presenceDetection is a no-op.
         subject.setHostname("127.0.0.1");
@@ -80,33 +91,68 @@ public class PresenceDetectionTest {
         assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Blocking checks are run on the shared executor, TCP connection attempts are performed by the prober.
+    // We will check if they are dispatched and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.detectionExecutorService);
-
         doNothing().when(subject).performArpPing(any(), any());
         doNothing().when(subject).performJavaPing(any());
         doNothing().when(subject).performSystemPing(any());
-        doNothing().when(subject).performServicePing(any(), anyInt());
-
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        doReturn(CompletableFuture.completedFuture(null)).when(subject).performServicePing(any(), anyInt());
 
         subject.getValue(callback -> {
         });
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.detectionExecutorService);
 
-        // "Wait" for the presence detection to finish
+        // Only ARP and ICMP need a thread, perform them now
         ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+        verify(detectionExecutorService, times(2)).execute(runnableCapture.capture());
+        runnableCapture.getAllValues().forEach(Runnable::run);
 
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.detectionExecutorService);
+        verify(listener, times(1)).finalDetectionResult(any());
+    }
+
+    @Test
+    public void neighbourTableTest() {
+        PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
+        doReturn(CompletableFuture.completedFuture(pingResult)).when(prober).neighbourPing(any(), anyBoolean(), any());
+        doReturn(CompletableFuture.completedFuture(pingResult)).when(prober).tcpPing(any(), anyInt(), any());
+
+        subject.setUseArpPing(true, "arping", ArpPingUtilEnum.NEIGHBOUR_TABLE);
+        subject.setUseIcmpPing(null);
+        subject.performPresenceDetection();
+
+        // The neighbour table and the TCP connection attempt do not need a thread
+        verify(detectionExecutorService, never()).execute(any());
+        verify(prober).neighbourPing(any(), eq(true), any());
+
+        ArgumentCaptor<PresenceDetectionValue> pdvCapture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, times(1)).finalDetectionResult(pdvCapture.capture());
+        assertThat(pdvCapture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, TCP_CONNECTION"));
+    }
+
+    @Test
+    public void probeResultHandledOnScheduler() {
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> {
+            tasks.add(invocation.getArgument(0));
+            return null;
+        }).when(scheduledExecutorService).execute(any());
+        CompletableFuture<PingResult> tcpProbe = new CompletableFuture<>();
+        doReturn(tcpProbe).when(prober).tcpPing(any(), anyInt(), any());
+
+        PresenceDetectionValue pdv = new PresenceDetectionValue("127.0.0.1", PresenceDetectionValue.UNREACHABLE);
+        CompletableFuture<Void> detection = subject.performServicePing(pdv, 1010);
+        // The thread completing the probe must not call the listener
+        tcpProbe.complete(new PingResult(true, Duration.ofMillis(10)));
+        verify(listener, never()).partialDetectionResult(any());
+
+        tasks.forEach(Runnable::run);
+        verify(listener).partialDetectionResult(any());
+        assertTrue(detection.isDone());
     }
 
     @Test
@@ -115,10 +161,7 @@ public class PresenceDetectionTest {
         doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
         doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
                 anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
-
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        doReturn(CompletableFuture.completedFuture(pingResult)).when(prober).tcpPing(any(), anyInt(), any());
 
         subject.performPresenceDetection();
 
@@ -126,16 +169,11 @@ public class PresenceDetectionTest {
 
         // Perform the different presence detection threads now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
+        verify(detectionExecutorService, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
 
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
-
         assertThat(subject.detectionChecks, is(0));
 
         verify(subject, times(0)).performJavaPing(any());
@@ -156,32 +194,23 @@ public class PresenceDetectionTest {
         doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
         doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
                 anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
-
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        doReturn(CompletableFuture.completedFuture(pingResult)).when(prober).tcpPing(any(), anyInt(), any());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection();
-        assertNotNull(subject.detectionExecutorService);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
         // Perform the different presence detection threads now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
+        verify(detectionExecutorService, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
 
-        // "Wait" for the presence detection to finish
-        capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(capture.capture());
-        capture.getValue().run();
-
         // Although there are multiple partial results and a final result,
         // the getValue() consumers get the fastest response possible, and only once.
         verify(callback, times(1)).accept(any());
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+
+/**
+ * Tests cases for {@link SubnetSweep}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class SubnetSweepTest {
+    private static final long TICK_MILLIS = 20;
+    private static final Set<Integer> TCP_PORTS = Set.of(80, 548, 554, 1025);
+    private static final int PACKETS_PER_IP = TCP_PORTS.size() + 1;
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    private @Mock @NonNullByDefault({}) NetworkDiscoveryService discoveryService;
+    private @Mock @NonNullByDefault({}) PresenceProber prober;
+    private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> dispatchJob;
+
+    private final AtomicInteger probedAddresses = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        when(prober.isNeighbourTableAvailable()).thenReturn(true);
+        when(prober.getNeighbourTable()).thenReturn(Map.of());
+        // probes never complete, only the dispatched packets are of interest here
+        when(prober.tcpPing(any(), anyInt(), any())).thenAnswer(i -> new CompletableFuture<>());
+        when(prober.neighbourPing(any(), anyBoolean(), any())).thenAnswer(i -> {
+            probedAddresses.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        doReturn(dispatchJob).when(scheduler).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+    }
+
+    private SubnetSweep startSweep(int ipCount, int packetsPerSecond) {
+        List<String> ips = new ArrayList<>();
+        for (int i = 0; i < ipCount; i++) {
+            ips.add("10.0." + (i / 256) + "." + (i % 256));
+        }
+        SubnetSweep sweep = new SubnetSweep(discoveryService, prober, networkUtils, ips, TCP_PORTS,
+                IpPingMethodEnum.JAVA_PING, packetsPerSecond, TIMEOUT);
+        sweep.start(scheduler);
+        return sweep;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 20, 50, 200, 230, 1000 })
+    public void dispatchMatchesConfiguredRate(int packetsPerSecond) {
+        SubnetSweep sweep = startSweep(100000, packetsPerSecond);
+
+        int seconds = 10;
+        for (long tick = 0; tick < seconds * 1000 / TICK_MILLIS; tick++) {
+            sweep.dispatch();
+        }
+
+        int packets = probedAddresses.get() * PACKETS_PER_IP;
+        assertEquals(packetsPerSecond * seconds, packets, PACKETS_PER_IP);
+    }
+
+    @Test
+    public void sweepFinishesWithinEstimatedDuration() {
+        int ipCount = 254;
+        int packetsPerSecond = 200;
+        SubnetSweep sweep = startSweep(ipCount, packetsPerSecond);
+
+        long ticks = 0;
+        while (probedAddresses.get() < ipCount) {
+            sweep.dispatch();
+            ticks++;
+            assertTrue(ticks < 100000, "sweep does not progress");
+        }
+        verify(dispatchJob).cancel(false);
+
+        long dispatchMillis = ticks * TICK_MILLIS;
+        long estimatedMillis = SubnetSweep.estimateDuration(ipCount, TCP_PORTS.size(), packetsPerSecond, TIMEOUT)
+                .minus(TIMEOUT).toMillis();
+        assertTrue(dispatchMillis <= estimatedMillis + TICK_MILLIS,
+                "dispatching took " + dispatchMillis + " ms, estimated " + estimatedMillis + " ms");
+        assertTrue(dispatchMillis >= estimatedMillis - 2 * TICK_MILLIS,
+                "dispatching took " + dispatchMillis + " ms, estimated " + estimatedMillis + " ms");
+    }
+
+    @Test
+    public void devicesReportedOnScheduler() {
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(scheduler).execute(any());
+        when(prober.tcpPing(any(), anyInt(), any()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(new PingResult(false, Duration.ZERO)));
+        when(prober.neighbourPing(any(), anyBoolean(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new PingResult(true, Duration.ZERO)));
+        SubnetSweep sweep = startSweep(1, 1000);
+
+        sweep.dispatch();
+        sweep.dispatch();
+        verify(discoveryService, never()).newPingDevice(anyString());
+
+        tasks.forEach(Runnable::run);
+        verify(discoveryService).newPingDevice("10.0.0.0");
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests cases for {@link PresenceProber}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProberTest {
+    private static final String NEIGHBOUR_TABLE = """
+            IP address       HW type     Flags       HW address            Mask     Device
+            192.0.2.1        0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0
+            192.0.2.2        0x1         0x0         00:00:00:00:00:00     *        eth0
+            192.0.2.3        0x1         0x6         aa:bb:cc:dd:ee:03     *        eth0
+            192.0.2.4        0x1         0x2         00:00:00:00:00:00     *        eth0
+            192.0.2.5        0x1         0xZ         aa:bb:cc:dd:ee:05     *        eth0
+            192.0.2.6        0x1
+            """;
+    private static final Duration TIMEOUT = Duration.ofMillis(300);
+
+    private @NonNullByDefault({}) @TempDir Path temporaryDirectory;
+
+    private final ExecutorService blockingExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService selectorExecutor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private @NonNullByDefault({}) PresenceProber prober;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path neighbourTable = temporaryDirectory.resolve("arp");
+        Files.writeString(neighbourTable, NEIGHBOUR_TABLE, StandardCharsets.US_ASCII);
+        prober = new PresenceProber(blockingExecutor, selectorExecutor, scheduler, neighbourTable);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        prober.close();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+        blockingExecutor.shutdownNow();
+        selectorExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    private static PingResult await(CompletableFuture<PingResult> probe) throws Exception {
+        return probe.get(5, TimeUnit.SECONDS);
+    }
+
+    private ServerSocket listen(int backlog) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0, backlog, InetAddress.getLoopbackAddress());
+        resources.add(serverSocket);
+        return serverSocket;
+    }
+
+    /**
+     * Fills the accept queue of the server socket, so that the kernel drops further connection attempts.
+     */
+    private void fillBacklog(ServerSocket serverSocket) throws IOException {
+        for (int i = 0; i < 2; i++) {
+            resources.add(SocketChannel.open(serverSocket.getLocalSocketAddress()));
+        }
+    }
+
+    @Test
+    public void neighbourTableHoldsCompleteEntriesOnly() {
+        assertTrue(prober.isNeighbourTableAvailable());
+        assertEquals(Map.of("192.0.2.1", "aa:bb:cc:dd:ee:01", "192.0.2.3", "aa:bb:cc:dd:ee:03"),
+                prober.getNeighbourTable());
+    }
+
+    @Test
+    public void missingNeighbourTableIsEmpty() {
+        PresenceProber missingTableProber = new PresenceProber(blockingExecutor, selectorExecutor, scheduler,
+                temporaryDirectory.resolve("missing"));
+
+        assertFalse(missingTableProber.isNeighbourTableAvailable());
+        assertEquals(Map.of(), missingTableProber.getNeighbourTable());
+    }
+
+    @Test
+    public void neighbourPingFindsCompleteEntry() throws Exception {
+        PingResult result = await(prober.neighbourPing(InetAddress.getByName("192.0.2.1"), false, TIMEOUT));
+
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    public void neighbourPingTimesOutOnIncompleteEntry() throws Exception {
+        PingResult result = await(prober.neighbourPing(InetAddress.getByName("192.0.2.2"), false, TIMEOUT));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getExecutionTime().compareTo(TIMEOUT) >= 0);
+    }
+
+    @Test
+    public void neighbourPingTimesOutOnMissingEntry() throws Exception {
+        PingResult result = await(prober.neighbourPing(InetAddress.getByName("192.0.2.99"), true, TIMEOUT));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getExecutionTime().compareTo(TIMEOUT) >= 0);
+    }
+
+    @Test
+    public void tcpPingConnects() throws Exception {
+        ServerSocket serverSocket = listen(50);
+
+        PingResult result = await(prober.tcpPing(serverSocket.getInetAddress(), serverSocket.getLocalPort(), TIMEOUT));
+
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    public void tcpPingRefusedBeforeTimeout() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+
+        PingResult result = await(prober.tcpPing(InetAddress.getLoopbackAddress(), port, Duration.ofSeconds(3)));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getExecutionTime().compareTo(Duration.ofSeconds(3)) < 0);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void tcpPingTimesOut() throws Exception {
+        ServerSocket serverSocket = listen(1);
+        fillBacklog(serverSocket);
+
+        PingResult result = await(prober.tcpPing(serverSocket.getInetAddress(), serverSocket.getLocalPort(), TIMEOUT));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getExecutionTime().compareTo(TIMEOUT) >= 0);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void concurrentTcpPingsTimeOutIndependently() throws Exception {
+        ServerSocket serverSocket = listen(1);
+        fillBacklog(serverSocket);
+        ServerSocket reachable = listen(50);
+
+        CompletableFuture<PingResult> longProbe = prober.tcpPing(serverSocket.getInetAddress(),
+                serverSocket.getLocalPort(), TIMEOUT.multipliedBy(3));
+        CompletableFuture<PingResult> shortProbe = prober.tcpPing(serverSocket.getInetAddress(),
+                serverSocket.getLocalPort(), TIMEOUT);
+        CompletableFuture<PingResult> connectingProbe = prober.tcpPing(reachable.getInetAddress(),
+                reachable.getLocalPort(), TIMEOUT);
+
+        assertFalse(await(shortProbe).isSuccess());
+        assertFalse(longProbe.isDone());
+        assertTrue(await(connectingProbe).isSuccess());
+        assertTrue(await(longProbe).getExecutionTime().compareTo(TIMEOUT.multipliedBy(3)) >= 0);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void closeFailsPendingProbes() throws Exception {
+        ServerSocket serverSocket = listen(1);
+        fillBacklog(serverSocket);
+        Duration timeout = Duration.ofSeconds(30);
+        CompletableFuture<PingResult> tcpProbe = prober.tcpPing(serverSocket.getInetAddress(),
+                serverSocket.getLocalPort(), timeout);
+        CompletableFuture<PingResult> neighbourProbe = prober.neighbourPing(InetAddress.getByName("192.0.2.2"), false,
+                timeout);
+
+        prober.close();
+
+        assertFalse(await(tcpProbe).isSuccess());
+        assertFalse(await(neighbourProbe).isSuccess());
+        InetSocketAddress address = (InetSocketAddress) serverSocket.getLocalSocketAddress();
+        CompletableFuture<PingResult> lateProbe = prober.tcpPing(address.getAddress(), address.getPort(), timeout);
+        assertTrue(lateProbe.isDone());
+        assertFalse(lateProbe.join().isSuccess());
+    }
+}
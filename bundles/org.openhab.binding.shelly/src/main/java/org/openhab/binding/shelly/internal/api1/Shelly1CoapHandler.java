@@ -155,8 +155,31 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
         return statusClient != null;
     }
 
+    @Override
+    public boolean isOwnPacket(Response response) {
+        String ip = response.getSourceContext().getPeerAddress().toString();
+        if (ip.contains("/" + config.deviceIp + ":")) {
+            return true;
+        }
+        // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
+        for (Option opt : response.getOptions().asSortedList()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                String devid = opt.getStringValue();
+                if (devid.contains("#") && profile.device.mac != null) {
+                    // Format: <device type>#<mac address>#<coap version>
+                    String macid = substringBetween(devid, "#", "#");
+                    if (getString(profile.device.mac).toUpperCase().contains(macid.toUpperCase())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     /**
-     * Process an inbound Response (or mapped Request): decode CoAP options. handle discovery result or status updates
+     * Process an inbound Response (or mapped Request): decode CoAP options. handle discovery result or status updates.
+     * Multicast messages are only passed on by the {@link Shelly1CoapServer} if they belong to this device.
      *
      * @param response The Response packet
      */
@@ -176,29 +199,6 @@ public class Shelly1CoapHandler implements Shelly1CoapListener {
         }
 
         List<Option> options = response.getOptions().asSortedList();
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        boolean match = ip.contains("/" + config.deviceIp + ":");
-        if (!match) {
-            // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
-            for (Option opt : options) {
-                if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
-                    String devid = opt.getStringValue();
-                    if (devid.contains("#") && profile.device.mac != null) {
-                        // Format: <device type>#<mac address>#<coap version>
-                        String macid = substringBetween(devid, "#", "#");
-                        if (getString(profile.device.mac).toUpperCase().contains(macid.toUpperCase())) {
-                            match = true;
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        if (!match) {
-            // other instance
-            return;
-        }
-
         String payload = "";
         String devId = "";
         String uri = "";
@@ -23,5 +23,13 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public interface Shelly1CoapListener {
+    /**
+     * Check if a status message received by multicast was sent by the device of this listener
+     *
+     * @param response the message
+     * @return true if the message belongs to this listener
+     */
+    public boolean isOwnPacket(Response response);
+
     public void processResponse(@Nullable Response response);
 }
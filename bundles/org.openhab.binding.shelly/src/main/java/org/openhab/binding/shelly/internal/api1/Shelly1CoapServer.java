@@ -12,19 +12,27 @@
  */
 package org.openhab.binding.shelly.internal.api1;
 
-import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.*;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -33,23 +41,76 @@ import org.eclipse.californium.core.network.config.NetworkConfig;
 import org.eclipse.californium.elements.UdpMulticastConnector;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link Shelly1CoapServer} implements the UDP listener and status event processor (for /cit/s messages)
+ * <p>
+ * The status messages are processed by a few worker threads, all messages of a device by the same one to keep their
+ * order. Each message is passed to the listener of its device only, the listener is looked up by the CoIoT global
+ * device id or the peer address of the message. Only messages of yet unknown devices are offered to all listeners.
  *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
 public class Shelly1CoapServer {
+    private static final int MAX_WORKERS = 4;
+    private static final int WORKER_QUEUE_SIZE = 64;
+
     private final Logger logger = LoggerFactory.getLogger(Shelly1CoapServer.class);
 
     boolean started = false;
-    private CoapEndpoint statusEndpoint = new CoapEndpoint.Builder().build();
+    private CoapEndpoint statusEndpoint;
     private @Nullable UdpMulticastConnector statusConnector;
-    private CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);
+    private CoapServer server;
+    private final int workerCount;
+    private final int workerQueueSize;
     private final Set<Shelly1CoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private final Map<String, Route> deviceRoutes = new ConcurrentHashMap<>();
+    private final Map<InetSocketAddress, Route> peerRoutes = new ConcurrentHashMap<>();
+    private volatile ThreadPoolExecutor[] workers = new ThreadPoolExecutor[0];
+
+    /**
+     * The listener of a device and the last message passed to it
+     */
+    private static class Route {
+        private final Shelly1CoapListener listener;
+        private int lastMid = -1;
+        private byte[] lastPayload = new byte[0];
+
+        private Route(Shelly1CoapListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Multicast messages may be received more than once, e.g. on hosts with several network interfaces
+         *
+         * @return true if the message has the same id and payload as the last one
+         */
+        private synchronized boolean isDuplicate(Response response) {
+            byte[] payload = response.getPayload();
+            if (response.getMID() == lastMid && Arrays.equals(payload, lastPayload)) {
+                return true;
+            }
+            lastMid = response.getMID();
+            lastPayload = payload;
+            return false;
+        }
+    }
+
+    public Shelly1CoapServer() {
+        this(new CoapServer(NetworkConfig.getStandard(), COIOT_PORT), new CoapEndpoint.Builder().build(),
+                Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors()), WORKER_QUEUE_SIZE);
+    }
+
+    Shelly1CoapServer(CoapServer server, CoapEndpoint statusEndpoint, int workerCount, int workerQueueSize) {
+        this.server = server;
+        this.statusEndpoint = statusEndpoint;
+        this.workerCount = workerCount;
+        this.workerQueueSize = workerQueueSize;
+    }
 
     protected class ShellyStatusListener extends CoapResource {
         private Shelly1CoapServer listener;
@@ -95,14 +156,100 @@ public class Shelly1CoapServer {
             server.add(cit);
             started = true;
         }
+        addListener(listener);
+    }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+    /**
+     * Register a listener for the status messages of its device and start the workers passing them on, if not done yet
+     *
+     * @param listener the listener
+     */
+    synchronized void addListener(Shelly1CoapListener listener) {
+        if (workers.length == 0) {
+            workers = createWorkers(workerCount, workerQueueSize);
         }
+        // the device address may have changed
+        removeRoutes(listener);
+        coapListeners.add(listener);
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        ThreadPoolExecutor[] workers = this.workers;
+        if (workers.length == 0) {
+            return;
+        }
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        ThreadPoolExecutor worker = workers[Math.floorMod(peer.hashCode(), workers.length)];
+        try {
+            worker.execute(() -> dispatch(response));
+        } catch (RejectedExecutionException e) {
+            logger.debug("CoIoT message from {} discarded, too many messages are pending", peer);
+        }
+    }
+
+    /**
+     * Pass a status message to the listener of its device
+     *
+     * @param response the message
+     */
+    void dispatch(Response response) {
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        String devId = getDeviceId(response);
+        Route route = devId.isEmpty() ? peerRoutes.get(peer) : deviceRoutes.get(devId);
+        if (route == null || !coapListeners.contains(route.listener)) {
+            route = findRoute(response);
+            if (route == null) {
+                logger.trace("CoIoT message from {} ({}) doesn't belong to a known device, discard", peer, devId);
+                return;
+            }
+            if (!devId.isEmpty()) {
+                deviceRoutes.put(devId, route);
+            }
+        }
+        if (peerRoutes.get(peer) != route) {
+            peerRoutes.put(peer, route);
+        }
+
+        if (route.isDuplicate(response)) {
+            logger.trace("CoIoT message from {} (MID={}) was already processed, discard", peer, response.getMID());
+            return;
+        }
+        route.listener.processResponse(response);
+    }
+
+    private @Nullable Route findRoute(Response response) {
+        for (Shelly1CoapListener listener : coapListeners) {
+            if (listener.isOwnPacket(response)) {
+                return new Route(listener);
+            }
+        }
+        return null;
+    }
+
+    private void removeRoutes(Shelly1CoapListener listener) {
+        deviceRoutes.values().removeIf(route -> route.listener == listener);
+        peerRoutes.values().removeIf(route -> route.listener == listener);
+    }
+
+    private static String getDeviceId(Response response) {
+        for (Option opt : response.getOptions().asSortedList()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                return opt.getStringValue();
+            }
+        }
+        return "";
+    }
+
+    private static ThreadPoolExecutor[] createWorkers(int count, int queueSize) {
+        NamedThreadFactory threadFactory = new NamedThreadFactory("shelly-coiot", true);
+        ThreadPoolExecutor[] workers = new ThreadPoolExecutor[count];
+        for (int i = 0; i < workers.length; i++) {
+            // a single thread per worker, the messages of a device have to be processed in order
+            workers[i] = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                    threadFactory);
+            workers[i].allowCoreThreadTimeOut(true);
+        }
+        return workers;
     }
 
     public static Response createResponse(Request request) {
@@ -125,17 +272,24 @@ public class Shelly1CoapServer {
      */
     public void stop(Shelly1CoapListener listener) {
         coapListeners.remove(listener);
+        removeRoutes(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
     }
 
     private synchronized void stop() {
+        // Last listener
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdownNow();
+        }
+        workers = new ThreadPoolExecutor[0];
+        coapListeners.clear();
+        deviceRoutes.clear();
+        peerRoutes.clear();
         if (started) {
-            // Last listener
             server.stop();
             statusEndpoint.stop();
-            coapListeners.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
@@ -16,6 +16,7 @@ import static org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.*;
 import static org.openhab.binding.shelly.internal.util.ShellyUtils.*;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.util.concurrent.CountDownLatch;
 
@@ -44,6 +45,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * @author Markus Michels - Initial contribution
@@ -234,7 +237,7 @@ public class Shelly2RpcSocket {
     public void onText(Session session, String receivedMessage) {
         try {
             Shelly2RpctInterface handler = websocketHandler;
-            Shelly2RpcBaseMessage message = fromJson(gson, receivedMessage, Shelly2RpcBaseMessage.class);
+            Shelly2RpcBaseMessage message = readMessageHeader(receivedMessage);
             logger.trace("{}: Inbound Rpc message: {}", thingName, receivedMessage);
             if (handler != null) {
                 if (thingName.isEmpty()) {
@@ -296,6 +299,39 @@ public class Shelly2RpcSocket {
         }
     }
 
+    /**
+     * Reads only src and method of an inbound message, which is all we need to dispatch it. The payload of a status
+     * notification can be large and gets mapped to the matching DTO afterwards, so it is skipped here instead of
+     * being parsed into a generic object tree.
+     *
+     * @param json Textual API message
+     * @return message with src and method filled in
+     * @throws ShellyApiException if the message is not a valid JSON object
+     */
+    private static Shelly2RpcBaseMessage readMessageHeader(String json) throws ShellyApiException {
+        Shelly2RpcBaseMessage message = new Shelly2RpcBaseMessage();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() != JsonToken.STRING) {
+                    reader.skipValue();
+                } else if ("src".equals(name)) {
+                    message.src = reader.nextString();
+                } else if ("method".equals(name)) {
+                    message.method = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new ShellyApiException("Unable to parse Rpc message: " + e.getMessage(), e);
+        }
+        return message;
+    }
+
     public boolean isConnected() {
         Session session = this.session;
         return session != null && session.isOpen();
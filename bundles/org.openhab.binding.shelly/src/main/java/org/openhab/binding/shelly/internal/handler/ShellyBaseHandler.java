@@ -1302,7 +1302,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     @Override
     public boolean updateChannel(String group, String channel, State value) {
-        return updateChannel(mkChannelId(group, channel), value, false);
+        return updateChannel(cache.getChannelId(group, channel), value, false);
     }
 
     @Override
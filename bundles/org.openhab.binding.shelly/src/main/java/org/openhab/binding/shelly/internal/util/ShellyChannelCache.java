@@ -35,6 +35,7 @@ public class ShellyChannelCache {
 
     private final ShellyThingInterface thingHandler;
     private final Map<String, State> channelData = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> channelIds = new ConcurrentHashMap<>();
     private String thingName = "";
     private boolean enabled = false;
 
@@ -71,10 +72,7 @@ public class ShellyChannelCache {
      */
     public boolean updateChannel(String channelId, State newValue, Boolean forceUpdate) {
         try {
-            State current = null;
-            if (channelData.containsKey(channelId)) {
-                current = channelData.get(channelId);
-            }
+            State current = channelData.get(channelId);
             if (!enabled || forceUpdate || (current == null) || !current.equals(newValue)) {
                 if ((current != null) && current.getClass().isEnum() && (current.equals(newValue))) {
                     return false; // special case for OnOffType
@@ -82,11 +80,7 @@ public class ShellyChannelCache {
                 // For channels that support multiple types (like brightness) a suffix is added
                 // this gets removed to get the channelId for updateState
                 thingHandler.publishState(channelId, newValue);
-                if (current == null) {
-                    channelData.put(channelId, newValue);
-                } else {
-                    channelData.replace(channelId, newValue);
-                }
+                channelData.put(channelId, newValue);
                 return true;
             }
         } catch (IllegalArgumentException e) {
@@ -97,7 +91,28 @@ public class ShellyChannelCache {
     }
 
     public boolean updateChannel(String group, String channel, State value) {
-        return updateChannel(mkChannelId(group, channel), value, false);
+        return updateChannel(getChannelId(group, channel), value, false);
+    }
+
+    /**
+     * Get the channel id for a group/channel pair. The ids are built once and then reused, because every status
+     * update addresses the same channels again.
+     *
+     * @param group Channel Group
+     * @param channel Channel Name
+     * @return channel id
+     */
+    public String getChannelId(String group, String channel) {
+        Map<String, String> groupChannelIds = channelIds.get(group);
+        if (groupChannelIds == null) {
+            groupChannelIds = channelIds.computeIfAbsent(group, g -> new ConcurrentHashMap<>());
+        }
+        String channelId = groupChannelIds.get(channel);
+        if (channelId == null) {
+            channelId = mkChannelId(group, channel);
+            groupChannelIds.put(channel, channelId);
+        }
+        return channelId;
     }
 
     public boolean updateChannel(String channelId, State value) {
@@ -113,7 +128,7 @@ public class ShellyChannelCache {
      */
 
     public State getValue(String group, String channel) {
-        return getValue(mkChannelId(group, channel));
+        return getValue(getChannelId(group, channel));
     }
 
     public State getValue(String channelId) {
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api1;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.shelly.internal.api1.Shelly1CoapJSonDTO.COIOT_OPTION_GLOBAL_DEVID;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests cases for {@link Shelly1CoapServer}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class Shelly1CoapServerTest {
+    private static final InetSocketAddress PEER1 = new InetSocketAddress("192.0.2.1", 5683);
+    private static final InetSocketAddress PEER2 = new InetSocketAddress("192.0.2.2", 5683);
+    private static final String DEVICE1 = "SHSW-1#AABBCC000001#2";
+    private static final String DEVICE2 = "SHSW-1#AABBCC000002#2";
+
+    private @Mock @NonNullByDefault({}) CoapServer coapServer;
+    private @Mock @NonNullByDefault({}) CoapEndpoint endpoint;
+    private @Mock @NonNullByDefault({}) Shelly1CoapListener listener1;
+    private @Mock @NonNullByDefault({}) Shelly1CoapListener listener2;
+
+    private @NonNullByDefault({}) Shelly1CoapServer server;
+
+    @BeforeEach
+    public void setUp() {
+        when(listener1.isOwnPacket(any())).thenAnswer(i -> isFrom(i.getArgument(0), PEER1, DEVICE1));
+        when(listener2.isOwnPacket(any())).thenAnswer(i -> isFrom(i.getArgument(0), PEER2, DEVICE2));
+        server = new Shelly1CoapServer(coapServer, endpoint, 1, 1);
+        server.addListener(listener1);
+        server.addListener(listener2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.dispose();
+    }
+
+    private static boolean isFrom(Response response, InetSocketAddress peer, String deviceId) {
+        return peer.equals(response.getSourceContext().getPeerAddress())
+                || response.getOptions().asSortedList().stream().anyMatch(
+                        option -> option.getNumber() == COIOT_OPTION_GLOBAL_DEVID
+                                && deviceId.equals(option.getStringValue()));
+    }
+
+    private static Response message(InetSocketAddress peer, String deviceId, int mid, String payload) {
+        Response response = new Response(ResponseCode.CONTENT);
+        response.setSourceContext(new AddressEndpointContext(peer));
+        response.setMID(mid);
+        if (!deviceId.isEmpty()) {
+            response.getOptions().addOption(new Option(COIOT_OPTION_GLOBAL_DEVID, deviceId));
+        }
+        response.setPayload(payload.getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    @Test
+    public void messageRoutedToListenerOfDevice() {
+        Response message = message(PEER2, DEVICE2, 1, "{}");
+
+        server.dispatch(message);
+        server.dispatch(message(PEER2, DEVICE2, 2, "{}"));
+
+        verify(listener2).processResponse(message);
+        verify(listener2, times(2)).processResponse(any());
+        verify(listener1, never()).processResponse(any());
+        // the route is remembered, the listeners are only asked for the first message
+        verify(listener2, times(1)).isOwnPacket(any());
+    }
+
+    @Test
+    public void messageWithoutDeviceIdRoutedByPeer() {
+        server.dispatch(message(PEER1, "", 1, "{}"));
+        server.dispatch(message(PEER1, "", 2, "{}"));
+
+        verify(listener1, times(2)).processResponse(any());
+        verify(listener2, never()).processResponse(any());
+    }
+
+    @Test
+    public void deviceWithNewAddressRoutedById() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{}"));
+        server.dispatch(message(new InetSocketAddress("192.0.2.9", 5683), DEVICE1, 2, "{}"));
+
+        verify(listener1, times(2)).processResponse(any());
+        verify(listener2, never()).processResponse(any());
+    }
+
+    @Test
+    public void messageOfUnknownDeviceDiscarded() {
+        server.dispatch(message(new InetSocketAddress("192.0.2.3", 5683), "SHSW-1#AABBCC000003#2", 1, "{}"));
+
+        verify(listener1, never()).processResponse(any());
+        verify(listener2, never()).processResponse(any());
+    }
+
+    @Test
+    public void duplicateMessageDiscarded() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{\"G\":[[0,112,1]]}"));
+        // the same message received on a second network interface
+        server.dispatch(message(PEER1, DEVICE1, 1, "{\"G\":[[0,112,1]]}"));
+
+        verify(listener1, times(1)).processResponse(any());
+    }
+
+    @Test
+    public void sameIdWithOtherPayloadPassedOn() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{\"G\":[[0,112,1]]}"));
+        server.dispatch(message(PEER1, DEVICE1, 1, "{\"G\":[[0,112,0]]}"));
+
+        verify(listener1, times(2)).processResponse(any());
+    }
+
+    @Test
+    public void samePayloadWithOtherIdPassedOn() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{\"G\":[[0,112,1]]}"));
+        server.dispatch(message(PEER1, DEVICE1, 2, "{\"G\":[[0,112,1]]}"));
+
+        verify(listener1, times(2)).processResponse(any());
+    }
+
+    @Test
+    public void duplicatesDetectedPerDevice() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{}"));
+        server.dispatch(message(PEER2, DEVICE2, 1, "{}"));
+
+        verify(listener1, times(1)).processResponse(any());
+        verify(listener2, times(1)).processResponse(any());
+    }
+
+    @Test
+    public void stoppedListenerNoLongerCalled() {
+        server.dispatch(message(PEER1, DEVICE1, 1, "{}"));
+        server.stop(listener1);
+        server.dispatch(message(PEER1, DEVICE1, 2, "{}"));
+
+        verify(listener1, times(1)).processResponse(any());
+    }
+
+    @Test
+    public void messagesDiscardedWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            processing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(listener1).processResponse(any());
+
+        server.processResponse(message(PEER1, DEVICE1, 1, "{}"));
+        processing.await(5, TimeUnit.SECONDS);
+        // the single worker is busy, one message fits into its queue, the next one is discarded
+        Response queued = message(PEER1, DEVICE1, 2, "{}");
+        server.processResponse(queued);
+        server.processResponse(message(PEER1, DEVICE1, 3, "{}"));
+        release.countDown();
+
+        verify(listener1, timeout(5000).times(2)).processResponse(any());
+        verify(listener1, timeout(5000)).processResponse(queued);
+        verify(listener1, after(200).times(2)).processResponse(any());
+    }
+}
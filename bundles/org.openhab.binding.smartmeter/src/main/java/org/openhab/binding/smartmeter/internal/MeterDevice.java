@@ -184,9 +184,8 @@ public abstract class MeterDevice<T> {
                     clearValueCache();
                     populateValueCache(value);
                     printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
                     // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
+                    obisCodes.values().stream().filter((val) -> !valueCache.containsKey(val.getObisCode()))
                             .forEach((val) -> notifyValuesRemoved(val));
                 });
     }
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -33,6 +34,7 @@ import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
 import org.openhab.binding.smartmeter.SmartMeterConfiguration;
 import org.openhab.binding.smartmeter.internal.conformity.Conformity;
 import org.openhab.binding.smartmeter.internal.helper.Baudrate;
+import org.openhab.binding.smartmeter.internal.helper.DeadbandFilter;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 import org.openhab.core.library.types.QuantityType;
@@ -76,6 +78,11 @@ public class SmartMeterHandler extends BaseThingHandler {
     private MeterValueListener valueChangeListener;
     private SmartMeterChannelTypeProvider channelTypeProvider;
     private @NonNull Supplier<SerialPortManager> serialPortManagerSupplier;
+    /**
+     * The states last sent to the channels. If the channel has a deadband, a read value is only sent if it differs
+     * from this state by more than the deadband.
+     */
+    private final Map<ChannelUID, State> publishedStates = new ConcurrentHashMap<>();
 
     public SmartMeterHandler(Thing thing, SmartMeterChannelTypeProvider channelProvider,
             Supplier<SerialPortManager> serialPortManagerSupplier) {
@@ -131,6 +138,7 @@ public class SmartMeterHandler extends BaseThingHandler {
         if (this.valueReader != null) {
             this.valueReader.dispose();
         }
+        publishedStates.clear();
     }
 
     @Override
@@ -152,8 +160,6 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
                 String obis = value.getObisCode();
 
                 String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
@@ -167,6 +173,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                     State state = getStateForObisValue(value, channel);
                     if (channel == null) {
                         logger.debug("Adding channel: {} with item type: {}", obisChannelString, itemType);
+                        ThingBuilder thingBuilder = editThing();
 
                         // channel has not been created yet
                         ChannelBuilder channelBuilder = ChannelBuilder
@@ -197,11 +204,14 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (!channel.getProperties().containsKey(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS)) {
                         addObisPropertyToChannel(obis, channel);
                     }
-                    if (state != null) {
+                    if (state != null && isChanged(channel, state)) {
+                        publishedStates.put(channel.getUID(), state);
                         updateState(channel.getUID(), state);
                     }
 
-                    updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    if (getThing().getStatus() != ThingStatus.ONLINE) {
+                        updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+                    }
                 } else {
                     logger.warn("No ChannelType found for OBIS {}", obis);
                 }
@@ -225,13 +235,17 @@ public class SmartMeterHandler extends BaseThingHandler {
                 // channels that are not available are removed
                 String obisChannelId = SmartMeterBindingConstants.getObisChannelId(value.getObisCode());
                 logger.debug("Removing channel: {}", obisChannelId);
+                ChannelUID channelUID = new ChannelUID(thing.getUID(), obisChannelId);
+                publishedStates.remove(channelUID);
                 ThingBuilder thingBuilder = editThing();
-                thingBuilder.withoutChannel(new ChannelUID(thing.getUID(), obisChannelId));
+                thingBuilder.withoutChannel(channelUID);
                 updateThing(thingBuilder.build());
             }
 
             @Override
             public void errorOccurred(Throwable e) {
+                // send all values again once the device can be read again
+                publishedStates.clear();
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getLocalizedMessage());
             }
         };
@@ -252,6 +266,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (value != null) {
                         State state = getStateForObisValue(value, channel);
                         if (state != null) {
+                            publishedStates.put(channel.getUID(), state);
                             updateState(channel.getUID(), state);
                         }
                     }
@@ -280,6 +295,18 @@ public class SmartMeterHandler extends BaseThingHandler {
         return state;
     }
 
+    /**
+     * Checks whether the state should be sent to the channel, see {@link DeadbandFilter}.
+     *
+     * @param channel the channel the state is sent to
+     * @param state the new state
+     * @return whether the state should be sent to the channel
+     */
+    private boolean isChanged(Channel channel, State state) {
+        return DeadbandFilter.shouldPublish(publishedStates.get(channel.getUID()), state,
+                channel.getConfiguration().get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_DEADBAND));
+    }
+
     private <Q extends Quantity<Q>> State applyConformity(Channel channel, QuantityType<Q> currentState) {
         try {
             return this.conformity.apply(channel, currentState, getThing(), this.smlDevice);
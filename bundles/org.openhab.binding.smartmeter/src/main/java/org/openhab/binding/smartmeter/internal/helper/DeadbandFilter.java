@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.helper;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * Decides whether a value read from the meter is sent to its channel, based on the deadband of the channel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DeadbandFilter {
+
+    /**
+     * Gets whether a state should be sent to a channel. Without a deadband every state is sent. With a deadband,
+     * quantities are only sent if they differ by more than the deadband from the last sent state, in the unit of the
+     * last sent state, and other states are only sent if they changed. So a deadband of 0 sends changed values only.
+     *
+     * @param publishedState the state last sent to the channel, <code>null</code> if none was sent yet
+     * @param state the new state
+     * @param deadband the deadband configured for the channel, <code>null</code> if none is configured
+     * @return whether the state should be sent to the channel
+     */
+    public static boolean shouldPublish(@Nullable State publishedState, State state, @Nullable Object deadband) {
+        if (!(deadband instanceof Number number) || publishedState == null) {
+            return true;
+        }
+        if (publishedState instanceof QuantityType<?> published && state instanceof QuantityType<?> quantity) {
+            QuantityType<?> converted = quantity.toInvertibleUnit(published.getUnit());
+            if (converted != null) {
+                BigDecimal difference = converted.toBigDecimal().subtract(published.toBigDecimal()).abs();
+                return difference.compareTo(new BigDecimal(number.toString())) > 0;
+            }
+        }
+        return !state.equals(publishedState);
+    }
+}
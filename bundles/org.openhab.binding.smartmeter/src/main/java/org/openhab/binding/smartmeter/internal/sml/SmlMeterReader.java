@@ -119,7 +119,7 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
                     MeterValue<?> smlValue = getMeterValue(obis);
 
                     if (smlValue == null) {
-                        smlValue = valueExtractor.getSmlValue();
+                        smlValue = valueExtractor.getSmlValue(obis);
                     }
 
                     SmlStatus status = entry.getStatus();
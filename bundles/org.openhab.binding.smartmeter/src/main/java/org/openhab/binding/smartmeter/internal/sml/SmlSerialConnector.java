@@ -18,7 +18,6 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -87,17 +86,20 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
+        // read out the whole buffer. We are only interested in the most recent SML file, older ones are dropped
+        // right away.
+        SmlFile smlFile = null;
+        int smlFileCount = 0;
         do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
+            logger.trace("Reading {}. SML message", smlFileCount + 1);
+            smlFile = TRANSPORT.getSMLFile(is);
+            smlFileCount++;
         } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
+        if (smlFile == null) {
             throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFileCount);
+        return smlFile;
     }
 
     @Override
@@ -17,7 +17,6 @@ import java.util.Arrays;
 import javax.measure.Quantity;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
 import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openmuc.jsml.EObis;
 import org.openmuc.jsml.EUnit;
@@ -48,7 +47,17 @@ public final class SmlValueExtractor {
     }
 
     public <Q extends Quantity<Q>> MeterValue<Q> getSmlValue() {
-        return new MeterValue<Q>(getObisCode(), getValue(), SmlUnitConversion.getUnit(getUnit()));
+        return getSmlValue(getObisCode());
+    }
+
+    /**
+     * Gets the value for an already known OBIS code.
+     *
+     * @param obisCode the OBIS code of this entry, see {@link #getObisCode()}
+     * @return the value of this entry
+     */
+    public <Q extends Quantity<Q>> MeterValue<Q> getSmlValue(String obisCode) {
+        return new MeterValue<Q>(obisCode, getValue(), SmlUnitConversion.getUnit(getUnit()));
     }
 
     /**
@@ -115,13 +124,8 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            // the scaler is a signed byte
+            scaler = smlListEntry.getScaler().getVal();
         }
 
         return Math.pow(10, scaler);
@@ -142,7 +146,7 @@ public final class SmlValueExtractor {
      * @param byte to convert to Integer.
      */
     private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
+        return b & 0xFF;
     }
 
     /**
@@ -151,8 +155,10 @@ public final class SmlValueExtractor {
      * @return the hex encoded OBIS code as readable string.
      */
     protected static String getObisAsString(byte[] octetBytes) {
-        return String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, byteToInt(octetBytes[0]),
-                byteToInt(octetBytes[1]), byteToInt(octetBytes[2]), byteToInt(octetBytes[3]), byteToInt(octetBytes[4]));
+        // same as SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, without parsing the format for every value
+        return new StringBuilder(20).append(byteToInt(octetBytes[0])).append('-').append(byteToInt(octetBytes[1]))
+                .append(':').append(byteToInt(octetBytes[2])).append('.').append(byteToInt(octetBytes[3])).append('.')
+                .append(byteToInt(octetBytes[4])).toString();
     }
 
     public String getObisCode() {
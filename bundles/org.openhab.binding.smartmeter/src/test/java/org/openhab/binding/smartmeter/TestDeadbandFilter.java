@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.smartmeter.internal.helper.DeadbandFilter;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.Units;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestDeadbandFilter {
+
+    private static QuantityType<?> watt(double value) {
+        return new QuantityType<>(value, Units.WATT);
+    }
+
+    @Test
+    public void testEveryValueSentWithoutDeadband() {
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), watt(100), null));
+        assertTrue(DeadbandFilter.shouldPublish(new StringType("a"), new StringType("a"), null));
+    }
+
+    @Test
+    public void testFirstValueAlwaysSent() {
+        assertTrue(DeadbandFilter.shouldPublish(null, watt(100), BigDecimal.TEN));
+    }
+
+    @Test
+    public void testZeroDeadbandSendsChangedValuesOnly() {
+        assertFalse(DeadbandFilter.shouldPublish(watt(100), watt(100), BigDecimal.ZERO));
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), watt(100.1), BigDecimal.ZERO));
+        assertFalse(DeadbandFilter.shouldPublish(new StringType("a"), new StringType("a"), BigDecimal.ZERO));
+        assertTrue(DeadbandFilter.shouldPublish(new StringType("a"), new StringType("b"), BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testChangeWithinDeadbandDropped() {
+        assertFalse(DeadbandFilter.shouldPublish(watt(100), watt(110), BigDecimal.TEN));
+        assertFalse(DeadbandFilter.shouldPublish(watt(100), watt(90), BigDecimal.TEN));
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), watt(110.5), BigDecimal.TEN));
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), watt(89), BigDecimal.TEN));
+    }
+
+    @Test
+    public void testDeadbandInUnitOfLastValue() {
+        assertFalse(DeadbandFilter.shouldPublish(watt(100), new QuantityType<>("0.105 kW"), BigDecimal.TEN));
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), new QuantityType<>("0.115 kW"), BigDecimal.TEN));
+    }
+
+    @Test
+    public void testIncompatibleUnitsCompared() {
+        assertTrue(DeadbandFilter.shouldPublish(watt(100), new QuantityType<>(100, Units.VOLT), BigDecimal.TEN));
+    }
+}
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -196,6 +197,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
      */
     private @Nullable ZonePlayerHandler coordinatorHandler;
 
+    /**
+     * Zone groups parsed from the last ZoneGroupState, with the handlers of the group members resolved on first use
+     */
+    private volatile @Nullable ZoneGroupTopology zoneGroupTopology;
+
     private @Nullable List<SonosMusicService> musicServices;
 
     private enum LineInType {
@@ -226,6 +232,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         removeSubscription();
         service.unregisterParticipant(this);
+        zoneGroupTopology = null;
     }
 
     @Override
@@ -481,238 +488,244 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         if (getThing().getStatus() == ThingStatus.ONLINE) {
             logger.trace("Received pair '{}':'{}' (service '{}') for thing '{}'",
                     new Object[] { variable, value, service, this.getThing().getUID() });
+            processValue(variable, value, service);
+        }
+    }
 
-            String oldValue = this.stateMap.get(variable);
-            if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
-                return;
-            }
+    /**
+     * Processes a state variable of an online player. The values of a LastChange event are processed in the same
+     * pass, without going through {@link #onValueReceived(String, String, String)} again.
+     */
+    private void processValue(String variable, String value, String service) {
+        String oldValue = this.stateMap.get(variable);
+        if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
+            return;
+        }
 
-            this.stateMap.put(variable, value);
+        this.stateMap.put(variable, value);
 
-            // pre-process some variables, eg XML processing
-            if (SERVICE_AV_TRANSPORT.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                parsedValues.forEach((variable1, value1) -> {
-                    // Update the transport state after the update of the media information
-                    // to not break the notification mechanism
-                    if (!"TransportState".equals(variable1)) {
-                        onValueReceived(variable1, value1, service);
-                    }
-                    // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
-                    // for a compatibility with the result of the action GetMediaInfo
-                    if ("AVTransportURI".equals(variable1)) {
-                        onValueReceived("CurrentURI", value1, service);
-                    } else if ("AVTransportURIMetaData".equals(variable1)) {
-                        onValueReceived("CurrentURIMetaData", value1, service);
-                    }
-                });
-                updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), service);
+        // pre-process some variables, eg XML processing
+        if (SERVICE_AV_TRANSPORT.equals(service) && "LastChange".equals(variable)) {
+            Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+            parsedValues.forEach((variable1, value1) -> {
+                // Update the transport state after the update of the media information
+                // to not break the notification mechanism
+                if (!"TransportState".equals(variable1)) {
+                    processValue(variable1, value1, service);
+                }
+                // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
+                // for a compatibility with the result of the action GetMediaInfo
+                if ("AVTransportURI".equals(variable1)) {
+                    processValue("CurrentURI", value1, service);
+                } else if ("AVTransportURIMetaData".equals(variable1)) {
+                    processValue("CurrentURIMetaData", value1, service);
                 }
+            });
+            updateMediaInformation();
+            String transportState = parsedValues.get("TransportState");
+            if (transportState != null) {
+                processValue("TransportState", transportState, service);
             }
+        }
 
-            if (SERVICE_RENDERING_CONTROL.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                parsedValues.forEach((variable1, value1) -> {
-                    onValueReceived(variable1, value1, service);
-                });
-            }
+        if (SERVICE_RENDERING_CONTROL.equals(service) && "LastChange".equals(variable)) {
+            Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+            parsedValues.forEach((variable1, value1) -> {
+                processValue(variable1, value1, service);
+            });
+        }
 
-            List<StateOption> options = new ArrayList<>();
+        List<StateOption> options = new ArrayList<>();
 
-            // update the appropriate channel
-            switch (variable) {
-                case "TransportState":
-                    updateChannel(STATE);
-                    updateChannel(CONTROL);
-                    updateChannel(STOP);
-                    dispatchOnAllGroupMembers(variable, value, service);
-                    break;
-                case "CurrentPlayMode":
-                    updateChannel(SHUFFLE);
-                    updateChannel(REPEAT);
-                    dispatchOnAllGroupMembers(variable, value, service);
-                    break;
-                case "CurrentLEDState":
-                    updateChannel(LED);
-                    break;
-                case "ZoneName":
-                    updateState(ZONENAME, new StringType(value));
-                    break;
-                case "CurrentZoneName":
-                    updateChannel(ZONENAME);
-                    break;
-                case "ZoneGroupState":
-                    updateChannel(COORDINATOR);
-                    // Update coordinator after a change is made to the grouping of Sonos players
-                    updateGroupCoordinator();
-                    updateMediaInformation();
-                    // Update state and control channels for the group members with the coordinator values
-                    String transportState = getTransportState();
-                    if (transportState != null) {
-                        dispatchOnAllGroupMembers("TransportState", transportState, SERVICE_AV_TRANSPORT);
-                    }
-                    // Update shuffle and repeat channels for the group members with the coordinator values
-                    String playMode = getPlayMode();
-                    if (playMode != null) {
-                        dispatchOnAllGroupMembers("CurrentPlayMode", playMode, SERVICE_AV_TRANSPORT);
-                    }
-                    break;
-                case "LocalGroupUUID":
-                    updateChannel(ZONEGROUPID);
-                    break;
-                case "GroupCoordinatorIsLocal":
-                    updateChannel(LOCALCOORDINATOR);
-                    break;
-                case "VolumeMaster":
-                    updateChannel(VOLUME);
-                    break;
-                case "MuteMaster":
-                    updateChannel(MUTE);
-                    break;
-                case "Bass":
-                    updateChannel(BASS);
-                    break;
-                case "Treble":
-                    updateChannel(TREBLE);
-                    break;
-                case "LoudnessMaster":
-                    updateChannel(LOUDNESS);
-                    break;
-                case "OutputFixed":
-                    updateChannel(BASS);
-                    updateChannel(TREBLE);
-                    updateChannel(LOUDNESS);
-                    break;
-                case "SubEnabled":
-                    updateChannel(SUBWOOFER);
-                    break;
-                case "SubGain":
-                    updateChannel(SUBWOOFERGAIN);
-                    break;
-                case "SurroundEnabled":
-                    updateChannel(SURROUND);
-                    break;
-                case "SurroundMode":
-                    updateChannel(SURROUNDMUSICMODE);
-                    break;
-                case "SurroundLevel":
-                    updateChannel(SURROUNDTVLEVEL);
-                    break;
-                case "HTAudioIn":
-                    updateChannel(CODEC);
-                    break;
-                case "MusicSurroundLevel":
-                    updateChannel(SURROUNDMUSICLEVEL);
-                    break;
-                case "HeightChannelLevel":
-                    updateChannel(HEIGHTLEVEL);
-                    break;
-                case "NightMode":
-                    updateChannel(NIGHTMODE);
-                    break;
-                case "DialogLevel":
-                    updateChannel(SPEECHENHANCEMENT);
-                    break;
-                case LINEINCONNECTED:
-                    if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
-                        updateChannel(LINEIN);
-                    }
-                    if (SonosBindingConstants.WITH_ANALOG_LINEIN_THING_TYPES_UIDS
-                            .contains(getThing().getThingTypeUID())) {
-                        updateChannel(ANALOGLINEIN);
-                    }
-                    break;
-                case TOSLINEINCONNECTED:
-                    if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
-                        updateChannel(LINEIN);
-                    }
-                    if (SonosBindingConstants.WITH_DIGITAL_LINEIN_THING_TYPES_UIDS
-                            .contains(getThing().getThingTypeUID())) {
-                        updateChannel(DIGITALLINEIN);
-                    }
-                    break;
-                case "AlarmRunning":
-                    updateChannel(ALARMRUNNING);
-                    updateRunningAlarmProperties();
-                    break;
-                case "RunningAlarmProperties":
-                    updateChannel(ALARMPROPERTIES);
-                    break;
-                case "CurrentURIFormatted":
-                    updateChannel(CURRENTTRACK);
-                    break;
-                case "CurrentTitle":
-                    updateChannel(CURRENTTITLE);
-                    break;
-                case "CurrentArtist":
-                    updateChannel(CURRENTARTIST);
-                    break;
-                case "CurrentAlbum":
-                    updateChannel(CURRENTALBUM);
-                    break;
-                case "CurrentURI":
-                    updateChannel(CURRENTTRANSPORTURI);
-                    break;
-                case "CurrentTrackURI":
-                    updateChannel(CURRENTTRACKURI);
-                    break;
-                case "CurrentAlbumArtURI":
-                    updateChannel(CURRENTALBUMARTURL);
-                    break;
-                case "CurrentSleepTimerGeneration":
-                    if ("0".equals(value)) {
-                        updateState(SLEEPTIMER, new DecimalType(0));
-                    }
-                    break;
-                case "SleepTimerGeneration":
-                    if ("0".equals(value)) {
-                        updateState(SLEEPTIMER, new DecimalType(0));
-                    } else {
-                        updateSleepTimerDuration();
-                    }
-                    break;
-                case "RemainingSleepTimerDuration":
-                    updateState(SLEEPTIMER, new DecimalType(sleepStrTimeToSeconds(value)));
-                    break;
-                case "CurrentTuneInStationId":
-                    updateChannel(TUNEINSTATIONID);
-                    break;
-                case "SavedQueuesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getPlayLists()) {
-                        options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                    }
-                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
-                    break;
-                case "FavoritesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getFavorites()) {
+        // update the appropriate channel
+        switch (variable) {
+            case "TransportState":
+                updateChannel(STATE);
+                updateChannel(CONTROL);
+                updateChannel(STOP);
+                dispatchOnAllGroupMembers(variable, value, service);
+                break;
+            case "CurrentPlayMode":
+                updateChannel(SHUFFLE);
+                updateChannel(REPEAT);
+                dispatchOnAllGroupMembers(variable, value, service);
+                break;
+            case "CurrentLEDState":
+                updateChannel(LED);
+                break;
+            case "ZoneName":
+                updateState(ZONENAME, new StringType(value));
+                break;
+            case "CurrentZoneName":
+                updateChannel(ZONENAME);
+                break;
+            case "ZoneGroupState":
+                updateChannel(COORDINATOR);
+                // Update coordinator after a change is made to the grouping of Sonos players
+                updateGroupCoordinator();
+                updateMediaInformation();
+                // Update state and control channels for the group members with the coordinator values
+                String transportState = getTransportState();
+                if (transportState != null) {
+                    dispatchOnAllGroupMembers("TransportState", transportState, SERVICE_AV_TRANSPORT);
+                }
+                // Update shuffle and repeat channels for the group members with the coordinator values
+                String playMode = getPlayMode();
+                if (playMode != null) {
+                    dispatchOnAllGroupMembers("CurrentPlayMode", playMode, SERVICE_AV_TRANSPORT);
+                }
+                break;
+            case "LocalGroupUUID":
+                updateChannel(ZONEGROUPID);
+                break;
+            case "GroupCoordinatorIsLocal":
+                updateChannel(LOCALCOORDINATOR);
+                break;
+            case "VolumeMaster":
+                updateChannel(VOLUME);
+                break;
+            case "MuteMaster":
+                updateChannel(MUTE);
+                break;
+            case "Bass":
+                updateChannel(BASS);
+                break;
+            case "Treble":
+                updateChannel(TREBLE);
+                break;
+            case "LoudnessMaster":
+                updateChannel(LOUDNESS);
+                break;
+            case "OutputFixed":
+                updateChannel(BASS);
+                updateChannel(TREBLE);
+                updateChannel(LOUDNESS);
+                break;
+            case "SubEnabled":
+                updateChannel(SUBWOOFER);
+                break;
+            case "SubGain":
+                updateChannel(SUBWOOFERGAIN);
+                break;
+            case "SurroundEnabled":
+                updateChannel(SURROUND);
+                break;
+            case "SurroundMode":
+                updateChannel(SURROUNDMUSICMODE);
+                break;
+            case "SurroundLevel":
+                updateChannel(SURROUNDTVLEVEL);
+                break;
+            case "HTAudioIn":
+                updateChannel(CODEC);
+                break;
+            case "MusicSurroundLevel":
+                updateChannel(SURROUNDMUSICLEVEL);
+                break;
+            case "HeightChannelLevel":
+                updateChannel(HEIGHTLEVEL);
+                break;
+            case "NightMode":
+                updateChannel(NIGHTMODE);
+                break;
+            case "DialogLevel":
+                updateChannel(SPEECHENHANCEMENT);
+                break;
+            case LINEINCONNECTED:
+                if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
+                    updateChannel(LINEIN);
+                }
+                if (SonosBindingConstants.WITH_ANALOG_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
+                    updateChannel(ANALOGLINEIN);
+                }
+                break;
+            case TOSLINEINCONNECTED:
+                if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
+                    updateChannel(LINEIN);
+                }
+                if (SonosBindingConstants.WITH_DIGITAL_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
+                    updateChannel(DIGITALLINEIN);
+                }
+                break;
+            case "AlarmRunning":
+                updateChannel(ALARMRUNNING);
+                updateRunningAlarmProperties();
+                break;
+            case "RunningAlarmProperties":
+                updateChannel(ALARMPROPERTIES);
+                break;
+            case "CurrentURIFormatted":
+                updateChannel(CURRENTTRACK);
+                break;
+            case "CurrentTitle":
+                updateChannel(CURRENTTITLE);
+                break;
+            case "CurrentArtist":
+                updateChannel(CURRENTARTIST);
+                break;
+            case "CurrentAlbum":
+                updateChannel(CURRENTALBUM);
+                break;
+            case "CurrentURI":
+                updateChannel(CURRENTTRANSPORTURI);
+                break;
+            case "CurrentTrackURI":
+                updateChannel(CURRENTTRACKURI);
+                break;
+            case "CurrentAlbumArtURI":
+                updateChannel(CURRENTALBUMARTURL);
+                break;
+            case "CurrentSleepTimerGeneration":
+                if ("0".equals(value)) {
+                    updateState(SLEEPTIMER, new DecimalType(0));
+                }
+                break;
+            case "SleepTimerGeneration":
+                if ("0".equals(value)) {
+                    updateState(SLEEPTIMER, new DecimalType(0));
+                } else {
+                    updateSleepTimerDuration();
+                }
+                break;
+            case "RemainingSleepTimerDuration":
+                updateState(SLEEPTIMER, new DecimalType(sleepStrTimeToSeconds(value)));
+                break;
+            case "CurrentTuneInStationId":
+                updateChannel(TUNEINSTATIONID);
+                break;
+            case "SavedQueuesUpdateID": // service ContentDirectoy
+                for (SonosEntry entry : getPlayLists()) {
+                    options.add(new StateOption(entry.getTitle(), entry.getTitle()));
+                }
+                stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
+                break;
+            case "FavoritesUpdateID": // service ContentDirectoy
+                for (SonosEntry entry : getFavorites()) {
+                    options.add(new StateOption(entry.getTitle(), entry.getTitle()));
+                }
+                stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), FAVORITE), options);
+                break;
+            // For favorite radios, we should have checked the state variable named RadioFavoritesUpdateID
+            // Due to a bug in the data type definition of this state variable, it is not set.
+            // As a workaround, we check the state variable named ContainerUpdateIDs.
+            case "ContainerUpdateIDs": // service ContentDirectoy
+                if (value.startsWith("R:0,") || stateDescriptionProvider
+                        .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
+                    for (SonosEntry entry : getFavoriteRadios()) {
                         options.add(new StateOption(entry.getTitle(), entry.getTitle()));
                     }
-                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), FAVORITE), options);
-                    break;
-                // For favorite radios, we should have checked the state variable named RadioFavoritesUpdateID
-                // Due to a bug in the data type definition of this state variable, it is not set.
-                // As a workaround, we check the state variable named ContainerUpdateIDs.
-                case "ContainerUpdateIDs": // service ContentDirectoy
-                    if (value.startsWith("R:0,") || stateDescriptionProvider
-                            .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
-                        for (SonosEntry entry : getFavoriteRadios()) {
-                            options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                        }
-                        stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
-                    }
-                    break;
-                case "MoreInfo":
-                    updateChannel(BATTERYCHARGING);
-                    updateChannel(BATTERYLEVEL);
-                    break;
-                case "MicEnabled":
-                    updateChannel(MICROPHONE);
-                    break;
-                default:
-                    break;
-            }
+                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
+                }
+                break;
+            case "MoreInfo":
+                updateChannel(BATTERYCHARGING);
+                updateChannel(BATTERYLEVEL);
+                break;
+            case "MicEnabled":
+                updateChannel(MICROPHONE);
+                break;
+            default:
+                break;
         }
     }
 
@@ -720,7 +733,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         if (isCoordinator()) {
             for (String member : getOtherZoneGroupMembers()) {
                 try {
-                    ZonePlayerHandler memberHandler = getHandlerByName(member);
+                    ZonePlayerHandler memberHandler = getGroupMemberHandler(member);
                     if (ThingStatus.ONLINE.equals(memberHandler.getThing().getStatus())) {
                         memberHandler.onValueReceived(variable, value, service);
                     }
@@ -1038,7 +1051,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         if (allGroup) {
             for (String member : getZoneGroupMembers()) {
                 try {
-                    ZonePlayerHandler memberHandler = getHandlerByName(member);
+                    ZonePlayerHandler memberHandler = getGroupMemberHandler(member);
                     if (ThingStatus.ONLINE.equals(memberHandler.getThing().getStatus())
                             && memberHandler.isLinked(channeldD)) {
                         memberHandler.updateState(channeldD, state);
@@ -1278,7 +1291,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         ZonePlayerHandler handlerForImageUpdate = null;
         for (String member : getZoneGroupMembers()) {
             try {
-                ZonePlayerHandler memberHandler = getHandlerByName(member);
+                ZonePlayerHandler memberHandler = getGroupMemberHandler(member);
                 if (ThingStatus.ONLINE.equals(memberHandler.getThing().getStatus())) {
                     if (memberHandler.isLinked(CURRENTALBUMART)
                             && hasValueChanged(albumArtURI, memberHandler.stateMap.get("CurrentAlbumArtURI"))) {
@@ -1937,7 +1950,17 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private Collection<SonosZoneGroup> getZoneGroups() {
         String zoneGroupState = stateMap.get("ZoneGroupState");
-        return zoneGroupState == null ? Collections.emptyList() : SonosXMLParser.getZoneGroupFromXML(zoneGroupState);
+        return zoneGroupState == null ? Collections.emptyList() : getZoneGroupTopology(zoneGroupState).groups();
+    }
+
+    private ZoneGroupTopology getZoneGroupTopology(String zoneGroupState) {
+        ZoneGroupTopology topology = zoneGroupTopology;
+        if (topology == null || !topology.zoneGroupState().equals(zoneGroupState)) {
+            List<SonosZoneGroup> groups = List.copyOf(SonosXMLParser.getZoneGroupFromXML(zoneGroupState));
+            topology = new ZoneGroupTopology(zoneGroupState, groups, new ConcurrentHashMap<>());
+            zoneGroupTopology = topology;
+        }
+        return topology;
     }
 
     /**
@@ -2319,6 +2342,32 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return zoneGroupMembers;
     }
 
+    /**
+     * Returns the handler of a member of the zone group of this player. The handlers are looked up once per zone group
+     * topology.
+     *
+     * @param member the UDN of the group member
+     * @return the handler of the group member
+     * @throws IllegalStateException if there is no handler for the group member
+     */
+    private ZonePlayerHandler getGroupMemberHandler(String member) throws IllegalStateException {
+        if (member.equals(getUDN())) {
+            return this;
+        }
+        String zoneGroupState = stateMap.get("ZoneGroupState");
+        if (zoneGroupState == null) {
+            return getHandlerByName(member);
+        }
+        Map<String, ZonePlayerHandler> handlers = getZoneGroupTopology(zoneGroupState).handlers();
+        ZonePlayerHandler handler = handlers.get(member);
+        // the thing of the member may have got a new handler in the meantime
+        if (handler == null || handler.getThing().getHandler() != handler) {
+            handler = getHandlerByName(member);
+            handlers.put(member, handler);
+        }
+        return handler;
+    }
+
     protected ZonePlayerHandler getHandlerByName(String remotePlayerName) throws IllegalStateException {
         for (ThingTypeUID supportedThingType : SonosBindingConstants.SUPPORTED_THING_TYPES_UIDS) {
             Thing thing = localThingRegistry.get(new ThingUID(supportedThingType, remotePlayerName));
@@ -3368,4 +3417,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
         return null;
     }
+
+    private record ZoneGroupTopology(String zoneGroupState, List<SonosZoneGroup> groups,
+            Map<String, ZonePlayerHandler> handlers) {
+    }
 }
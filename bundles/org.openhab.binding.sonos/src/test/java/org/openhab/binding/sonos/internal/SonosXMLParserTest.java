@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
@@ -104,6 +105,49 @@ public class SonosXMLParserTest {
                 sonosMetaData.getAlbumArtUri());
     }
 
+    @Test
+    public void getAVTransportFromXML() throws IOException {
+        final String xml = readResource("/AVTransportLastChange.xml");
+        // replay the event, the parsers are reused between the calls
+        for (int i = 0; i < 20; i++) {
+            Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(xml);
+            assertEquals("PLAYING", changes.get("TransportState"));
+            assertEquals("SHUFFLE_NOREPEAT", changes.get("CurrentPlayMode"));
+            assertEquals("x-rincon-queue:RINCON_000E5812BC1801400#0", changes.get("AVTransportURI"));
+            assertEquals("", changes.get("AVTransportURIMetaData"));
+            assertEquals("0", changes.get("SleepTimerGeneration"));
+            String metaData = changes.get("CurrentTrackMetaData");
+            assertNotNull(metaData);
+            SonosMetaData sonosMetaData = SonosXMLParser.getMetaDataFromXML(metaData);
+            assertEquals("Broken Box", sonosMetaData.getTitle());
+            assertEquals("Queens Of The Stone Age", sonosMetaData.getCreator());
+            assertEquals("Lullabies To Paralyze", sonosMetaData.getAlbum());
+        }
+    }
+
+    @Test
+    public void getRenderingControlFromXML() throws IOException {
+        final String xml = readResource("/RenderingControlLastChange.xml");
+        for (int i = 0; i < 20; i++) {
+            Map<String, String> changes = SonosXMLParser.getRenderingControlFromXML(xml);
+            assertEquals("23", changes.get("VolumeMaster"));
+            assertEquals("0", changes.get("MuteMaster"));
+            assertEquals("1", changes.get("LoudnessMaster"));
+            assertEquals("2", changes.get("Bass"));
+            assertEquals("-1", changes.get("Treble"));
+            assertEquals("1", changes.get("SubEnabled"));
+            assertEquals("FactoryDefaults", changes.get("PresetNameList"));
+        }
+    }
+
+    @Test
+    public void getAVTransportFromInvalidXML() throws IOException {
+        assertTrue(SonosXMLParser.getAVTransportFromXML("<Event><InstanceID>").isEmpty());
+        // the parser of the thread is still usable after a failed parse
+        assertEquals("PLAYING",
+                SonosXMLParser.getAVTransportFromXML(readResource("/AVTransportLastChange.xml")).get("TransportState"));
+    }
+
     @Test
     public void compileMetadataString() {
         SonosEntry sonosEntry = new SonosEntry("1", "Can't Buy Me Love", "0", "A Hard Day's Night", "", "",
@@ -123,4 +167,10 @@ public class SonosXMLParserTest {
         String actual = SonosXMLParser.compileMetadataString(sonosEntry);
         assertEquals(expected, actual);
     }
+
+    private String readResource(String name) throws IOException {
+        InputStream resourceStream = getClass().getResourceAsStream(name);
+        assertNotNull(resourceStream);
+        return new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
 }
@@ -17,6 +17,7 @@ import static org.openhab.binding.systeminfo.internal.SystemInfoBindingConstants
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -376,15 +377,25 @@ public class SystemInfoHandler extends BaseThingHandler {
         if (!ThingStatus.ONLINE.equals(thing.getStatus())) {
             return;
         }
-        for (ChannelUID channeUID : channels) {
-            if (isLinked(channeUID)) {
-                publishDataForChannel(channeUID);
+        // Derive all states from one sample of the system, then publish them together
+        Map<ChannelUID, State> states = new LinkedHashMap<>();
+        synchronized (systeminfo) {
+            systeminfo.startSample();
+            for (ChannelUID channeUID : channels) {
+                if (isLinked(channeUID)) {
+                    states.put(channeUID, getInfoForChannel(channeUID));
+                }
             }
         }
+        states.forEach(this::updateState);
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
-        State state = getInfoForChannel(channelUID);
+        State state;
+        synchronized (systeminfo) {
+            systeminfo.startSample();
+            state = getInfoForChannel(channelUID);
+        }
         String channelID = channelUID.getId();
         updateState(channelID, state);
     }
@@ -17,6 +17,9 @@ import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.quantity.ElectricPotential;
 import javax.measure.quantity.Frequency;
@@ -46,6 +49,7 @@ import oshi.hardware.HardwareAbstractionLayer;
 import oshi.hardware.NetworkIF;
 import oshi.hardware.PowerSource;
 import oshi.hardware.Sensors;
+import oshi.hardware.VirtualMemory;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
@@ -94,6 +98,8 @@ public class OSHISystemInfo implements SystemInfoInterface {
     private long[] ticks = new long[8];
     // Map containing previous process state to calculate load by process
     private Map<Integer, OSProcess> processTicks = new HashMap<>();
+    // Information read from OSHI for the current sample
+    private volatile Sample sample = new Sample();
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
@@ -140,12 +146,42 @@ public class OSHISystemInfo implements SystemInfoInterface {
         return devices[index];
     }
 
+    @Override
+    public void startSample() {
+        sample = new Sample();
+    }
+
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
-        if (process == null) {
+        Optional<OSProcess> process = sample.processes.computeIfAbsent(pid,
+                p -> Optional.ofNullable(operatingSystem.getProcess(p)));
+        if (process.isEmpty()) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
-        return process;
+        return process.get();
+    }
+
+    private OSFileStore getFileStore(int index) throws DeviceNotFoundException {
+        OSFileStore fileStore = getDevice(fileStores, index);
+        if (sample.updatedFileStores.add(index)) {
+            fileStore.updateAttributes();
+        }
+        return fileStore;
+    }
+
+    private NetworkIF getNetwork(int index) throws DeviceNotFoundException {
+        NetworkIF network = getDevice(networks, index);
+        if (sample.updatedNetworks.add(index)) {
+            network.updateAttributes();
+        }
+        return network;
+    }
+
+    private PowerSource getPowerSource(int index) throws DeviceNotFoundException {
+        PowerSource powerSource = getDevice(powerSources, index);
+        if (sample.updatedPowerSources.add(index)) {
+            powerSource.updateAttributes();
+        }
+        return powerSource;
     }
 
     @Override
@@ -207,28 +243,28 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable QuantityType<Frequency> getCpuFreq(int logicalProcessorIndex) {
-        long freq = cpu.getCurrentFreq()[logicalProcessorIndex];
+        long freq = sample.cpuFreq()[logicalProcessorIndex];
         return freq >= 0 ? new QuantityType<>(freq, Units.HERTZ) : null;
     }
 
     @Override
     public QuantityType<DataAmount> getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = sample.memory().total();
         totalMemory = getSizeInMB(totalMemory);
         return new QuantityType<>(totalMemory, Units.MEBIBYTE);
     }
 
     @Override
     public QuantityType<DataAmount> getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = sample.memory().available();
         availableMemory = getSizeInMB(availableMemory);
         return new QuantityType<>(availableMemory, Units.MEBIBYTE);
     }
 
     @Override
     public QuantityType<DataAmount> getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long totalMemory = sample.memory().total();
+        long availableMemory = sample.memory().available();
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new QuantityType<>(usedMemory, Units.MEBIBYTE);
@@ -236,8 +272,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public QuantityType<DataAmount> getStorageTotal(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        OSFileStore fileStore = getFileStore(index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new QuantityType<>(totalSpace, Units.MEBIBYTE);
@@ -245,8 +280,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public QuantityType<DataAmount> getStorageAvailable(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        OSFileStore fileStore = getFileStore(index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new QuantityType<>(freeSpace, Units.MEBIBYTE);
@@ -254,8 +288,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public QuantityType<DataAmount> getStorageUsed(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        OSFileStore fileStore = getFileStore(index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -265,8 +298,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable PercentType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = getDevice(fileStores, deviceIndex);
-        fileStore.updateAttributes();
+        OSFileStore fileStore = getFileStore(deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -280,8 +312,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable PercentType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = getDevice(fileStores, deviceIndex);
-        fileStore.updateAttributes();
+        OSFileStore fileStore = getFileStore(deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -317,8 +348,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = getDevice(networks, index);
-        netInterface.updateAttributes();
+        NetworkIF netInterface = getNetwork(index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -382,8 +412,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable QuantityType<Time> getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        PowerSource powerSource = getPowerSource(index);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -392,8 +421,7 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public PercentType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        PowerSource powerSource = getPowerSource(index);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new PercentType(remainingCapacityPercents);
@@ -408,8 +436,8 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable PercentType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = sample.memory().available();
+        long totalMemory = sample.memory().total();
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -421,8 +449,8 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable PercentType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = sample.memory().available();
+        long totalMemory = sample.memory().total();
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -456,15 +484,15 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public QuantityType<DataAmount> getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = sample.memory().swapTotal();
         swapTotal = getSizeInMB(swapTotal);
         return new QuantityType<>(swapTotal, Units.MEBIBYTE);
     }
 
     @Override
     public QuantityType<DataAmount> getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = sample.memory().swapTotal();
+        long swapUsed = sample.memory().swapUsed();
         long swapAvailable = swapTotal - swapUsed;
         swapAvailable = getSizeInMB(swapAvailable);
         return new QuantityType<>(swapAvailable, Units.MEBIBYTE);
@@ -472,15 +500,15 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public QuantityType<DataAmount> getSwapUsed() {
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapUsed = sample.memory().swapUsed();
         swapUsed = getSizeInMB(swapUsed);
         return new QuantityType<>(swapUsed, Units.MEBIBYTE);
     }
 
     @Override
     public @Nullable PercentType getSwapAvailablePercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = sample.memory().swapTotal();
+        long swapUsed = sample.memory().swapUsed();
         long swapAvailable = swapTotal - swapUsed;
         if (swapTotal > 0) {
             double swapAvailablePercentDecimal = (double) swapAvailable / (double) swapTotal;
@@ -493,8 +521,8 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public @Nullable PercentType getSwapUsedPercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = sample.memory().swapTotal();
+        long swapUsed = sample.memory().swapUsed();
         if (swapTotal > 0) {
             double swapUsedPercentDecimal = (double) swapUsed / (double) swapTotal;
             BigDecimal swapUsedPercent = getPercentsValue(swapUsedPercentDecimal);
@@ -604,32 +632,28 @@ public class OSHISystemInfo implements SystemInfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public QuantityType<DataAmount> getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long bytesSent = network.getBytesSent();
         return new QuantityType<>(getSizeInMB(bytesSent), Units.MEBIBYTE);
     }
 
     @Override
     public QuantityType<DataAmount> getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new QuantityType<>(getSizeInMB(bytesRecv), Units.MEBIBYTE);
     }
@@ -727,4 +751,39 @@ public class OSHISystemInfo implements SystemInfoInterface {
     public int getFanCount() {
         return sensors.getFanSpeeds().length;
     }
+
+    private record MemoryValues(long total, long available, long swapTotal, long swapUsed) {
+    }
+
+    /**
+     * Information that changes over time, read from OSHI at most once per sample.
+     */
+    private class Sample {
+        private final Map<Integer, Optional<OSProcess>> processes = new ConcurrentHashMap<>();
+        private final Set<Integer> updatedFileStores = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> updatedNetworks = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> updatedPowerSources = ConcurrentHashMap.newKeySet();
+        private @Nullable MemoryValues memoryValues;
+        private long @Nullable [] cpuFreq;
+
+        private synchronized MemoryValues memory() {
+            MemoryValues localMemoryValues = memoryValues;
+            if (localMemoryValues == null) {
+                VirtualMemory virtualMemory = memory.getVirtualMemory();
+                localMemoryValues = new MemoryValues(memory.getTotal(), memory.getAvailable(),
+                        virtualMemory.getSwapTotal(), virtualMemory.getSwapUsed());
+                memoryValues = localMemoryValues;
+            }
+            return localMemoryValues;
+        }
+
+        private synchronized long[] cpuFreq() {
+            long[] localCpuFreq = cpuFreq;
+            if (localCpuFreq == null) {
+                localCpuFreq = cpu.getCurrentFreq();
+                cpuFreq = localCpuFreq;
+            }
+            return localCpuFreq;
+        }
+    }
 }
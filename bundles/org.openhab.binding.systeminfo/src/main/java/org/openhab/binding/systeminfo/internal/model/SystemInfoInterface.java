@@ -42,6 +42,16 @@ public interface SystemInfoInterface {
      */
     void initializeSystemInfo();
 
+    /**
+     * Start a new sample of the system information. Information that changes over time (processes, memory, processor
+     * frequencies, storage, network and batteries) is read once per sample. All values requested until the next sample
+     * is started are derived from it, so they are consistent with each other.
+     * <p>
+     * The sample is shared by all callers, so a caller has to hold the lock of this object from starting the sample
+     * until it has read all values, otherwise a concurrent update can replace the sample in between.
+     */
+    void startSample();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows, Unix,.../
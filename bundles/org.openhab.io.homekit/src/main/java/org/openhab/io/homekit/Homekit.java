@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.Collection;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 import io.github.hapjava.accessories.HomekitAccessory;
 
@@ -80,6 +81,15 @@ public interface Homekit {
      */
     void pruneDummyAccessories(int instance);
 
+    /**
+     * returns a summary of the characteristic change notifications sent by a specific instance, i.e. their number,
+     * rate and latency, or null if there is no such instance.
+     *
+     * @param instance the instance number (1-based)
+     */
+    @Nullable
+    String getNotificationStatistics(int instance);
+
     /**
      * returns how many bridge instances there are
      */
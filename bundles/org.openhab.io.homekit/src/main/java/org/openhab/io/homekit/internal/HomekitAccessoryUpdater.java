@@ -12,11 +12,17 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -25,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+import io.github.hapjava.server.impl.HomekitRoot;
 
 /**
  * Subscribes and unsubscribes from Item changes to enable notification to HomeKit
@@ -32,11 +39,81 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Characteristic change notifications are not passed on one by one. Changes arriving within a short window are
+ * collected, and then handed to the bridge as one update batch, so that HomeKit clients receive them in a single
+ * event message instead of one message per characteristic.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
+    static final long NOTIFICATION_WINDOW_MS = 50;
+    static final int MAX_PENDING_NOTIFICATIONS = 256;
+
     private final ConcurrentMap<ItemKey, StateChangeListener> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /** pending change notifications, with the time of the first change of each characteristic */
+    private final Map<HomekitCharacteristicChangeCallback, Long> pendingNotifications = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushJob;
+    private volatile HomekitRoot bridge;
+
+    // notification statistics, guarded by pendingNotifications
+    private long statisticsStart = System.nanoTime();
+    private long requestedNotifications;
+    private long sentNotifications;
+    private long notificationBatches;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    public HomekitAccessoryUpdater() {
+        this(ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON));
+    }
+
+    HomekitAccessoryUpdater(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the bridge whose update batches are used to send change notifications. As long as no bridge is set,
+     * notifications are passed on immediately.
+     *
+     * @param bridge the bridge, or null to stop batching and drop notifications not sent yet
+     */
+    public void setBridge(HomekitRoot bridge) {
+        synchronized (pendingNotifications) {
+            this.bridge = bridge;
+            ScheduledFuture<?> job = flushJob;
+            if (bridge == null && job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+            if (bridge == null) {
+                pendingNotifications.clear();
+            } else {
+                statisticsStart = System.nanoTime();
+                requestedNotifications = 0;
+                sentNotifications = 0;
+                notificationBatches = 0;
+                totalLatencyNanos = 0;
+                maxLatencyNanos = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a human readable summary of the change notifications sent since the bridge was started.
+     */
+    public String getNotificationStatistics() {
+        synchronized (pendingNotifications) {
+            double seconds = Math.max(System.nanoTime() - statisticsStart, 1) / 1e9;
+            double averageLatencyMs = totalLatencyNanos / 1e6 / Math.max(sentNotifications, 1);
+            return String.format("%d changes, %d notifications sent in %d batches (%.2f/s), %d pending, "
+                    + "latency avg %.1f ms, max %.1f ms",
+                    requestedNotifications, sentNotifications, notificationBatches, sentNotifications / seconds,
+                    pendingNotifications.size(), averageLatencyMs, maxLatencyNanos / 1e6);
+        }
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -58,7 +135,7 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = (changedItem, oldState, newState) -> notifyChanged(callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -101,6 +178,72 @@ public class HomekitAccessoryUpdater {
         });
     }
 
+    private void notifyChanged(HomekitCharacteristicChangeCallback callback) {
+        if (bridge == null) {
+            callback.changed();
+            return;
+        }
+        synchronized (pendingNotifications) {
+            requestedNotifications++;
+            if (pendingNotifications.putIfAbsent(callback, System.nanoTime()) != null) {
+                // already pending; the client reads the current value once the notification goes out
+                return;
+            }
+            ScheduledFuture<?> job = flushJob;
+            if (pendingNotifications.size() >= MAX_PENDING_NOTIFICATIONS) {
+                // don't let a burst of changes grow the queue; send what we have right away
+                if (job == null || job.cancel(false)) {
+                    flushJob = scheduler.schedule(this::flushNotifications, 0, TimeUnit.MILLISECONDS);
+                }
+            } else if (job == null) {
+                flushJob = scheduler.schedule(this::flushNotifications, NOTIFICATION_WINDOW_MS,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized void flushNotifications() {
+        Map<HomekitCharacteristicChangeCallback, Long> notifications;
+        synchronized (pendingNotifications) {
+            flushJob = null;
+            if (pendingNotifications.isEmpty()) {
+                return;
+            }
+            notifications = new LinkedHashMap<>(pendingNotifications);
+            pendingNotifications.clear();
+        }
+
+        HomekitRoot bridge = this.bridge;
+        if (bridge != null) {
+            bridge.batchUpdate();
+        }
+        try {
+            for (HomekitCharacteristicChangeCallback callback : notifications.keySet()) {
+                try {
+                    callback.changed();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to send HomeKit change notification: {}", e.getMessage());
+                }
+            }
+        } finally {
+            if (bridge != null) {
+                bridge.completeUpdateBatch();
+            }
+        }
+
+        long now = System.nanoTime();
+        synchronized (pendingNotifications) {
+            for (long firstChange : notifications.values()) {
+                long latency = now - firstChange;
+                totalLatencyNanos += latency;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            }
+            sentNotifications += notifications.size();
+            notificationBatches++;
+        }
+        logger.trace("Sent {} HomeKit change notifications in one batch", notifications.size());
+    }
+
     @FunctionalInterface
     @NonNullByDefault
     private interface Subscription extends StateChangeListener {
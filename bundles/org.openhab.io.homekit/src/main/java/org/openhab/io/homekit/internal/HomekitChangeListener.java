@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -75,6 +76,15 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private final Set<String> pendingUpdates = new HashSet<>();
 
+    /**
+     * The items and HomeKit metadata each root accessory was built from. An accessory whose sources are still the
+     * same item instances with the same metadata, and whose JSON did not change, is kept as it is on rebuild.
+     */
+    private final Map<String, List<AccessorySource>> accessorySources = new HashMap<>();
+
+    private record AccessorySource(Item item, @Nullable String value, Map<String, Object> configuration) {
+    }
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -291,9 +301,21 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             boolean changed = false;
             for (final String name : pendingUpdates) {
                 String oldValue = knownAccessories.get(name);
+                final @Nullable Item item = getItemOptional(name).orElse(null);
+                final @Nullable AbstractHomekitAccessoryImpl accessory = item != null ? createRootAccessory(item)
+                        : null;
+                final @Nullable String json = accessory != null ? accessory.toJson() : null;
+                if (item != null && json != null && isUnchanged(item, json, oldValue)) {
+                    // re-adding an identical accessory would only make the bridge reset its accessory list
+                    logger.trace(" Keep unchanged accessory {}", name);
+                    continue;
+                }
                 accessoryRegistry.remove(name);
-                logger.trace(" Add items {}", name);
-                getItemOptional(name).ifPresent(this::createRootAccessories);
+                accessorySources.remove(name);
+                if (item != null && accessory != null && json != null) {
+                    logger.trace(" Add items {}", name);
+                    addRootAccessory(item, accessory, json);
+                }
                 if (accessoryChanged(name, oldValue)) {
                     changed = true;
                 }
@@ -335,15 +357,22 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public synchronized void setBridge(HomekitRoot bridge) {
         accessoryRegistry.setBridge(bridge);
+        updater.setBridge(bridge);
     }
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
         this.updater = updater;
     }
 
+    public String getNotificationStatistics() {
+        return updater.getNotificationStatistics();
+    }
+
     public void updateSettings(HomekitSettings settings) {
         boolean wasUsingDummyAccessories = this.settings.useDummyAccessories;
         this.settings = settings;
+        // accessories built with the old settings must not be kept on the next rebuild
+        accessorySources.clear();
         // If they turned off dummy accessories, immediately prune them
         if (wasUsingDummyAccessories && !settings.useDummyAccessories) {
             pruneDummyAccessories();
@@ -355,6 +384,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.metadataRegistry.removeRegistryChangeListener(metadataChangeListener);
         applyUpdatesDebouncer.stop();
         accessoryRegistry.unsetBridge();
+        updater.setBridge(null);
     }
 
     public Map<String, HomekitAccessory> getAccessories() {
@@ -434,22 +464,86 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * @param item openHAB item
      */
     private void createRootAccessories(Item item) {
+        final @Nullable AbstractHomekitAccessoryImpl accessory = createRootAccessory(item);
+        if (accessory != null) {
+            addRootAccessory(item, accessory, accessory.toJson());
+        }
+    }
+
+    private void addRootAccessory(Item item, AbstractHomekitAccessoryImpl accessory, String json) {
+        knownAccessories.put(item.getName(), json);
+        accessorySources.put(item.getName(), getAccessorySources(item));
+        accessoryRegistry.addRootAccessory(item.getName(), accessory);
+    }
+
+    /**
+     * Checks whether a rebuilt accessory is identical to the one currently registered, i.e. it has the same JSON
+     * representation, and all items it was built from are still the same instances with the same HomeKit metadata.
+     */
+    private boolean isUnchanged(Item item, String json, @Nullable String oldValue) {
+        if (!(accessoryRegistry.getAllAccessories().get(item.getName()) instanceof AbstractHomekitAccessoryImpl)
+                || !json.equals(oldValue)) {
+            return false;
+        }
+        final @Nullable List<AccessorySource> oldSources = accessorySources.get(item.getName());
+        final List<AccessorySource> newSources = getAccessorySources(item);
+        if (oldSources == null || oldSources.size() != newSources.size()) {
+            return false;
+        }
+        for (int i = 0; i < newSources.size(); i++) {
+            final AccessorySource oldSource = oldSources.get(i);
+            final AccessorySource newSource = newSources.get(i);
+            // compare item instances, as the accessory holds on to the item it was created with
+            if (oldSource.item() != newSource.item() || !Objects.equals(oldSource.value(), newSource.value())
+                    || !oldSource.configuration().equals(newSource.configuration())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<AccessorySource> getAccessorySources(Item item) {
+        final List<AccessorySource> sources = new ArrayList<>();
+        addAccessorySources(item, sources);
+        return sources;
+    }
+
+    private void addAccessorySources(Item item, List<AccessorySource> sources) {
+        if (sources.stream().anyMatch(source -> source.item() == item)) {
+            return;
+        }
+        final @Nullable Metadata metadata = metadataRegistry
+                .get(new MetadataKey(HomekitAccessoryFactory.METADATA_KEY, item.getUID()));
+        sources.add(metadata != null ? new AccessorySource(item, metadata.getValue(), metadata.getConfiguration())
+                : new AccessorySource(item, null, Map.of()));
+        if (item instanceof GroupItem groupItem) {
+            groupItem.getMembers().forEach(member -> addAccessorySources(member, sources));
+        }
+    }
+
+    /**
+     * creates the root accessory for given openHAB item without registering it.
+     *
+     * @param item openHAB item
+     * @return the accessory, or null if the item is not a root accessory of this instance
+     */
+    private @Nullable AbstractHomekitAccessoryImpl createRootAccessory(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         if (accessoryTypes.isEmpty()) {
-            return;
+            return null;
         }
 
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
         // Don't create accessories that are sub-accessories of other accessories
         if (groups.stream().anyMatch(g -> !HomekitAccessoryFactory.getAccessoryTypes(g, metadataRegistry).isEmpty())) {
-            return;
+            return null;
         }
 
         final @Nullable Map<String, Object> itemConfiguration = HomekitAccessoryFactory.getItemConfiguration(item,
                 metadataRegistry);
         if (!itemIsForThisBridge(item, itemConfiguration)) {
-            return;
+            return null;
         }
 
         final HomekitAccessoryType primaryAccessoryType = getPrimaryAccessoryType(item, accessoryTypes,
@@ -464,7 +558,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             if (accessory.isLinkedServiceOnly()) {
                 logger.warn("Item '{}' is a '{}' which must be nested another another accessory.", taggedItem.getName(),
                         primaryAccessoryType);
-                return;
+                return null;
             }
 
             accessoryTypes.stream().filter(aType -> !primaryAccessoryType.equals(aType.getKey()))
@@ -480,10 +574,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                             logger.warn("Cannot create additional accessory {}", additionalTaggedItem);
                         }
                     });
-            knownAccessories.put(taggedItem.getName(), accessory.toJson());
-            accessoryRegistry.addRootAccessory(taggedItem.getName(), accessory);
+            return accessory;
         } catch (HomekitException e) {
             logger.warn("Cannot create accessory {}: {}", taggedItem, e.getMessage());
+            return null;
         }
     }
 
@@ -48,9 +48,11 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
     private static final String SUBCMD_ALLOW_UNAUTHENTICATED = "allowUnauthenticated";
     private static final String SUBCMD_PRUNE_DUMMY_ACCESSORIES = "pruneDummyAccessories";
     private static final String SUBCMD_LIST_DUMMY_ACCESSORIES = "listDummyAccessories";
+    private static final String SUBCMD_NOTIFICATION_STATISTICS = "notificationStatistics";
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_CLEAR_PAIRINGS, SUBCMD_LIST_ACCESSORIES, SUBCMD_PRINT_ACCESSORY,
-                    SUBCMD_ALLOW_UNAUTHENTICATED, SUBCMD_PRUNE_DUMMY_ACCESSORIES, SUBCMD_LIST_DUMMY_ACCESSORIES),
+                    SUBCMD_ALLOW_UNAUTHENTICATED, SUBCMD_PRUNE_DUMMY_ACCESSORIES, SUBCMD_LIST_DUMMY_ACCESSORIES,
+                    SUBCMD_NOTIFICATION_STATISTICS),
             false);
 
     private static final String PARAM_INSTANCE = "--instance";
@@ -137,6 +139,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 case SUBCMD_LIST_DUMMY_ACCESSORIES:
                     listDummyAccessories(console, instance);
                     break;
+                case SUBCMD_NOTIFICATION_STATISTICS:
+                    printNotificationStatistics(console, instance);
+                    break;
                 default:
                     console.println("Unknown command '" + subCommand + "'");
                     printUsage(console);
@@ -161,7 +166,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 buildCommandUsage(SUBCMD_PRUNE_DUMMY_ACCESSORIES + PARAM_INSTANCE_HELP,
                         "removes dummy accessories whose items no longer exist, optionally for a specific instance."),
                 buildCommandUsage(SUBCMD_LIST_DUMMY_ACCESSORIES + PARAM_INSTANCE_HELP,
-                        "list dummy accessories whose items no longer exist, optionally for a specific instance."));
+                        "list dummy accessories whose items no longer exist, optionally for a specific instance."),
+                buildCommandUsage(SUBCMD_NOTIFICATION_STATISTICS + PARAM_INSTANCE_HELP,
+                        "print rate and latency of the change notifications sent to HomeKit clients, optionally for a specific instance."));
     }
 
     @Reference
@@ -221,6 +228,14 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
         });
     }
 
+    private void printNotificationStatistics(Console console, @Nullable Integer instance) {
+        int first = instance != null ? instance : 1;
+        int last = instance != null ? instance : homekit.getInstanceCount();
+        for (int i = first; i <= last; ++i) {
+            console.println("Instance " + i + ": " + homekit.getNotificationStatistics(i));
+        }
+    }
+
     private void printService(Console console, Service service, int indent) {
         console.println(" ".repeat(indent) + "Service Type: " + service.getClass().getSimpleName() + " ("
                 + service.getType() + ")");
@@ -405,6 +405,16 @@ public class HomekitImpl implements Homekit, NetworkAddressChangeListener, Ready
         changeListeners.get(instance - 1).pruneDummyAccessories();
     }
 
+    @Override
+    public @Nullable String getNotificationStatistics(int instance) {
+        if (instance < 1 || instance > changeListeners.size()) {
+            logger.warn("Instance {} is out of range 1..{}.", instance, changeListeners.size());
+            return null;
+        }
+
+        return changeListeners.get(instance - 1).getNotificationStatistics();
+    }
+
     @Override
     public int getInstanceCount() {
         return homekitServers.size();
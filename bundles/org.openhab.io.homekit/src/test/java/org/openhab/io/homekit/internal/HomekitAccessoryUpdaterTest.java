@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.io.homekit.internal.HomekitAccessoryUpdater.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.GenericItem;
+import org.openhab.core.items.StateChangeListener;
+import org.openhab.core.library.types.OnOffType;
+
+import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+import io.github.hapjava.server.impl.HomekitRoot;
+
+/**
+ * Tests cases for {@link HomekitAccessoryUpdater}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class HomekitAccessoryUpdaterTest {
+    private @Mock @NonNullByDefault({}) HomekitRoot bridge;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> flushJob;
+    private @Mock @NonNullByDefault({}) GenericItem item;
+
+    private final List<Runnable> scheduledFlushes = new ArrayList<>();
+    private @NonNullByDefault({}) HomekitAccessoryUpdater updater;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            scheduledFlushes.add(invocation.getArgument(0));
+            return flushJob;
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        when(flushJob.cancel(anyBoolean())).thenReturn(true);
+        updater = new HomekitAccessoryUpdater(scheduler);
+    }
+
+    private StateChangeListener subscribe(String key, HomekitCharacteristicChangeCallback callback) {
+        updater.subscribe(item, key, callback);
+        ArgumentCaptor<StateChangeListener> listener = ArgumentCaptor.forClass(StateChangeListener.class);
+        verify(item, atLeastOnce()).addStateChangeListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private void change(StateChangeListener listener) {
+        listener.stateChanged(item, OnOffType.OFF, OnOffType.ON);
+    }
+
+    private void runLastScheduledFlush() {
+        scheduledFlushes.get(scheduledFlushes.size() - 1).run();
+    }
+
+    @Test
+    public void notificationsPassedOnWithoutBridge() {
+        HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+        StateChangeListener listener = subscribe("on", callback);
+
+        change(listener);
+
+        verify(callback).changed();
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void repeatedChangesCoalesced() {
+        updater.setBridge(bridge);
+        HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+        StateChangeListener listener = subscribe("on", callback);
+
+        change(listener);
+        change(listener);
+        change(listener);
+        verify(callback, never()).changed();
+        verify(scheduler).schedule(any(Runnable.class), eq(NOTIFICATION_WINDOW_MS), eq(TimeUnit.MILLISECONDS));
+
+        runLastScheduledFlush();
+        verify(callback, times(1)).changed();
+    }
+
+    @Test
+    public void eachFlushWrappedInUpdateBatch() {
+        updater.setBridge(bridge);
+        HomekitCharacteristicChangeCallback callback1 = mock(HomekitCharacteristicChangeCallback.class);
+        HomekitCharacteristicChangeCallback callback2 = mock(HomekitCharacteristicChangeCallback.class);
+        StateChangeListener listener1 = subscribe("on", callback1);
+        StateChangeListener listener2 = subscribe("brightness", callback2);
+        // a failing notification must not leave the batch open
+        doThrow(new IllegalStateException("closed")).when(callback1).changed();
+
+        change(listener1);
+        change(listener2);
+        runLastScheduledFlush();
+
+        InOrder inOrder = inOrder(bridge, callback1, callback2);
+        inOrder.verify(bridge).batchUpdate();
+        inOrder.verify(callback1).changed();
+        inOrder.verify(callback2).changed();
+        inOrder.verify(bridge).completeUpdateBatch();
+
+        change(listener2);
+        runLastScheduledFlush();
+
+        assertEquals(2, scheduledFlushes.size());
+        inOrder.verify(bridge).batchUpdate();
+        inOrder.verify(callback2).changed();
+        inOrder.verify(bridge).completeUpdateBatch();
+    }
+
+    @Test
+    public void flushedImmediatelyWhenPendingLimitReached() {
+        updater.setBridge(bridge);
+        List<HomekitCharacteristicChangeCallback> callbacks = new ArrayList<>();
+        List<StateChangeListener> listeners = new ArrayList<>();
+        for (int i = 0; i < MAX_PENDING_NOTIFICATIONS; i++) {
+            HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+            callbacks.add(callback);
+            listeners.add(subscribe("key" + i, callback));
+        }
+
+        for (int i = 0; i < MAX_PENDING_NOTIFICATIONS - 1; i++) {
+            change(listeners.get(i));
+        }
+        verify(scheduler, never()).schedule(any(Runnable.class), eq(0L), any(TimeUnit.class));
+
+        change(listeners.get(MAX_PENDING_NOTIFICATIONS - 1));
+        verify(flushJob).cancel(false);
+        verify(scheduler).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+
+        runLastScheduledFlush();
+        verify(bridge, times(1)).batchUpdate();
+        callbacks.forEach(callback -> verify(callback).changed());
+        verify(bridge, times(1)).completeUpdateBatch();
+    }
+
+    @Test
+    public void removingBridgeDropsPendingNotifications() {
+        updater.setBridge(bridge);
+        HomekitCharacteristicChangeCallback callback = mock(HomekitCharacteristicChangeCallback.class);
+        StateChangeListener listener = subscribe("on", callback);
+
+        change(listener);
+        updater.setBridge(null);
+        verify(flushJob).cancel(false);
+
+        // a flush that was already running when the job got cancelled has nothing left to send
+        runLastScheduledFlush();
+        verify(callback, never()).changed();
+        verify(bridge, never()).batchUpdate();
+
+        change(listener);
+        verify(callback).changed();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON of each entry of a hue data store map (lights or groups) and of the whole map.
+ * <p>
+ * Each entry is only serialized again if its fingerprint changed, e.g. because the state or label of the associated
+ * item changed. The JSON of the whole map is only assembled again if any entry changed, or entries were added or
+ * removed. As the fingerprint is checked on every request, changes that bypass the item registry (a command sent by a
+ * hue client, a test fixture) are picked up as well.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JsonSnapshotCache<T> {
+    private final Gson gson;
+    private final Function<T, Object> fingerprintFunction;
+    private final Map<String, CachedEntry<T>> entries = new HashMap<>();
+    private final String tagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong()) + "-";
+    private long version = 0;
+    private @Nullable Snapshot snapshot;
+    // an entry has been serialized again since the snapshot was assembled
+    private boolean dirty = false;
+
+    /**
+     * The JSON of the whole map and its entity tag.
+     */
+    public record Snapshot(String json, EntityTag tag) {
+    }
+
+    private record CachedEntry<T>(T value, Object fingerprint, String json) {
+    }
+
+    /**
+     * @param gson the gson instance with the custom serializers of the data store
+     * @param fingerprintFunction returns an object that is equal for two calls as long as the serialized form of an
+     *            entry stays the same
+     */
+    JsonSnapshotCache(Gson gson, Function<T, Object> fingerprintFunction) {
+        this.gson = gson;
+        this.fingerprintFunction = fingerprintFunction;
+    }
+
+    /**
+     * Returns the JSON of a single entry.
+     *
+     * @param id the id of the entry
+     * @param value the entry, may be <code>null</code> if it doesn't exist
+     * @return the JSON of the entry
+     */
+    public synchronized String get(String id, @Nullable T value) {
+        if (value == null) {
+            return gson.toJson(null);
+        }
+        CachedEntry<T> entry = validate(id, value);
+        return entry.json;
+    }
+
+    /**
+     * Returns the JSON of the whole map.
+     *
+     * @param values the current content of the map
+     * @return the JSON and its entity tag
+     */
+    public synchronized Snapshot getAll(Map<String, T> values) {
+        if (entries.keySet().retainAll(values.keySet())) {
+            dirty = true;
+        }
+        for (Map.Entry<String, T> value : values.entrySet()) {
+            validate(value.getKey(), value.getValue());
+        }
+
+        Snapshot snapshot = this.snapshot;
+        if (snapshot == null || dirty) {
+            StringBuilder json = new StringBuilder(snapshot == null ? 1024 : snapshot.json.length() + 64);
+            json.append('{');
+            for (String id : values.keySet()) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append(gson.toJson(id)).append(':').append(Objects.requireNonNull(entries.get(id)).json);
+            }
+            json.append('}');
+            snapshot = new Snapshot(json.toString(), new EntityTag(tagPrefix + (++version)));
+            this.snapshot = snapshot;
+            dirty = false;
+        }
+        return snapshot;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        snapshot = null;
+    }
+
+    private CachedEntry<T> validate(String id, T value) {
+        Object fingerprint = fingerprintFunction.apply(value);
+        CachedEntry<T> cached = entries.get(id);
+        if (cached != null && cached.value == value && Objects.equals(cached.fingerprint, fingerprint)) {
+            return cached;
+        }
+        String json = gson.toJson(value);
+        // the custom serializers update some fields of the entry from its item
+        CachedEntry<T> entry = new CachedEntry<>(value, fingerprintFunction.apply(value), json);
+        entries.put(id, entry);
+        dirty = true;
+        return entry;
+    }
+}
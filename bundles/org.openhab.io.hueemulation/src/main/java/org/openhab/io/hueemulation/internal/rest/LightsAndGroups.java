@@ -13,6 +13,7 @@
 package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,7 +28,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -118,18 +121,34 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    // Hue clients poll the lights several times a minute, so the JSON is only created again for changed entries
+    private @NonNullByDefault({}) JsonSnapshotCache<HueLightEntry> lightsCache;
+    private @NonNullByDefault({}) JsonSnapshotCache<HueGroupEntry> groupsCache;
+    private boolean loading = false;
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        lightsCache = new JsonSnapshotCache<>(cs.gson, LightsAndGroups::lightFingerprint);
+        groupsCache = new JsonSnapshotCache<>(cs.gson, LightsAndGroups::groupFingerprint);
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
 
-        for (Item item : itemRegistry.getItems()) {
-            added(item);
+        synchronized (this) {
+            // group 0 is only updated once all items are known
+            loading = true;
+            try {
+                for (Item item : itemRegistry.getItems()) {
+                    added(item);
+                }
+            } finally {
+                loading = false;
+            }
+            updateGroup0();
         }
     }
 
@@ -139,6 +158,23 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Deactivate
     protected void deactivate() {
         itemRegistry.removeRegistryChangeListener(this);
+        lightsCache.clear();
+        groupsCache.clear();
+    }
+
+    /**
+     * The serialized form of a light depends on the state and label of its item and on the last command sent by a
+     * hue client.
+     */
+    private static Object lightFingerprint(HueLightEntry light) {
+        return Arrays.asList(light.item, light.item.getState(), light.item.getLabel(), light.lastCommand,
+                light.lastHueChange);
+    }
+
+    private static Object groupFingerprint(HueGroupEntry group) {
+        GroupItem groupItem = group.groupItem;
+        return Arrays.asList(groupItem, groupItem != null ? groupItem.getMembers() : null, group.action, group.name,
+                group.type, group.roomclass, new ArrayList<>(group.lights));
     }
 
     @Override
@@ -183,7 +219,9 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             HueLightEntry device = new HueLightEntry(element, cs.getHueUniqueId(hueID), deviceType);
             device.item = element;
             cs.ds.lights.put(hueID, device);
-            updateGroup0();
+            if (!loading) {
+                updateGroup0();
+            }
         }
     }
 
@@ -247,12 +285,20 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return snapshotResponse(request, lightsCache.getAll(cs.ds.lights));
+    }
+
+    private Response snapshotResponse(Request request, JsonSnapshotCache.Snapshot snapshot) {
+        ResponseBuilder notModified = request.evaluatePreconditions(snapshot.tag());
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(snapshot.json()).tag(snapshot.tag()).build();
     }
 
     @GET
@@ -288,7 +334,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        return Response.ok(lightsCache.get(id, cs.ds.lights.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -438,12 +484,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return snapshotResponse(request, groupsCache.getAll(cs.ds.groups));
     }
 
     @GET
@@ -455,7 +501,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        return Response.ok(groupsCache.get(id, cs.ds.groups.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -31,11 +31,20 @@ public class MetricsConfiguration {
 
     public boolean jmxMetricsEnabled = false;
 
+    public Integer prometheusScrapeIntervalInSeconds = 0;
+
+    public boolean otlpMetricsEnabled = false;
+    public String otlpURL = "http://localhost:4318/v1/metrics";
+    public Integer otlpUpdateIntervalInSeconds = 60;
+
     @Override
     public String toString() {
         return "MetricsConfiguration{" + "influxMetricsEnabled=" + influxMetricsEnabled + ", influxURL='" + influxURL
                 + '\'' + ", influxDB='" + influxDB + '\'' + ", influxPassword='" + influxPassword + '\''
                 + ", influxUsername='" + influxUsername + '\'' + ", influxUpdateIntervalInSeconds="
-                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled + '}';
+                + influxUpdateIntervalInSeconds + ", jmxMetricsEnabled=" + jmxMetricsEnabled
+                + ", prometheusScrapeIntervalInSeconds=" + prometheusScrapeIntervalInSeconds + ", otlpMetricsEnabled="
+                + otlpMetricsEnabled + ", otlpURL='" + otlpURL + '\'' + ", otlpUpdateIntervalInSeconds="
+                + otlpUpdateIntervalInSeconds + '}';
     }
 }
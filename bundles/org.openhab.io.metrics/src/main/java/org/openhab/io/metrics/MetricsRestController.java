@@ -12,27 +12,35 @@
  */
 package org.openhab.io.metrics;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.auth.Role;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.io.rest.RESTConstants;
 import org.openhab.io.metrics.exporters.InfluxMetricsExporter;
 import org.openhab.io.metrics.exporters.JmxMetricsExporter;
+import org.openhab.io.metrics.exporters.OtlpMetricsExporter;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
@@ -45,6 +53,7 @@ import org.slf4j.LoggerFactory;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -68,9 +77,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class MetricsRestController {
     private final Logger logger = LoggerFactory.getLogger(MetricsRestController.class);
     public static final String PATH_METRICS = "metrics";
+    private static final String GZIP = "gzip";
     private @Nullable CompositeMeterRegistry meterRegistry;
     private final PrometheusMeterRegistry prometheusMeterRegistry = new PrometheusMeterRegistry(
             PrometheusConfig.DEFAULT);
+    private final PrometheusScrapeCache scrapeCache = new PrometheusScrapeCache(prometheusMeterRegistry);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
     private final Set<MetricsExporter> metricsExporters = new HashSet<>();
     private @Nullable MetricsConfiguration config;
 
@@ -79,8 +92,54 @@ public class MetricsRestController {
     @Produces(MediaType.TEXT_PLAIN)
     @Operation(operationId = "getPrometheusMetrics", summary = "Gets openHAB system and core metrics in a Prometheus compatible format.", responses = {
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = String.class))) })
-    public String getPrometheusMetrics() {
-        return prometheusMeterRegistry.scrape();
+    public Response getPrometheusMetrics(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) @Nullable String acceptEncoding) {
+        try {
+            PrometheusScrapeCache.Scrape scrape = scrapeCache.get();
+            Response.ResponseBuilder response = Response.ok().type(TextFormat.CONTENT_TYPE_004)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                return response.entity(scrape.getGzipped()).encoding(GZIP).build();
+            }
+            return response.entity(scrape.getPlain()).build();
+        } catch (IOException e) {
+            logger.warn("Failed to scrape metrics: {}", e.getMessage());
+            return Response.serverError().build();
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a gzip encoded response. An explicit gzip coding takes
+     * precedence over the "*" wildcard, a quality value of 0 marks the coding as not acceptable.
+     *
+     * @param acceptEncoding the Accept-Encoding header value, may be null
+     * @return true if the response may be gzipped
+     */
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            boolean acceptable = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        acceptable = Double.parseDouble(parameter.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        acceptable = false;
+                    }
+                }
+            }
+            if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                return acceptable;
+            } else if ("*".equals(name)) {
+                wildcard = acceptable;
+            }
+        }
+        return wildcard;
     }
 
     @Reference
@@ -101,19 +160,27 @@ public class MetricsRestController {
         logger.info("Metrics service activated, serving the following URL(s): /rest/metrics/prometheus");
         metricsExporters.add(new InfluxMetricsExporter());
         metricsExporters.add(new JmxMetricsExporter());
+        metricsExporters.add(new OtlpMetricsExporter());
         updateConfig(configuration);
         updateMeterRegistry();
     }
 
+    @Deactivate
+    protected void deactivate() {
+        scrapeCache.stop();
+    }
+
     @Modified
     protected synchronized void modified(Map<@Nullable String, @Nullable Object> configuration) {
         updateConfig(configuration);
     }
 
     private void updateConfig(@Nullable Map<@Nullable String, @Nullable Object> configuration) {
-        this.config = new Configuration(configuration).as(MetricsConfiguration.class);
-        logger.debug("Configuration: {}", this.config);
+        MetricsConfiguration config = new Configuration(configuration).as(MetricsConfiguration.class);
+        this.config = config;
+        logger.debug("Configuration: {}", config);
         this.metricsExporters.forEach(e -> e.updateExporterState(config));
+        scrapeCache.start(scheduler, config.prometheusScrapeIntervalInSeconds);
     }
 
     private void updateMeterRegistry() {
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+
+/**
+ * The {@link PrometheusScrapeCache} renders the Prometheus registry in the text format 0.0.4 into a pre-encoded (and
+ * optionally gzipped) byte buffer. With a refresh interval configured, the buffer is re-rendered in the background, so
+ * that scrapes only return the last rendering instead of serialising the whole registry on the calling thread.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PrometheusScrapeCache {
+
+    private final Logger logger = LoggerFactory.getLogger(PrometheusScrapeCache.class);
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+    private volatile @Nullable Scrape scrape;
+    private volatile @Nullable ScheduledFuture<?> refreshJob;
+
+    public PrometheusScrapeCache(PrometheusMeterRegistry prometheusMeterRegistry) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+    }
+
+    /**
+     * A single rendering of the registry.
+     */
+    public static class Scrape {
+        private final byte[] plain;
+        private byte @Nullable [] gzipped;
+
+        private Scrape(byte[] plain) {
+            this.plain = plain;
+        }
+
+        public byte[] getPlain() {
+            return plain;
+        }
+
+        public synchronized byte[] getGzipped() throws IOException {
+            byte[] gzipped = this.gzipped;
+            if (gzipped == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(plain);
+                }
+                gzipped = out.toByteArray();
+                this.gzipped = gzipped;
+            }
+            return gzipped;
+        }
+    }
+
+    /**
+     * Returns the rendering of the registry, with the content type {@link TextFormat#CONTENT_TYPE_004}. If no
+     * background refresh is active, the registry is rendered on each call.
+     *
+     * @return the rendered registry
+     * @throws IOException if rendering fails
+     */
+    public Scrape get() throws IOException {
+        if (refreshJob == null) {
+            return render();
+        }
+        Scrape scrape = this.scrape;
+        if (scrape == null) {
+            // first request, subsequent ones are served by the refresh job
+            scrape = render();
+            this.scrape = scrape;
+        }
+        return scrape;
+    }
+
+    /**
+     * Starts (or restarts) the background refresh.
+     *
+     * @param scheduler the scheduler to run the refresh on
+     * @param intervalInSeconds the refresh interval, a value <= 0 disables caching
+     */
+    public synchronized void start(ScheduledExecutorService scheduler, int intervalInSeconds) {
+        stop();
+        if (intervalInSeconds > 0) {
+            refreshJob = scheduler.scheduleWithFixedDelay(this::refresh, intervalInSeconds, intervalInSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        ScheduledFuture<?> refreshJob = this.refreshJob;
+        if (refreshJob != null) {
+            refreshJob.cancel(false);
+            this.refreshJob = null;
+        }
+        scrape = null;
+    }
+
+    private void refresh() {
+        if (scrape == null) {
+            // nothing was requested yet
+            return;
+        }
+        try {
+            scrape = render();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to refresh cached metrics scrape: {}", e.getMessage());
+        }
+    }
+
+    private Scrape render() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            TextFormat.write004(writer, prometheusMeterRegistry.getPrometheusRegistry().metricFamilySamples());
+        }
+        return new Scrape(out.toByteArray());
+    }
+}
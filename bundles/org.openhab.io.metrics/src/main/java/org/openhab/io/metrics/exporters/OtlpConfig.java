@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.exporters;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+
+/**
+ * The {@link OtlpConfig} interface holds the configuration of the {@link OtlpMeterRegistry}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface OtlpConfig extends StepRegistryConfig {
+
+    @Override
+    default String prefix() {
+        return "otlp";
+    }
+
+    /**
+     * @return the OTLP/HTTP metrics endpoint of the collector
+     */
+    default String url() {
+        String url = get(prefix() + ".url");
+        return url == null ? "http://localhost:4318/v1/metrics" : url;
+    }
+
+    /**
+     * @return the value of the <code>service.name</code> resource attribute
+     */
+    default String serviceName() {
+        return "openhab";
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.exporters;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.MeterPartition;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import io.micrometer.core.ipc.http.HttpSender;
+import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
+
+/**
+ * The {@link OtlpMeterRegistry} pushes the openHAB metrics to an OpenTelemetry collector using the OTLP/HTTP JSON
+ * encoding. As a {@link StepMeterRegistry}, counters, timers and distribution summaries are reported as deltas over
+ * the last step, so the collector does not need to keep state between pushes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OtlpMeterRegistry extends StepMeterRegistry {
+
+    private static final int AGGREGATION_TEMPORALITY_DELTA = 1;
+    private static final String SCOPE_NAME = "org.openhab.io.metrics";
+
+    private final Logger logger = LoggerFactory.getLogger(OtlpMeterRegistry.class);
+    private final OtlpConfig config;
+    private final HttpSender httpClient;
+
+    public OtlpMeterRegistry(OtlpConfig config, Clock clock) {
+        super(config, clock);
+        this.config = config;
+        this.httpClient = new HttpUrlConnectionSender(config.connectTimeout(), config.readTimeout());
+        config().namingConvention(NamingConvention.dot);
+        start(new NamedThreadFactory("otlp-metrics-publisher"));
+    }
+
+    @Override
+    protected void publish() {
+        long endNanos = TimeUnit.MILLISECONDS.toNanos(clock.wallTime());
+        long startNanos = endNanos - config.step().toNanos();
+        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+            JsonArray metrics = new JsonArray();
+            batch.forEach(meter -> {
+                JsonObject metric = toMetric(meter, startNanos, endNanos);
+                if (metric != null) {
+                    metrics.add(metric);
+                }
+            });
+            if (metrics.size() == 0) {
+                continue;
+            }
+            try {
+                httpClient.post(config.url()).withJsonContent(toRequest(metrics).toString()).send()
+                        .onSuccess(response -> logger.debug("Successfully sent {} metrics to OTLP collector.",
+                                metrics.size()))
+                        .onError(response -> logger.warn("Failed to send metrics to OTLP collector: {}",
+                                response.body()));
+            } catch (Throwable e) {
+                logger.warn("Failed to send metrics to OTLP collector: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    private JsonObject toRequest(JsonArray metrics) {
+        JsonObject scope = new JsonObject();
+        scope.addProperty("name", SCOPE_NAME);
+        JsonObject scopeMetrics = new JsonObject();
+        scopeMetrics.add("scope", scope);
+        scopeMetrics.add("metrics", metrics);
+        JsonArray scopeMetricsList = new JsonArray();
+        scopeMetricsList.add(scopeMetrics);
+
+        JsonObject resource = new JsonObject();
+        resource.add("attributes", toAttributes(List.of(Tag.of("service.name", config.serviceName()))));
+        JsonObject resourceMetrics = new JsonObject();
+        resourceMetrics.add("resource", resource);
+        resourceMetrics.add("scopeMetrics", scopeMetricsList);
+        JsonArray resourceMetricsList = new JsonArray();
+        resourceMetricsList.add(resourceMetrics);
+
+        JsonObject request = new JsonObject();
+        request.add("resourceMetrics", resourceMetricsList);
+        return request;
+    }
+
+    private @Nullable JsonObject toMetric(Meter meter, long startNanos, long endNanos) {
+        Meter.Id id = meter.getId();
+        JsonObject metric = new JsonObject();
+        metric.addProperty("name", id.getConventionName(config().namingConvention()));
+        String baseUnit = id.getBaseUnit();
+        if (baseUnit != null) {
+            metric.addProperty("unit", baseUnit);
+        }
+        JsonArray attributes = toAttributes(getConventionTags(id));
+
+        return meter.match( //
+                gauge -> gauge(metric, attributes, endNanos, gauge.value()), //
+                counter -> sum(metric, attributes, startNanos, endNanos, counter.count()), //
+                timer -> histogram(metric, attributes, startNanos, endNanos, timer.count(),
+                        timer.totalTime(getBaseTimeUnit()), timer.max(getBaseTimeUnit())), //
+                summary -> histogram(metric, attributes, startNanos, endNanos, summary.count(),
+                        summary.totalAmount(), summary.max()), //
+                longTaskTimer -> gauge(metric, attributes, endNanos, longTaskTimer.activeTasks()), //
+                timeGauge -> gauge(metric, attributes, endNanos, timeGauge.value(getBaseTimeUnit())), //
+                functionCounter -> sum(metric, attributes, startNanos, endNanos, functionCounter.count()), //
+                functionTimer -> histogram(metric, attributes, startNanos, endNanos, (long) functionTimer.count(),
+                        functionTimer.totalTime(getBaseTimeUnit()), Double.NaN), //
+                other -> null);
+    }
+
+    private @Nullable JsonObject gauge(JsonObject metric, JsonArray attributes, long endNanos, double value) {
+        if (!Double.isFinite(value)) {
+            return null;
+        }
+        JsonObject dataPoint = dataPoint(attributes, null, endNanos);
+        dataPoint.addProperty("asDouble", value);
+        JsonObject gauge = new JsonObject();
+        gauge.add("dataPoints", single(dataPoint));
+        metric.add("gauge", gauge);
+        return metric;
+    }
+
+    private JsonObject sum(JsonObject metric, JsonArray attributes, long startNanos, long endNanos, double value) {
+        JsonObject dataPoint = dataPoint(attributes, startNanos, endNanos);
+        dataPoint.addProperty("asDouble", value);
+        JsonObject sum = new JsonObject();
+        sum.add("dataPoints", single(dataPoint));
+        sum.addProperty("aggregationTemporality", AGGREGATION_TEMPORALITY_DELTA);
+        sum.addProperty("isMonotonic", true);
+        metric.add("sum", sum);
+        return metric;
+    }
+
+    private JsonObject histogram(JsonObject metric, JsonArray attributes, long startNanos, long endNanos, long count,
+            double total, double max) {
+        JsonObject dataPoint = dataPoint(attributes, startNanos, endNanos);
+        // 64 bit integers are encoded as strings in OTLP JSON
+        dataPoint.addProperty("count", Long.toString(count));
+        dataPoint.addProperty("sum", total);
+        if (Double.isFinite(max)) {
+            dataPoint.addProperty("max", max);
+        }
+        JsonObject histogram = new JsonObject();
+        histogram.add("dataPoints", single(dataPoint));
+        histogram.addProperty("aggregationTemporality", AGGREGATION_TEMPORALITY_DELTA);
+        metric.add("histogram", histogram);
+        return metric;
+    }
+
+    private JsonObject dataPoint(JsonArray attributes, @Nullable Long startNanos, long endNanos) {
+        JsonObject dataPoint = new JsonObject();
+        dataPoint.add("attributes", attributes);
+        if (startNanos != null) {
+            dataPoint.addProperty("startTimeUnixNano", Long.toString(startNanos));
+        }
+        dataPoint.addProperty("timeUnixNano", Long.toString(endNanos));
+        return dataPoint;
+    }
+
+    private JsonArray single(JsonObject element) {
+        JsonArray array = new JsonArray();
+        array.add(element);
+        return array;
+    }
+
+    private JsonArray toAttributes(List<Tag> tags) {
+        JsonArray attributes = new JsonArray();
+        for (Tag tag : tags) {
+            JsonObject value = new JsonObject();
+            value.addProperty("stringValue", tag.getValue());
+            JsonObject attribute = new JsonObject();
+            attribute.addProperty("key", tag.getKey());
+            attribute.add("value", value);
+            attributes.add(attribute);
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.exporters;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.metrics.MetricsConfiguration;
+import org.openhab.io.metrics.MetricsExporter;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * The {@link OtlpMetricsExporter} class implements a MetricsExporter for OpenTelemetry (OTLP) collectors.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OtlpMetricsExporter extends MetricsExporter {
+
+    private @Nullable OtlpMeterRegistry otlpMeterRegistry;
+    private @Nullable CompositeMeterRegistry meterRegistry;
+
+    @Override
+    public void start(CompositeMeterRegistry meterRegistry, MetricsConfiguration metricsConfiguration) {
+        otlpMeterRegistry = new OtlpMeterRegistry(getOtlpConfig(metricsConfiguration), Clock.SYSTEM);
+        meterRegistry.add(otlpMeterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void shutdown() {
+        OtlpMeterRegistry otlpMeterRegistry = this.otlpMeterRegistry;
+        if (otlpMeterRegistry != null) {
+            otlpMeterRegistry.stop();
+            this.otlpMeterRegistry = null;
+        }
+
+        CompositeMeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null && otlpMeterRegistry != null) {
+            meterRegistry.remove(otlpMeterRegistry);
+            this.meterRegistry = null;
+        }
+    }
+
+    private OtlpConfig getOtlpConfig(MetricsConfiguration metricsConfiguration) {
+        return new OtlpConfig() {
+            @Override
+            public Duration step() {
+                return Duration.ofSeconds(metricsConfiguration.otlpUpdateIntervalInSeconds);
+            }
+
+            @Override
+            public String url() {
+                return metricsConfiguration.otlpURL;
+            }
+
+            @Override
+            @io.micrometer.core.lang.Nullable
+            @Nullable
+            public String get(@Nullable String k) {
+                return null; // accept the rest of the defaults
+            }
+        };
+    }
+
+    @Override
+    protected boolean isEnabled(MetricsConfiguration config) {
+        return config.otlpMetricsEnabled;
+    }
+}
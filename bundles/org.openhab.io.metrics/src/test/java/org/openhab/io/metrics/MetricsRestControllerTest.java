@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests cases for {@link MetricsRestController}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MetricsRestControllerTest {
+
+    @Test
+    public void missingHeaderNotGzipped() {
+        assertFalse(MetricsRestController.acceptsGzip(null));
+        assertFalse(MetricsRestController.acceptsGzip(""));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "gzip", "GZip", "deflate, gzip", "gzip;q=0.5", "gzip; Q=1", "x-gzip", "*",
+            "deflate;q=1, *;q=0.1", "gzip, *;q=0" })
+    public void gzipAccepted(String acceptEncoding) {
+        assertTrue(MetricsRestController.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "identity", "deflate, br", "gzip;q=0", "GZIP; q=0.0", "gzip;q=invalid", "*;q=0",
+            "*, gzip;q=0", "gzip;q=0, *" })
+    public void gzipNotAccepted(String acceptEncoding) {
+        assertFalse(MetricsRestController.acceptsGzip(acceptEncoding));
+    }
+}
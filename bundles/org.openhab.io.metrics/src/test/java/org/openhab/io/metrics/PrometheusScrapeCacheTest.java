@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Tests cases for {@link PrometheusScrapeCache}
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class PrometheusScrapeCacheTest {
+    private static final int INTERVAL_SECONDS = 10;
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> refreshJob;
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final Counter counter = registry.counter("test_events");
+    private final PrometheusScrapeCache cache = new PrometheusScrapeCache(registry);
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(refreshJob).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+    }
+
+    private String scrape() throws IOException {
+        return new String(cache.get().getPlain(), StandardCharsets.UTF_8);
+    }
+
+    private Runnable startRefresh() {
+        cache.start(scheduler, INTERVAL_SECONDS);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(refresh.capture(), eq((long) INTERVAL_SECONDS),
+                eq((long) INTERVAL_SECONDS), eq(TimeUnit.SECONDS));
+        return refresh.getValue();
+    }
+
+    @Test
+    public void renderedOnEachRequestWithoutInterval() throws IOException {
+        cache.start(scheduler, 0);
+        verifyNoInteractions(scheduler);
+
+        assertTrue(scrape().contains("test_events_total 0.0"));
+        counter.increment();
+        assertTrue(scrape().contains("test_events_total 1.0"));
+    }
+
+    @Test
+    public void cachedUntilRefreshed() throws IOException {
+        Runnable refresh = startRefresh();
+
+        assertTrue(scrape().contains("test_events_total 0.0"));
+        counter.increment();
+        assertTrue(scrape().contains("test_events_total 0.0"));
+
+        refresh.run();
+        assertTrue(scrape().contains("test_events_total 1.0"));
+    }
+
+    @Test
+    public void refreshBeforeFirstRequestRendersNothing() throws IOException {
+        Runnable refresh = startRefresh();
+        refresh.run();
+        counter.increment();
+
+        // the first request renders the registry as it is now
+        assertTrue(scrape().contains("test_events_total 1.0"));
+    }
+
+    @Test
+    public void stopInvalidatesCache() throws IOException {
+        startRefresh();
+        scrape();
+        counter.increment();
+
+        cache.stop();
+
+        verify(refreshJob).cancel(false);
+        assertTrue(scrape().contains("test_events_total 1.0"));
+    }
+
+    @Test
+    public void restartInvalidatesCache() throws IOException {
+        startRefresh();
+        scrape();
+        counter.increment();
+
+        cache.start(scheduler, INTERVAL_SECONDS);
+
+        verify(refreshJob).cancel(false);
+        assertTrue(scrape().contains("test_events_total 1.0"));
+    }
+
+    @Test
+    public void gzippedMatchesPlain() throws IOException {
+        startRefresh();
+        PrometheusScrapeCache.Scrape scrape = cache.get();
+
+        byte[] gzipped = scrape.getGzipped();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertArrayEquals(scrape.getPlain(), in.readAllBytes());
+        }
+        assertSame(gzipped, scrape.getGzipped());
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pipertts.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.AudioStream;
+
+/**
+ * The {@link PiperStreamingAudioStream} is a wav audio stream that is filled sentence by sentence while it is being
+ * read. A read blocks until the audio of the next sentence has been generated.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PiperStreamingAudioStream extends AudioStream {
+    // Marks the end of the stream in the queue.
+    private static final byte[] END = new byte[0];
+
+    private final AudioFormat audioFormat;
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+    private volatile boolean closed = false;
+    private volatile @Nullable String failure;
+    private byte[] chunk;
+    private int position = 0;
+    private boolean ended = false;
+
+    /**
+     * @param audioFormat the format of the stream
+     * @param header the wav header, returned before any audio
+     */
+    PiperStreamingAudioStream(AudioFormat audioFormat, byte[] header) {
+        this.audioFormat = audioFormat;
+        this.chunk = header;
+    }
+
+    void append(byte[] audio) {
+        if (!closed && audio.length > 0) {
+            chunks.add(audio);
+        }
+    }
+
+    void finish() {
+        chunks.add(END);
+    }
+
+    void fail(@Nullable String message) {
+        failure = message == null ? "Voice generation failed" : message;
+        chunks.add(END);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte @Nullable [] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int count = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return closed ? 0 : chunk.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        chunks.clear();
+        // Wake up a reader waiting for the next sentence.
+        chunks.add(END);
+        super.close();
+    }
+
+    /**
+     * @return <code>false</code> at the end of the stream
+     */
+    private boolean nextChunk() throws IOException {
+        while (position >= chunk.length) {
+            if (closed || ended) {
+                return false;
+            }
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the voice generation");
+            }
+            position = 0;
+            if (chunk == END) {
+                ended = true;
+                String failure = this.failure;
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
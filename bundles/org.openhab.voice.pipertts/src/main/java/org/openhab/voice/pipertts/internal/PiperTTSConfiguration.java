@@ -25,4 +25,12 @@ public class PiperTTSConfiguration {
      * Keep last voice model used loaded in memory.
      */
     boolean preloadModel;
+    /**
+     * Maximum number of voice models kept loaded when preloadModel is enabled.
+     */
+    int maxPreloadedVoices = 1;
+    /**
+     * Generate the audio sentence by sentence and start playing after the first one.
+     */
+    boolean streaming;
 }
@@ -24,12 +24,16 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.text.BreakIterator;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -38,7 +42,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.stream.Collectors;
 
@@ -93,13 +96,16 @@ public class PiperTTSService extends AbstractCachedTTSService {
     private static final Path JAR_FILE = PIPER_FOLDER.resolve("piper-jni-" + PIPER_VERSION + ".jar");
     private static final String JAR_URL = "https://repo1.maven.org/maven2/io/github/givimad/piper-jni/" + PIPER_VERSION
             + "/piper-jni-" + PIPER_VERSION + ".jar";
+    // Sentences shorter than this are joined with the next one when streaming.
+    private static final int MIN_SENTENCE_LENGTH = 20;
     private final Logger logger = LoggerFactory.getLogger(PiperTTSService.class);
     private final Object modelLock = new Object();
     private final ExecutorService executor = ThreadPoolManager.getPool("voice-pipertts");
     private PiperTTSConfiguration config = new PiperTTSConfiguration();
     private Map<String, List<Voice>> cachedVoicesByModel = new HashMap<>();
     private boolean ready = false;
-    private @Nullable VoiceModel preloadedModel;
+    // Guarded by modelLock, in access order so that the least recently used model comes first.
+    private final Map<String, VoiceModel> preloadedModels = new LinkedHashMap<>(8, 0.75f, true);
     private @Nullable PiperJNI piper;
     private @Nullable Future<?> activateTask;
     static {
@@ -204,7 +210,7 @@ public class PiperTTSService extends AbstractCachedTTSService {
     @Deactivate
     protected void deactivate(Map<String, Object> config) {
         try {
-            unloadModel();
+            unloadModels();
             getPiper().close();
             piper = null;
         } catch (IOException e) {
@@ -216,7 +222,7 @@ public class PiperTTSService extends AbstractCachedTTSService {
     private void configChange(Map<String, Object> config) {
         this.config = new Configuration(config).as(PiperTTSConfiguration.class);
         try {
-            unloadModel();
+            unloadModels();
         } catch (IOException e) {
             logger.warn("IOException unloading model: {}", e.getMessage());
         }
@@ -339,99 +345,192 @@ public class PiperTTSService extends AbstractCachedTTSService {
         if (!(voice instanceof PiperTTSVoice ttsVoice)) {
             throw new TTSException("No piper voice provided");
         }
-        VoiceModel voiceModel = null;
-        boolean usingPreloadedModel = false;
-        short[] buffer;
-        final VoiceModel preloadedModel = this.preloadedModel;
+        List<String> sentences = config.streaming ? splitSentences(text, ttsVoice.getLocale()) : List.of(text);
+        VoiceModel voiceModel;
         try {
-            try {
-                if (preloadedModel != null && preloadedModel.ttsVoice.getUID().equals(ttsVoice.getUID())) {
-                    logger.debug("Using preloaded voice model");
-                    preloadedModel.consumers.incrementAndGet();
-                    voiceModel = preloadedModel;
-                    usingPreloadedModel = true;
-                } else {
-                    unloadModel();
-                    logger.debug("Loading voice model...");
-                    voiceModel = loadModel(ttsVoice);
-                    synchronized (modelLock) {
-                        usingPreloadedModel = voiceModel.equals(this.preloadedModel);
+            voiceModel = acquireModel(ttsVoice);
+        } catch (IOException e) {
+            throw new TTSException("Unable to load voice model: " + e.getMessage());
+        } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
+            throw new TTSException("Piper not initialized, try restarting the add-on.");
+        } catch (RuntimeException e) {
+            logger.warn("RuntimeException loading voice model: {}", e.getMessage());
+            throw new TTSException("There was an error running Piper");
+        }
+        boolean releaseModel = true;
+        try {
+            javax.sound.sampled.AudioFormat jTargetFormat = getTargetFormat(audioFormat);
+            if (sentences.size() <= 1) {
+                short[] buffer = textToAudio(voiceModel, text);
+                logger.debug("Return re-encoded audio stream");
+                return getAudioStreamWithRIFFHeader(toTargetFormat(buffer, voiceModel.sampleRate, jTargetFormat),
+                        jTargetFormat, audioFormat);
+            }
+            // Return as soon as the first sentence is ready, the others are generated while it plays.
+            logger.debug("Generating audio for {} sentences", sentences.size());
+            PiperStreamingAudioStream audioStream = new PiperStreamingAudioStream(audioFormat,
+                    getStreamingWaveHeader(jTargetFormat));
+            audioStream.append(
+                    toTargetFormat(textToAudio(voiceModel, sentences.get(0)), voiceModel.sampleRate, jTargetFormat));
+            executor.submit(() -> {
+                try {
+                    for (String sentence : sentences.subList(1, sentences.size())) {
+                        if (audioStream.isClosed()) {
+                            logger.debug("Audio stream closed, skipping remaining sentences");
+                            return;
+                        }
+                        audioStream.append(toTargetFormat(textToAudio(voiceModel, sentence), voiceModel.sampleRate,
+                                jTargetFormat));
                     }
+                    audioStream.finish();
+                } catch (TTSException | IOException e) {
+                    audioStream.fail(e.getMessage());
+                } finally {
+                    releaseModel(voiceModel);
                 }
-            } catch (IOException e) {
-                throw new TTSException("Unable to load voice model: " + e.getMessage());
-            }
-            try {
-                logger.debug("Generating audio for: '{}'", text);
-                buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
-                logger.debug("Generated {} samples of audio", buffer.length);
-            } catch (IOException e) {
-                throw new TTSException("Voice generation failed: " + e.getMessage());
+            });
+            releaseModel = false;
+            return audioStream;
+        } catch (IOException e) {
+            throw new TTSException("Error while creating audio stream: " + e.getMessage());
+        } finally {
+            if (releaseModel) {
+                releaseModel(voiceModel);
             }
+        }
+    }
+
+    private short[] textToAudio(VoiceModel voiceModel, String text) throws TTSException {
+        try {
+            logger.debug("Generating audio for: '{}'", text);
+            short[] buffer = getPiper().textToAudio(voiceModel.piperVoice, text);
+            logger.debug("Generated {} samples of audio", buffer.length);
+            return buffer;
+        } catch (IOException e) {
+            throw new TTSException("Voice generation failed: " + e.getMessage());
         } catch (PiperJNI.NotInitialized | LibraryNotLoaded e) {
             throw new TTSException("Piper not initialized, try restarting the add-on.");
         } catch (RuntimeException e) {
             logger.warn("RuntimeException running text to audio: {}", e.getMessage());
             throw new TTSException("There was an error running Piper");
-        } finally {
-            if (voiceModel != null) {
-                if (!usingPreloadedModel
-                        || voiceModel.consumers.decrementAndGet() == 0 && !voiceModel.equals(this.preloadedModel)) {
-                    logger.debug("Unloading voice model");
-                    voiceModel.close();
-                } else {
-                    logger.debug("Skipping voice model unload");
-                }
+        }
+    }
+
+    /**
+     * Splits a text into sentences. Short fragments, like an abbreviation the break iterator took for the end of a
+     * sentence, are joined with the next sentence.
+     */
+    static List<String> splitSentences(String text, Locale locale) {
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        List<String> sentences = new ArrayList<>();
+        StringBuilder sentence = new StringBuilder();
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            sentence.append(text, start, end);
+            if (sentence.toString().isBlank()) {
+                sentence.setLength(0);
+            } else if (sentence.length() >= MIN_SENTENCE_LENGTH) {
+                sentences.add(sentence.toString().trim());
+                sentence.setLength(0);
             }
         }
-        try {
-            logger.debug("Return re-encoded audio stream");
-            return getAudioStream(buffer, voiceModel.sampleRate, audioFormat);
-        } catch (IOException e) {
-            throw new TTSException("Error while creating audio stream: " + e.getMessage());
+        if (!sentence.toString().isBlank()) {
+            if (sentences.isEmpty()) {
+                sentences.add(sentence.toString().trim());
+            } else {
+                int last = sentences.size() - 1;
+                sentences.set(last, sentences.get(last) + " " + sentence.toString().trim());
+            }
         }
+        return sentences;
     }
 
-    private VoiceModel loadModel(PiperTTSVoice voice) throws IOException, PiperJNI.NotInitialized, LibraryNotLoaded {
-        if (!Files.exists(voice.voiceModelPath()) || !Files.exists(voice.voiceModelConfigPath())) {
-            throw new IOException("Missing voice files");
+    /**
+     * Returns a loaded model for the voice. It is taken from the preloaded models if possible, the caller has to
+     * release it with {@link #releaseModel(VoiceModel)}.
+     */
+    private VoiceModel acquireModel(PiperTTSVoice voice)
+            throws IOException, PiperJNI.NotInitialized, LibraryNotLoaded {
+        synchronized (modelLock) {
+            VoiceModel voiceModel = preloadedModels.get(voice.getUID());
+            if (voiceModel != null) {
+                logger.debug("Using preloaded voice model");
+                voiceModel.consumers++;
+                return voiceModel;
+            }
         }
-        PiperJNI piper = getPiper();
-        PiperVoice piperVoice;
-        VoiceModel voiceModel;
-        piperVoice = piper.loadVoice(voice.voiceModelPath(), voice.voiceModelConfigPath(), voice.speakerId.orElse(-1L));
-        voiceModel = new VoiceModel(voice, piperVoice, piperVoice.getSampleRate(), new AtomicInteger(1), logger);
+        logger.debug("Loading voice model...");
+        VoiceModel voiceModel = loadModel(voice);
         if (config.preloadModel) {
             synchronized (modelLock) {
-                if (preloadedModel == null) {
-                    logger.debug("Voice model will be kept preloaded");
-                    preloadedModel = voiceModel;
+                if (preloadedModels.containsKey(voice.getUID())) {
+                    logger.debug("Voice model already preloaded by another request");
                 } else {
-                    logger.debug("Another voice model already preloaded");
+                    logger.debug("Voice model will be kept preloaded");
+                    voiceModel.preloaded = true;
+                    preloadedModels.put(voice.getUID(), voiceModel);
+                    Iterator<VoiceModel> iterator = preloadedModels.values().iterator();
+                    while (preloadedModels.size() > Math.max(1, config.maxPreloadedVoices)) {
+                        // The iteration order is the access order, so the least recently used model comes first.
+                        VoiceModel eldest = iterator.next();
+                        iterator.remove();
+                        logger.debug("Unloading least recently used voice model {}", eldest.ttsVoice.getUID());
+                        eldest.preloaded = false;
+                        if (eldest.consumers == 0) {
+                            eldest.close();
+                        }
+                    }
                 }
             }
         }
         return voiceModel;
     }
 
-    private void unloadModel() throws IOException {
-        var model = preloadedModel;
-        if (model != null) {
-            synchronized (modelLock) {
-                preloadedModel = null;
-                if (model.consumers.get() == 0) {
-                    // Do not release the model memory if it's been used, it should be released by the consumer
-                    // when there is no other consumers and is not a ref of the preloaded model object.
+    private void releaseModel(VoiceModel voiceModel) {
+        synchronized (modelLock) {
+            if (--voiceModel.consumers == 0 && !voiceModel.preloaded) {
+                logger.debug("Unloading voice model");
+                voiceModel.close();
+            } else {
+                logger.debug("Skipping voice model unload");
+            }
+        }
+    }
+
+    private VoiceModel loadModel(PiperTTSVoice voice) throws IOException, PiperJNI.NotInitialized, LibraryNotLoaded {
+        if (!Files.exists(voice.voiceModelPath()) || !Files.exists(voice.voiceModelConfigPath())) {
+            throw new IOException("Missing voice files");
+        }
+        PiperJNI piper = getPiper();
+        PiperVoice piperVoice = piper.loadVoice(voice.voiceModelPath(), voice.voiceModelConfigPath(),
+                voice.speakerId.orElse(-1L));
+        return new VoiceModel(voice, piperVoice, piperVoice.getSampleRate());
+    }
+
+    private void unloadModels() throws IOException {
+        synchronized (modelLock) {
+            for (VoiceModel model : preloadedModels.values()) {
+                model.preloaded = false;
+                if (model.consumers == 0) {
+                    // Do not release the model memory if it's been used, it will be released by the last consumer.
                     logger.debug("Unloading preloaded model");
                     model.close();
                 } else {
                     logger.debug("Preloaded model in use, skip memory release");
                 }
             }
+            preloadedModels.clear();
         }
     }
 
-    private ByteArrayAudioStream getAudioStream(short[] samples, long sampleRate, AudioFormat targetFormat)
+    private javax.sound.sampled.AudioFormat getTargetFormat(AudioFormat targetFormat) {
+        return new javax.sound.sampled.AudioFormat(Objects.requireNonNull(targetFormat.getFrequency()),
+                Objects.requireNonNull(targetFormat.getBitDepth()), Objects.requireNonNull(targetFormat.getChannels()),
+                true, false);
+    }
+
+    private byte[] toTargetFormat(short[] samples, long sampleRate, javax.sound.sampled.AudioFormat jTargetFormat)
             throws IOException {
         // Convert the i16 samples returned by piper to a byte buffer
         ByteBuffer byteBuffer;
@@ -449,19 +548,26 @@ public class PiperTTSService extends AbstractCachedTTSService {
                 audioLength);
         // Move the audio data to another Java audio stream in the target format so the Java AudioSystem encoded it as
         // needed.
-        javax.sound.sampled.AudioFormat jTargetFormat = new javax.sound.sampled.AudioFormat(
-                Objects.requireNonNull(targetFormat.getFrequency()), Objects.requireNonNull(targetFormat.getBitDepth()),
-                Objects.requireNonNull(targetFormat.getChannels()), true, false);
         AudioInputStream convertedInputStream = AudioSystem.getAudioInputStream(jTargetFormat, audioInputStreamTemp);
-        // It's required to add the wav header to the byte array stream returned for it to work with all the sink
-        // implementations.
-        // It can not be done with the AudioInputStream returned by AudioSystem::getAudioInputStream because it missed
-        // the length property.
-        // Therefore, the following method creates another AudioInputStream instance and uses the Java AudioSystem to
-        // prepend
-        // the wav header bytes,
-        // and finally initializes an OpenHAB audio stream.
-        return getAudioStreamWithRIFFHeader(convertedInputStream.readAllBytes(), jTargetFormat, targetFormat);
+        return convertedInputStream.readAllBytes();
+    }
+
+    /**
+     * Returns a wav header for a stream of unknown length. The sizes are set to the maximum, players read such a
+     * stream until it ends.
+     */
+    private byte[] getStreamingWaveHeader(javax.sound.sampled.AudioFormat jAudioFormat) {
+        int sampleRate = (int) jAudioFormat.getSampleRate();
+        int frameSize = jAudioFormat.getFrameSize();
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(-1);
+        header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        header.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+        header.putShort((short) 1).putShort((short) jAudioFormat.getChannels());
+        header.putInt(sampleRate).putInt(sampleRate * frameSize);
+        header.putShort((short) frameSize).putShort((short) jAudioFormat.getSampleSizeInBits());
+        header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(-1);
+        return header.array();
     }
 
     private String capitalize(String text) {
@@ -502,8 +608,19 @@ public class PiperTTSService extends AbstractCachedTTSService {
         }
     }
 
-    private record VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate, AtomicInteger consumers,
-            Logger logger) implements AutoCloseable {
+    private static class VoiceModel implements AutoCloseable {
+        private final PiperTTSVoice ttsVoice;
+        private final PiperVoice piperVoice;
+        private final int sampleRate;
+        // Guarded by modelLock.
+        private int consumers = 1;
+        private boolean preloaded = false;
+
+        private VoiceModel(PiperTTSVoice ttsVoice, PiperVoice piperVoice, int sampleRate) {
+            this.ttsVoice = ttsVoice;
+            this.piperVoice = piperVoice;
+            this.sampleRate = sampleRate;
+        }
 
         @Override
         public void close() {
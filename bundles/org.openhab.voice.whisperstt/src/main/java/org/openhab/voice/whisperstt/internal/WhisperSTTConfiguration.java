@@ -70,6 +70,14 @@ public class WhisperSTTConfiguration {
      * Remove silence frames.
      */
     public boolean removeSilence = true;
+    /**
+     * Seconds of new voice before transcribing the utterance again while it is still being spoken. (0 to disable)
+     */
+    public float partialSeconds;
+    /**
+     * Number of whisper states kept for the next recognitions.
+     */
+    public int statePoolSize = 1;
     /**
      * Number of threads used by whisper. (0 to use host max threads)
      */
@@ -22,6 +22,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,6 +33,8 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -91,9 +94,10 @@ public class WhisperSTTService implements STTService {
     private static final int WHISPER_SAMPLE_RATE = 16000;
     private final Logger logger = LoggerFactory.getLogger(WhisperSTTService.class);
     private final ScheduledExecutorService executor = ThreadPoolManager.getScheduledPool("OH-voice-whisperstt");
+    private final ExecutorService vadExecutor = ThreadPoolManager.getPool("OH-voice-whisperstt-vad");
     private final LocaleService localeService;
     private WhisperSTTConfiguration config = new WhisperSTTConfiguration();
-    private @Nullable WhisperContext context;
+    private @Nullable WhisperStatePool statePool;
     private @Nullable WhisperGrammar grammar;
     private @Nullable WhisperJNI whisper;
 
@@ -191,7 +195,7 @@ public class WhisperSTTService implements STTService {
         }
         if (this.config.preloadModel) {
             try {
-                loadContext();
+                createStatePool();
             } catch (IOException e) {
                 logger.warn("IOException loading model: {}", e.getMessage());
             } catch (UnsatisfiedLinkError e) {
@@ -246,33 +250,31 @@ public class WhisperSTTService implements STTService {
     public STTServiceHandle recognize(STTListener sttListener, AudioStream audioStream, Locale locale, Set<String> set)
             throws STTException {
         AtomicBoolean aborted = new AtomicBoolean(false);
-        WhisperContext ctx = null;
-        WhisperState state = null;
+        WhisperStatePool.Entry entry = null;
         try {
             var whisper = getWhisper();
-            ctx = getContext();
-            logger.debug("Creating whisper state...");
-            state = whisper.initState(ctx);
-            logger.debug("Whisper state created");
+            logger.debug("Acquiring whisper state...");
+            entry = acquireState();
+            logger.debug("Whisper state acquired");
             logger.debug("Creating VAD instance...");
-            final int nSamplesStep = (int) (config.stepSeconds * (float) WHISPER_SAMPLE_RATE);
+            final int nSamplesStep = getStepSamples();
             VAD vad = new VAD(VoiceActivityDetector.Mode.valueOf(config.vadMode), WHISPER_SAMPLE_RATE, nSamplesStep,
                     config.vadStep, config.vadSensitivity);
             logger.debug("VAD instance created");
+            Utterance utterance = new Utterance(entry.audioSamples);
             sttListener.sttEventReceived(new RecognitionStartEvent());
-            backgroundRecognize(whisper, ctx, state, nSamplesStep, locale, sttListener, audioStream, vad, aborted);
+            backgroundRecognize(whisper, entry, nSamplesStep, locale, sttListener, audioStream, vad, utterance,
+                    aborted);
+            return () -> {
+                aborted.set(true);
+                utterance.stop();
+            };
         } catch (IOException e) {
-            if (ctx != null && !config.preloadModel) {
-                ctx.close();
-            }
-            if (state != null) {
-                state.close();
+            if (entry != null) {
+                releaseState(entry);
             }
             throw new STTException("Exception during initialization", e);
         }
-        return () -> {
-            aborted.set(true);
-        };
     }
 
     private WhisperJNI getWhisper() throws IOException {
@@ -283,16 +285,39 @@ public class WhisperSTTService implements STTService {
         return whisper;
     }
 
-    private WhisperContext getContext() throws IOException, UnsatisfiedLinkError {
-        var context = this.context;
-        if (context != null) {
-            return context;
+    private int getStepSamples() {
+        return (int) (config.stepSeconds * (float) WHISPER_SAMPLE_RATE);
+    }
+
+    /**
+     * Borrows a whisper state of the shared model, loading the model if needed.
+     */
+    private synchronized WhisperStatePool.Entry acquireState() throws IOException, UnsatisfiedLinkError {
+        WhisperStatePool statePool = this.statePool;
+        if (statePool == null) {
+            statePool = createStatePool();
+        }
+        return statePool.acquire();
+    }
+
+    private synchronized void releaseState(WhisperStatePool.Entry entry) {
+        WhisperStatePool statePool = entry.getPool();
+        if (statePool.release(entry) && !config.preloadModel && statePool == this.statePool) {
+            logger.debug("Unloading model");
+            statePool.close();
+            this.statePool = null;
         }
-        return loadContext();
     }
 
-    private synchronized WhisperContext loadContext() throws IOException {
+    private synchronized WhisperStatePool createStatePool() throws IOException {
         unloadContext();
+        WhisperStatePool statePool = new WhisperStatePool(getWhisper(), loadContext(),
+                Math.max(1, config.statePoolSize), config.maxSeconds * WHISPER_SAMPLE_RATE, getStepSamples());
+        this.statePool = statePool;
+        return statePool;
+    }
+
+    private WhisperContext loadContext() throws IOException {
         String modelFilename = this.config.modelName;
         if (modelFilename.isBlank()) {
             throw new IOException("The modelName configuration is missing");
@@ -313,9 +338,6 @@ public class WhisperSTTService implements STTService {
         WhisperJNI whisper = getWhisper();
         var context = whisper.initNoState(modelPath, getWhisperContextParams());
         logger.debug("Whisper context loaded");
-        if (config.preloadModel) {
-            this.context = context;
-        }
         if (!config.openvinoDevice.isBlank()) {
             // has no effect if OpenVINO is not enabled in whisper.cpp library.
             logger.debug("Init OpenVINO device");
@@ -330,229 +352,317 @@ public class WhisperSTTService implements STTService {
         return params;
     }
 
-    private void unloadContext() throws IOException {
-        var context = this.context;
-        if (context != null) {
+    private synchronized void unloadContext() throws IOException {
+        var statePool = this.statePool;
+        if (statePool != null) {
+            // the model is released by the last running recognition
             logger.debug("Unloading model");
-            context.close();
-            this.context = null;
+            statePool.close();
+            this.statePool = null;
         }
     }
 
-    private void backgroundRecognize(WhisperJNI whisper, WhisperContext ctx, WhisperState state, final int nSamplesStep,
-            Locale locale, STTListener sttListener, AudioStream audioStream, VAD vad, AtomicBoolean aborted) {
-        var releaseContext = !config.preloadModel;
+    /**
+     * Runs a recognition in two stages. The VAD stage reads the audio on its own thread and only passes the voice to
+     * the whisper stage, so that silence never reaches whisper and the audio keeps being read during partial
+     * transcriptions. The whisper stage transcribes each utterance once it ends, and the growing utterance in between
+     * if partial transcriptions are enabled. If the utterance did not grow since the last partial transcription, its
+     * result is used right away. Whisper reads the samples of the utterance in place, so once an utterance ends the VAD
+     * stage stops reading until its final transcription is done; the audio of that time waits in the audio stream.
+     */
+    private void backgroundRecognize(WhisperJNI whisper, WhisperStatePool.Entry entry, final int nSamplesStep,
+            Locale locale, STTListener sttListener, AudioStream audioStream, VAD vad, Utterance utterance,
+            AtomicBoolean aborted) {
         final int nSamplesMax = config.maxSeconds * WHISPER_SAMPLE_RATE;
         final int nSamplesMin = (int) (config.minSeconds * (float) WHISPER_SAMPLE_RATE);
-        final int nInitSilenceSamples = (int) (config.initSilenceSeconds * (float) WHISPER_SAMPLE_RATE);
-        final int nMaxSilenceSamples = (int) (config.maxSilenceSeconds * (float) WHISPER_SAMPLE_RATE);
+        final int nPartialSamples = (int) (config.partialSeconds * (float) WHISPER_SAMPLE_RATE);
         logger.debug("Samples per step {}", nSamplesStep);
         logger.debug("Min transcription samples {}", nSamplesMin);
         logger.debug("Max transcription samples {}", nSamplesMax);
-        logger.debug("Max init silence samples {}", nInitSilenceSamples);
-        logger.debug("Max silence samples {}", nMaxSilenceSamples);
-        // used to store the step samples in libfvad wanted format 16-bit int
-        final short[] stepAudioSamples = new short[nSamplesStep];
-        // used to store the full samples in whisper wanted format 32-bit float
-        final float[] audioSamples = new float[nSamplesMax];
+        logger.debug("Partial transcription samples {}", nPartialSamples);
+        CountDownLatch vadStopped = new CountDownLatch(1);
+        vadExecutor.submit(() -> {
+            try {
+                runVAD(entry, nSamplesStep, nSamplesMin, nSamplesMax, audioStream, vad, utterance);
+            } catch (IOException e) {
+                if (!utterance.isStopped()) {
+                    logger.warn("Error reading audio: {}", e.getMessage());
+                    utterance.fail();
+                }
+            } finally {
+                utterance.end();
+                vadStopped.countDown();
+            }
+        });
         executor.submit(() -> {
-            int audioSamplesOffset = 0;
-            int silenceSamplesCounter = 0;
-            int nProcessedSamples = 0;
-            int numBytesRead;
-            boolean voiceDetected = false;
+            WhisperState state = entry.state;
+            WhisperContext ctx = entry.getPool().getContext();
             String transcription = "";
-            String tempTranscription = "";
-            VAD.@Nullable VADResult lastVADResult;
-            VAD.@Nullable VADResult firstConsecutiveSilenceVADResult = null;
+            boolean failed = false;
             try {
-                try (state; //
-                        audioStream; //
-                        vad) {
-                    if (AudioFormat.CONTAINER_WAVE.equals(audioStream.getFormat().getContainer())) {
-                        AudioWaveUtils.removeFMT(audioStream);
-                    }
-                    final ByteBuffer captureBuffer = ByteBuffer.allocate(nSamplesStep * 2)
-                            .order(ByteOrder.LITTLE_ENDIAN);
-                    // init remaining to full capacity
-                    int remaining = captureBuffer.capacity();
-                    WhisperFullParams params = getWhisperFullParams(ctx, locale);
-                    while (!aborted.get()) {
-                        // read until no remaining so we get the complete step samples
-                        numBytesRead = audioStream.read(captureBuffer.array(), captureBuffer.capacity() - remaining,
-                                remaining);
-                        if (aborted.get() || numBytesRead == -1) {
-                            break;
+                WhisperFullParams params = getWhisperFullParams(ctx, locale);
+                int transcribedSamples = 0;
+                String tempTranscription = "";
+                while (true) {
+                    int nSamples;
+                    boolean complete;
+                    boolean ended;
+                    synchronized (utterance) {
+                        while (!utterance.stopped && !utterance.ended && !utterance.complete && (nPartialSamples <= 0
+                                || utterance.length - transcribedSamples < nPartialSamples)) {
+                            utterance.wait();
                         }
-                        if (numBytesRead != remaining) {
-                            remaining = remaining - numBytesRead;
-                            continue;
+                        if (utterance.stopped) {
+                            failed = utterance.failed;
+                            break;
                         }
-                        // reset remaining to full capacity
-                        remaining = captureBuffer.capacity();
-                        // encode step samples and copy them to the audio buffers
-                        var shortBuffer = captureBuffer.asShortBuffer();
-                        while (shortBuffer.hasRemaining()) {
-                            var position = shortBuffer.position();
-                            short i16BitSample = shortBuffer.get();
-                            float f32BitSample = Float.min(1f,
-                                    Float.max((float) i16BitSample / ((float) Short.MAX_VALUE), -1f));
-                            stepAudioSamples[position] = i16BitSample;
-                            audioSamples[audioSamplesOffset++] = f32BitSample;
-                            nProcessedSamples++;
+                        nSamples = utterance.length;
+                        complete = utterance.complete;
+                        ended = utterance.ended;
+                    }
+                    if (!complete) {
+                        if (ended) {
+                            logger.debug("Audio ended before the utterance, ending");
+                            break;
                         }
-                        // run vad
-                        if (nProcessedSamples + nSamplesStep > nSamplesMax - nSamplesStep) {
-                            logger.debug("VAD: Skipping, max length reached");
-                        } else {
-                            lastVADResult = vad.analyze(stepAudioSamples);
-                            if (lastVADResult.isVoice()) {
-                                voiceDetected = true;
-                                logger.debug("VAD: voice detected");
-                                silenceSamplesCounter = 0;
-                                firstConsecutiveSilenceVADResult = null;
-                                continue;
-                            } else {
-                                if (firstConsecutiveSilenceVADResult == null) {
-                                    firstConsecutiveSilenceVADResult = lastVADResult;
-                                }
-                                silenceSamplesCounter += nSamplesStep;
-                                int maxSilenceSamples = voiceDetected ? nMaxSilenceSamples : nInitSilenceSamples;
-                                if (silenceSamplesCounter < maxSilenceSamples) {
-                                    if (logger.isDebugEnabled()) {
-                                        int totalSteps = maxSilenceSamples / nSamplesStep;
-                                        int currentSteps = totalSteps
-                                                - ((maxSilenceSamples - silenceSamplesCounter) / nSamplesStep);
-                                        logger.debug("VAD: silence detected {}/{}", currentSteps, totalSteps);
-                                    }
-                                    if (!voiceDetected && config.removeSilence) {
-                                        logger.debug("removing start silence");
-                                        int samplesToKeep = lastVADResult.voiceSamplesInTail();
-                                        if (samplesToKeep > 0) {
-                                            for (int i = 0; i < samplesToKeep; i++) {
-                                                audioSamples[i] = audioSamples[audioSamplesOffset
-                                                        - (samplesToKeep - i)];
-                                            }
-                                            audioSamplesOffset = samplesToKeep;
-                                            logger.debug("some audio was kept");
-                                        } else {
-                                            audioSamplesOffset = 0;
-                                        }
-                                    }
-                                    continue;
-                                } else {
-                                    logger.debug("VAD: silence detected");
-                                    if (audioSamplesOffset < nSamplesMin) {
-                                        logger.debug("Not enough samples, continue");
-                                        continue;
-                                    }
-                                    if (config.singleUtteranceMode) {
-                                        // close the audio stream to avoid keep getting audio we don't need
-                                        try {
-                                            audioStream.close();
-                                        } catch (IOException ignored) {
-                                        }
-                                    }
-                                }
-                            }
-                            if (config.removeSilence) {
-                                if (voiceDetected) {
-                                    logger.debug("removing end silence");
-                                    int samplesToKeep = firstConsecutiveSilenceVADResult.voiceSamplesInHead();
-                                    if (samplesToKeep > 0) {
-                                        logger.debug("some audio was kept");
-                                    }
-                                    var samplesToRemove = silenceSamplesCounter - samplesToKeep;
-                                    if (audioSamplesOffset - samplesToRemove < nSamplesMin) {
-                                        logger.debug("avoid removing under min audio seconds");
-                                        samplesToRemove = audioSamplesOffset - nSamplesMin;
-                                    }
-                                    if (samplesToRemove > 0) {
-                                        audioSamplesOffset -= samplesToRemove;
-                                    }
-                                } else {
-                                    audioSamplesOffset = 0;
-                                }
-                            }
-                            if (audioSamplesOffset == 0) {
-                                if (config.singleUtteranceMode) {
-                                    logger.debug("no audio to transcribe, ending");
-                                    break;
-                                } else {
-                                    logger.debug("no audio to transcribe, continue listening");
-                                    continue;
-                                }
-                            }
+                    } else if (nSamples == 0) {
+                        if (config.singleUtteranceMode) {
+                            logger.debug("no audio to transcribe, ending");
+                            break;
                         }
+                        logger.debug("no audio to transcribe, continue listening");
+                        utterance.reset();
+                        continue;
+                    }
+                    if (nSamples != transcribedSamples) {
                         // run whisper
                         logger.debug("running whisper with {} seconds of audio...",
-                                Math.round((((float) audioSamplesOffset) / (float) WHISPER_SAMPLE_RATE) * 100f) / 100f);
+                                Math.round((((float) nSamples) / (float) WHISPER_SAMPLE_RATE) * 100f) / 100f);
                         long execStartTime = System.currentTimeMillis();
-                        var result = whisper.fullWithState(ctx, state, params, audioSamples, audioSamplesOffset);
+                        var result = whisper.fullWithState(ctx, state, params, entry.audioSamples, nSamples);
                         logger.debug("whisper ended in {}ms with result code {}",
                                 System.currentTimeMillis() - execStartTime, result);
                         // process result
                         if (result != 0) {
-                            emitSpeechRecognitionError(sttListener);
+                            failed = true;
                             break;
                         }
                         int nSegments = whisper.fullNSegmentsFromState(state);
                         logger.debug("Available transcription segments {}", nSegments);
-                        if (nSegments == 1) {
-                            tempTranscription = whisper.fullGetSegmentTextFromState(state, 0);
-                            if (config.createWAVRecord) {
-                                createAudioFile(audioSamples, audioSamplesOffset, tempTranscription,
-                                        locale.getLanguage());
-                            }
-                            if (config.singleUtteranceMode) {
-                                logger.debug("single utterance mode, ending transcription");
-                                transcription = tempTranscription;
-                                break;
-                            } else {
-                                // start a new transcription segment
-                                transcription += tempTranscription;
-                                tempTranscription = "";
-                            }
-                        } else if (nSegments == 0 && config.singleUtteranceMode) {
-                            logger.debug("Single utterance mode and no results, ending transcription");
-                            break;
-                        } else if (nSegments > 1) {
+                        if (nSegments > 1) {
                             // non reachable
                             logger.warn("Whisper should be configured in single segment mode {}", nSegments);
                             break;
                         }
-                        // reset state to start with next segment
-                        voiceDetected = false;
-                        silenceSamplesCounter = 0;
-                        audioSamplesOffset = 0;
+                        tempTranscription = nSegments == 1 ? whisper.fullGetSegmentTextFromState(state, 0) : "";
+                        transcribedSamples = nSamples;
+                    } else {
+                        logger.debug("Utterance did not change since the partial transcription");
+                    }
+                    if (!complete) {
                         logger.debug("Partial transcription: {}", tempTranscription);
-                        logger.debug("Transcription: {}", transcription);
+                        continue;
                     }
-                } finally {
-                    if (releaseContext) {
-                        ctx.close();
+                    if (config.createWAVRecord) {
+                        createAudioFile(entry.audioSamples, nSamples, tempTranscription, locale.getLanguage());
                     }
-                }
-                // emit result
-                if (!aborted.get()) {
-                    sttListener.sttEventReceived(new RecognitionStopEvent());
-                    logger.debug("Final transcription: '{}'", transcription);
-                    if (!transcription.isBlank()) {
-                        sttListener.sttEventReceived(new SpeechRecognitionEvent(transcription.trim(), 1));
-                    } else {
-                        emitSpeechRecognitionNoResultsError(sttListener);
+                    if (config.singleUtteranceMode) {
+                        if (tempTranscription.isEmpty()) {
+                            logger.debug("Single utterance mode and no results, ending transcription");
+                        } else {
+                            logger.debug("single utterance mode, ending transcription");
+                        }
+                        transcription = tempTranscription;
+                        break;
                     }
+                    // start a new transcription segment
+                    transcription += tempTranscription;
+                    tempTranscription = "";
+                    transcribedSamples = 0;
+                    logger.debug("Transcription: {}", transcription);
+                    utterance.reset();
                 }
             } catch (IOException e) {
                 logger.warn("Error running speech to text: {}", e.getMessage());
-                emitSpeechRecognitionError(sttListener);
+                failed = true;
             } catch (UnsatisfiedLinkError e) {
                 logger.warn("Missing native dependency: {}", e.getMessage());
-                emitSpeechRecognitionError(sttListener);
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+            } finally {
+                utterance.stop();
+                try {
+                    // unblock the VAD stage
+                    audioStream.close();
+                } catch (IOException ignored) {
+                }
+                try {
+                    vadStopped.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                releaseState(entry);
+            }
+            // emit result
+            if (!aborted.get()) {
+                if (failed) {
+                    emitSpeechRecognitionError(sttListener);
+                    return;
+                }
+                sttListener.sttEventReceived(new RecognitionStopEvent());
+                logger.debug("Final transcription: '{}'", transcription);
+                if (!transcription.isBlank()) {
+                    sttListener.sttEventReceived(new SpeechRecognitionEvent(transcription.trim(), 1));
+                } else {
+                    emitSpeechRecognitionNoResultsError(sttListener);
+                }
             }
         });
     }
 
+    /**
+     * Reads the audio in steps and passes the voice on to the utterance.
+     */
+    private void runVAD(WhisperStatePool.Entry entry, final int nSamplesStep, final int nSamplesMin,
+            final int nSamplesMax, AudioStream audioStream, VAD vad, Utterance utterance) throws IOException {
+        final int nInitSilenceSamples = (int) (config.initSilenceSeconds * (float) WHISPER_SAMPLE_RATE);
+        final int nMaxSilenceSamples = (int) (config.maxSilenceSeconds * (float) WHISPER_SAMPLE_RATE);
+        logger.debug("Max init silence samples {}", nInitSilenceSamples);
+        logger.debug("Max silence samples {}", nMaxSilenceSamples);
+        final short[] stepSamples = entry.stepSamples;
+        final float[] stepAudioSamples = entry.stepAudioSamples;
+        final byte[] captureBuffer = entry.captureBuffer;
+        // silence read but not passed on yet
+        final float[] silenceSamples = entry.silenceSamples;
+        int silenceSamplesOffset = 0;
+        int silenceSamplesCounter = 0;
+        boolean voiceDetected = false;
+        try (audioStream; //
+                vad) {
+            if (AudioFormat.CONTAINER_WAVE.equals(audioStream.getFormat().getContainer())) {
+                AudioWaveUtils.removeFMT(audioStream);
+            }
+            final ShortBuffer shortBuffer = ByteBuffer.wrap(captureBuffer).order(ByteOrder.LITTLE_ENDIAN)
+                    .asShortBuffer();
+            // init remaining to full capacity
+            int remaining = captureBuffer.length;
+            while (!utterance.isStopped()) {
+                // read until no remaining so we get the complete step samples
+                int numBytesRead = audioStream.read(captureBuffer, captureBuffer.length - remaining, remaining);
+                if (utterance.isStopped() || numBytesRead == -1) {
+                    break;
+                }
+                if (numBytesRead != remaining) {
+                    remaining = remaining - numBytesRead;
+                    continue;
+                }
+                // reset remaining to full capacity
+                remaining = captureBuffer.length;
+                // encode step samples
+                shortBuffer.rewind();
+                shortBuffer.get(stepSamples);
+                for (int i = 0; i < nSamplesStep; i++) {
+                    stepAudioSamples[i] = Float.min(1f,
+                            Float.max((float) stepSamples[i] / ((float) Short.MAX_VALUE), -1f));
+                }
+                boolean complete = false;
+                if (utterance.length() + silenceSamplesOffset + nSamplesStep > nSamplesMax - nSamplesStep) {
+                    logger.debug("VAD: Skipping, max length reached");
+                    if (voiceDetected) {
+                        utterance.append(silenceSamples, 0, silenceSamplesOffset);
+                        utterance.append(stepAudioSamples, 0, nSamplesStep);
+                    }
+                    complete = true;
+                } else {
+                    VAD.VADResult vadResult = vad.analyze(stepSamples);
+                    if (vadResult.isVoice()) {
+                        voiceDetected = true;
+                        logger.debug("VAD: voice detected");
+                        // the silence is a pause inside the utterance or the beginning of the voice
+                        utterance.append(silenceSamples, 0, silenceSamplesOffset);
+                        utterance.append(stepAudioSamples, 0, nSamplesStep);
+                        silenceSamplesOffset = 0;
+                        silenceSamplesCounter = 0;
+                        continue;
+                    }
+                    int maxSilenceSamples = voiceDetected ? nMaxSilenceSamples : nInitSilenceSamples;
+                    if (!voiceDetected) {
+                        if (config.removeSilence) {
+                            // only keep the voice at the end of the step
+                            int samplesToKeep = vadResult.voiceSamplesInTail();
+                            System.arraycopy(stepAudioSamples, nSamplesStep - samplesToKeep, silenceSamples, 0,
+                                    samplesToKeep);
+                            silenceSamplesOffset = samplesToKeep;
+                        } else {
+                            silenceSamplesOffset = appendSilence(silenceSamples, silenceSamplesOffset,
+                                    stepAudioSamples, 0, nSamplesStep);
+                        }
+                    } else if (silenceSamplesCounter == 0) {
+                        // the voice at the beginning of the first silent step still belongs to the utterance
+                        int samplesToKeep = vadResult.voiceSamplesInHead();
+                        utterance.append(stepAudioSamples, 0, samplesToKeep);
+                        silenceSamplesOffset = appendSilence(silenceSamples, silenceSamplesOffset,
+                                stepAudioSamples, samplesToKeep, nSamplesStep - samplesToKeep);
+                    } else {
+                        silenceSamplesOffset = appendSilence(silenceSamples, silenceSamplesOffset,
+                                stepAudioSamples, 0, nSamplesStep);
+                    }
+                    silenceSamplesCounter += nSamplesStep;
+                    if (silenceSamplesCounter < maxSilenceSamples) {
+                        if (logger.isDebugEnabled()) {
+                            int totalSteps = maxSilenceSamples / nSamplesStep;
+                            int currentSteps = totalSteps
+                                    - ((maxSilenceSamples - silenceSamplesCounter) / nSamplesStep);
+                            logger.debug("VAD: silence detected {}/{}", currentSteps, totalSteps);
+                        }
+                        continue;
+                    }
+                    logger.debug("VAD: silence detected");
+                    if (voiceDetected) {
+                        if (!config.removeSilence) {
+                            utterance.append(silenceSamples, 0, silenceSamplesOffset);
+                        } else if (utterance.length() < nSamplesMin) {
+                            logger.debug("avoid removing under min audio seconds");
+                            utterance.append(silenceSamples, 0,
+                                    Math.min(silenceSamplesOffset, nSamplesMin - utterance.length()));
+                        }
+                        silenceSamplesOffset = 0;
+                        if (utterance.length() < nSamplesMin) {
+                            logger.debug("Not enough samples, continue");
+                            continue;
+                        }
+                    }
+                    // without voice the utterance is empty
+                    complete = true;
+                }
+                if (complete) {
+                    if (config.singleUtteranceMode) {
+                        // stop reading the audio stream to avoid keep getting audio we don't need
+                        utterance.complete();
+                        break;
+                    }
+                    utterance.complete();
+                    utterance.awaitReset();
+                    voiceDetected = false;
+                    silenceSamplesOffset = 0;
+                    silenceSamplesCounter = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int appendSilence(float[] silenceSamples, int silenceSamplesOffset, float[] samples, int offset,
+            int length) {
+        // silence that does not fit can not be part of the transcription anyway
+        int count = Math.min(length, silenceSamples.length - silenceSamplesOffset);
+        System.arraycopy(samples, offset, silenceSamples, silenceSamplesOffset, count);
+        return silenceSamplesOffset + count;
+    }
+
     private WhisperFullParams getWhisperFullParams(WhisperContext context, Locale locale) throws IOException {
         WhisperSamplingStrategy strategy = WhisperSamplingStrategy.valueOf(config.samplingStrategy);
         var params = new WhisperFullParams(strategy);
@@ -654,4 +764,73 @@ public class WhisperSTTService implements STTService {
     private void onWhisperLog(String text) {
         logger.debug("[whisper.cpp] {}", text);
     }
+
+    /**
+     * The audio of an utterance, shared by the VAD stage and the whisper stage of a recognition.
+     */
+    private static class Utterance {
+        private final float[] samples;
+        private int length = 0;
+        // the utterance ended, no more audio is added until it is reset
+        private boolean complete = false;
+        // no more audio will be read
+        private boolean ended = false;
+        private boolean stopped = false;
+        private boolean failed = false;
+
+        private Utterance(float[] samples) {
+            this.samples = samples;
+        }
+
+        private synchronized void append(float[] audioSamples, int offset, int count) {
+            count = Math.min(count, samples.length - length);
+            if (count <= 0) {
+                return;
+            }
+            System.arraycopy(audioSamples, offset, samples, length, count);
+            length += count;
+            notifyAll();
+        }
+
+        private synchronized int length() {
+            return length;
+        }
+
+        private synchronized void complete() {
+            complete = true;
+            notifyAll();
+        }
+
+        private synchronized void awaitReset() throws InterruptedException {
+            while (complete && !stopped) {
+                wait();
+            }
+        }
+
+        private synchronized void reset() {
+            length = 0;
+            complete = false;
+            notifyAll();
+        }
+
+        private synchronized void end() {
+            ended = true;
+            notifyAll();
+        }
+
+        private synchronized void fail() {
+            failed = true;
+            stopped = true;
+            notifyAll();
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+            notifyAll();
+        }
+
+        private synchronized boolean isStopped() {
+            return stopped;
+        }
+    }
 }
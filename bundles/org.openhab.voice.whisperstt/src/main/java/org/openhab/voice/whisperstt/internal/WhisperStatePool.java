@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.github.givimad.whisperjni.WhisperContext;
+import io.github.givimad.whisperjni.WhisperJNI;
+import io.github.givimad.whisperjni.WhisperState;
+
+/**
+ * The {@link WhisperStatePool} shares a loaded whisper model between the recognitions. Each recognition borrows a
+ * whisper state together with its audio buffers, up to <code>maxIdle</code> of them are kept for the next
+ * recognitions. The model is released once the pool is closed and the last recognition returned its state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class WhisperStatePool {
+    private final WhisperJNI whisper;
+    private final WhisperContext context;
+    private final int maxIdle;
+    private final int nSamplesMax;
+    private final int nSamplesStep;
+    private final Deque<Entry> idle = new ArrayDeque<>();
+    private int borrowed = 0;
+    private boolean closed = false;
+
+    /**
+     * @param whisper the whisper library
+     * @param context the loaded model, owned by the pool from now on
+     * @param maxIdle the number of states kept when they are not in use
+     * @param nSamplesMax the maximum number of samples of a transcription
+     * @param nSamplesStep the number of samples read at once
+     */
+    WhisperStatePool(WhisperJNI whisper, WhisperContext context, int maxIdle, int nSamplesMax, int nSamplesStep) {
+        this.whisper = whisper;
+        this.context = context;
+        this.maxIdle = maxIdle;
+        this.nSamplesMax = nSamplesMax;
+        this.nSamplesStep = nSamplesStep;
+    }
+
+    WhisperContext getContext() {
+        return context;
+    }
+
+    /**
+     * Borrows a state, it has to be returned with {@link #release(Entry)}.
+     *
+     * @return an idle state or a new one
+     * @throws IOException if the pool is closed or the state can not be created
+     */
+    synchronized Entry acquire() throws IOException {
+        if (closed) {
+            throw new IOException("The model has been unloaded");
+        }
+        Entry entry = idle.poll();
+        if (entry == null) {
+            entry = new Entry(whisper.initState(context));
+        }
+        borrowed++;
+        return entry;
+    }
+
+    /**
+     * Returns a borrowed state.
+     *
+     * @return <code>true</code> if no state is borrowed anymore
+     */
+    synchronized boolean release(Entry entry) {
+        borrowed--;
+        if (!closed && idle.size() < maxIdle) {
+            idle.push(entry);
+        } else {
+            entry.state.close();
+        }
+        if (closed && borrowed == 0) {
+            context.close();
+        }
+        return borrowed == 0;
+    }
+
+    /**
+     * Closes the idle states, the model is closed once all borrowed states have been returned.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Entry entry;
+        while ((entry = idle.poll()) != null) {
+            entry.state.close();
+        }
+        if (borrowed == 0) {
+            context.close();
+        }
+    }
+
+    /**
+     * A whisper state and the buffers used by a recognition.
+     */
+    class Entry {
+        final WhisperState state;
+        // Audio passed to whisper, 32-bit float samples.
+        final float[] audioSamples = new float[nSamplesMax];
+        // Silence that may still be part of the transcription, 32-bit float samples.
+        final float[] silenceSamples = new float[nSamplesMax];
+        // Step samples in the format libfvad wants, 16-bit int samples.
+        final short[] stepSamples = new short[nSamplesStep];
+        final float[] stepAudioSamples = new float[nSamplesStep];
+        final byte[] captureBuffer = new byte[nSamplesStep * 2];
+
+        private Entry(WhisperState state) {
+            this.state = state;
+        }
+
+        WhisperStatePool getPool() {
+            return WhisperStatePool.this;
+        }
+    }
+}